@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.jdkits.benchmarks;
+
+import org.openingo.jdkits.benchmarks.CgBeanKitBenchmark.Source;
+import org.openingo.jdkits.benchmarks.CgBeanKitBenchmark.Target;
+import org.openingo.jdkits.lang.BeanKit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BeanKitBenchmark
+ * <p>BeanKit的列表拷贝、并行拷贝及bean与map/列存互转<p/>
+ *
+ * @author Qicz
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BeanKitBenchmark {
+
+    @Param({"100000"})
+    private int size;
+
+    private List<Source> sources;
+
+    private List<Map<String, Object>> maps;
+
+    private Map<String, Object[]> columns;
+
+    @Setup
+    public void setup() {
+        this.sources = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            this.sources.add(new Source(i, "name" + i, i * 1.5D));
+        }
+        this.maps = BeanKit.beansToMaps(this.sources);
+        this.columns = BeanKit.beansToColumns(this.sources, Source.class);
+    }
+
+    @Benchmark
+    public List<Target> copy() {
+        return BeanKit.copy(this.sources, Target.class);
+    }
+
+    @Benchmark
+    public List<Target> copyParallel() {
+        return BeanKit.copyParallel(this.sources, Target.class);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> beansToMaps() {
+        return BeanKit.beansToMaps(this.sources);
+    }
+
+    @Benchmark
+    public List<Source> mapsToBeans() {
+        return BeanKit.mapsToBeans(this.maps, Source.class);
+    }
+
+    @Benchmark
+    public Map<String, Object[]> beansToColumns() {
+        return BeanKit.beansToColumns(this.sources, Source.class);
+    }
+
+    @Benchmark
+    public List<Source> columnsToBeans() {
+        return BeanKit.columnsToBeans(this.columns, Source.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BeanKitBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
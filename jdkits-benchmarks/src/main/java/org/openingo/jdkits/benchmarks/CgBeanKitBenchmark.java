@@ -0,0 +1,186 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.jdkits.benchmarks;
+
+import com.esotericsoftware.reflectasm.ConstructorAccess;
+import net.sf.cglib.beans.BeanCopier;
+import org.openingo.jdkits.lang.CgBeanKit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CgBeanKitBenchmark
+ * <p>copyPropertiesOfList与按类名拼接key查找copier的旧实现对比<p/>
+ *
+ * @author Qicz
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CgBeanKitBenchmark {
+
+    @Param({"100000"})
+    private int size;
+
+    private List<Source> sources;
+
+    private ConstructorAccess<Target> constructorAccess;
+
+    private static final Map<String, BeanCopier> LEGACY_BEAN_COPIER_CACHE = new ConcurrentHashMap<>();
+
+    @Setup
+    public void setup() {
+        this.sources = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            this.sources.add(new Source(i, "name" + i, i * 1.5D));
+        }
+        this.constructorAccess = ConstructorAccess.get(Target.class);
+    }
+
+    @Benchmark
+    public List<Target> copyPropertiesOfList() {
+        return CgBeanKit.copyPropertiesOfList(this.sources, Target.class);
+    }
+
+    @Benchmark
+    public List<Target> legacyCopyPropertiesOfList() {
+        List<Target> targets = new ArrayList<>(this.sources.size());
+        for (Source source : this.sources) {
+            Target target = this.constructorAccess.newInstance();
+            String beanKey = source.getClass().getName() + Target.class.getName();
+            BeanCopier copier;
+            if (!LEGACY_BEAN_COPIER_CACHE.containsKey(beanKey)) {
+                copier = BeanCopier.create(source.getClass(), Target.class, false);
+                LEGACY_BEAN_COPIER_CACHE.put(beanKey, copier);
+            } else {
+                copier = LEGACY_BEAN_COPIER_CACHE.get(beanKey);
+            }
+            copier.copy(source, target, null);
+            targets.add(target);
+        }
+        return targets;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CgBeanKitBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    public static class Source {
+        private int id;
+        private String name;
+        private double score;
+
+        public Source() {
+        }
+
+        public Source(int id, String name, double score) {
+            this.id = id;
+            this.name = name;
+            this.score = score;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public void setScore(double score) {
+            this.score = score;
+        }
+    }
+
+    public static class Target {
+        private int id;
+        private String name;
+        private double score;
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public void setScore(double score) {
+            this.score = score;
+        }
+    }
+}
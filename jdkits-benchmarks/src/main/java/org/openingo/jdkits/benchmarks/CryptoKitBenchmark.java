@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.jdkits.benchmarks;
+
+import org.openingo.jdkits.encryption.AesKit;
+import org.openingo.jdkits.encryption.RSAKit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CryptoKitBenchmark
+ * <p>AesKit与RSAKit的加密、解密<p/>
+ *
+ * @author Qicz
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CryptoKitBenchmark {
+
+    /**
+     * 明文大小（字节），RSA按单块处理，取值不超过117
+     */
+    @Param({"100"})
+    private int size;
+
+    private byte[] plain;
+
+    private String aesKey;
+
+    private byte[] aesEncrypted;
+
+    private byte[] rsaEncrypted;
+
+    @Setup
+    public void setup() throws Exception {
+        this.plain = new byte[this.size];
+        new Random(this.size).nextBytes(this.plain);
+        this.aesKey = AesKit.genAesKey();
+        this.aesEncrypted = AesKit.encrypt(this.plain, this.aesKey);
+        RSAKit.init();
+        this.rsaEncrypted = RSAKit.encryptByPublicKey(this.plain);
+    }
+
+    @Benchmark
+    public byte[] aesEncrypt() {
+        return AesKit.encrypt(this.plain, this.aesKey);
+    }
+
+    @Benchmark
+    public byte[] aesDecrypt() {
+        return AesKit.decrypt(this.aesEncrypted, this.aesKey);
+    }
+
+    @Benchmark
+    public byte[] rsaEncryptByPublicKey() throws Exception {
+        return RSAKit.encryptByPublicKey(this.plain);
+    }
+
+    @Benchmark
+    public byte[] rsaDecryptByPrivateKey() throws Exception {
+        return RSAKit.decryptByPrivateKey(this.rsaEncrypted);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CryptoKitBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.jdkits.benchmarks;
+
+import org.openingo.jdkits.date.DateTimeKit;
+import org.openingo.jdkits.date.LocalDateTimeKit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigInteger;
+import java.text.DateFormat;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DateKitBenchmark
+ * <p>DateTimeKit与LocalDateTimeKit的格式化、解析<p/>
+ *
+ * @author Qicz
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DateKitBenchmark {
+
+    private Date date;
+
+    private BigInteger unixTime;
+
+    private LocalDateTime localDateTime;
+
+    private String formatted;
+
+    @Setup
+    public void setup() {
+        this.date = new Date(1600000000000L);
+        this.unixTime = BigInteger.valueOf(this.date.getTime());
+        this.localDateTime = LocalDateTimeKit.date2LocalDateTime(this.date);
+        this.formatted = DateTimeKit.formatDateToStyle(DateTimeKit.FULL_DATE_24HR_STYLE, this.date);
+    }
+
+    @Benchmark
+    public String formatDate() {
+        return DateTimeKit.formatDate(DateFormat.MEDIUM, this.date);
+    }
+
+    @Benchmark
+    public String formatDateToStyle() {
+        return DateTimeKit.formatDateToStyle(DateTimeKit.FULL_DATE_24HR_STYLE, this.date);
+    }
+
+    @Benchmark
+    public String formatUnixTime() {
+        return DateTimeKit.formatUnixTime(DateTimeKit.FULL_DATE_24HR_STYLE, this.unixTime);
+    }
+
+    @Benchmark
+    public String localDateTime2String() {
+        return LocalDateTimeKit.localDateTime2String(this.localDateTime, DateTimeKit.FULL_DATE_24HR_STYLE);
+    }
+
+    @Benchmark
+    public LocalDateTime string2LocalDateTime() {
+        return LocalDateTimeKit.string2LocalDateTime(this.formatted, DateTimeKit.FULL_DATE_24HR_STYLE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DateKitBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.jdkits.benchmarks;
+
+import org.openingo.jdkits.coding.Base64Kit;
+import org.openingo.jdkits.hash.HashKit;
+import org.openingo.jdkits.hash.HexKit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HashCodingBenchmark
+ * <p>HashKit摘要、HexKit与Base64Kit编解码<p/>
+ *
+ * @author Qicz
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashCodingBenchmark {
+
+    /**
+     * 输入字符串长度
+     */
+    @Param({"32", "1024"})
+    private int length;
+
+    private String text;
+
+    private byte[] bytes;
+
+    private String hex;
+
+    private String base64;
+
+    @Setup
+    public void setup() {
+        StringBuilder builder = new StringBuilder(this.length);
+        for (int i = 0; i < this.length; i++) {
+            builder.append((char) ('a' + i % 26));
+        }
+        this.text = builder.toString();
+        this.bytes = this.text.getBytes(StandardCharsets.UTF_8);
+        this.hex = HexKit.byteToHexString(this.bytes);
+        this.base64 = Base64Kit.encode(this.bytes);
+    }
+
+    @Benchmark
+    public String md5() {
+        return HashKit.md5(this.text);
+    }
+
+    @Benchmark
+    public String sha1() {
+        return HashKit.sha1(this.text);
+    }
+
+    @Benchmark
+    public String sha256() {
+        return HashKit.sha256(this.text);
+    }
+
+    @Benchmark
+    public long fnv1a64() {
+        return HashKit.fnv1a64(this.text);
+    }
+
+    @Benchmark
+    public String hashKitToHex() {
+        return HashKit.toHex(this.bytes);
+    }
+
+    @Benchmark
+    public String hexEncode() {
+        return HexKit.byteToHexString(this.bytes);
+    }
+
+    @Benchmark
+    public byte[] hexDecode() {
+        return HexKit.HexStringToBytes(this.hex);
+    }
+
+    @Benchmark
+    public String base64Encode() {
+        return Base64Kit.encode(this.bytes);
+    }
+
+    @Benchmark
+    public byte[] base64Decode() {
+        return Base64Kit.decode(this.base64);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(HashCodingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
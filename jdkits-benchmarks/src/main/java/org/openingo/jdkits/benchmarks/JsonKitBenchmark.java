@@ -0,0 +1,161 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.jdkits.benchmarks;
+
+import org.openingo.jdkits.benchmarks.CgBeanKitBenchmark.Source;
+import org.openingo.jdkits.json.FastJsonKit;
+import org.openingo.jdkits.json.JacksonKit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JsonKitBenchmark
+ * <p>JacksonKit与FastJsonKit在String/byte[]上的序列化与反序列化对比<p/>
+ *
+ * @author Qicz
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonKitBenchmark {
+
+    @Param({"1000"})
+    private int size;
+
+    private List<Source> sources;
+
+    private Source source;
+
+    private String json;
+
+    private byte[] jsonBytes;
+
+    private String listJson;
+
+    private byte[] listJsonBytes;
+
+    @Setup
+    public void setup() throws Exception {
+        this.sources = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            this.sources.add(new Source(i, "name" + i, i * 1.5D));
+        }
+        this.source = this.sources.get(0);
+        this.json = JacksonKit.toJson(this.source);
+        this.jsonBytes = JacksonKit.toJsonBytes(this.source);
+        this.listJson = JacksonKit.toJson(this.sources);
+        this.listJsonBytes = JacksonKit.toJsonBytes(this.sources);
+    }
+
+    @Benchmark
+    public String jacksonToJson() throws Exception {
+        return JacksonKit.toJson(this.source);
+    }
+
+    @Benchmark
+    public String fastJsonToJson() {
+        return FastJsonKit.toJson(this.source);
+    }
+
+    @Benchmark
+    public byte[] jacksonToJsonBytes() throws Exception {
+        return JacksonKit.toJsonBytes(this.sources);
+    }
+
+    @Benchmark
+    public byte[] fastJsonToJsonBytes() {
+        return FastJsonKit.toJsonBytes(this.sources);
+    }
+
+    @Benchmark
+    public Source jacksonToObj() throws Exception {
+        return JacksonKit.toObj(this.json, Source.class);
+    }
+
+    @Benchmark
+    public Source fastJsonToObj() {
+        return FastJsonKit.toObj(this.json, Source.class);
+    }
+
+    @Benchmark
+    public Source jacksonBytesToObj() throws Exception {
+        return JacksonKit.toObj(this.jsonBytes, Source.class);
+    }
+
+    @Benchmark
+    public Source fastJsonBytesToObj() {
+        return FastJsonKit.toObj(this.jsonBytes, Source.class);
+    }
+
+    @Benchmark
+    public List<Source> jacksonToList() throws Exception {
+        return JacksonKit.toList(this.listJson, Source.class);
+    }
+
+    @Benchmark
+    public List<Source> fastJsonToList() {
+        return FastJsonKit.toList(this.listJson, Source.class);
+    }
+
+    @Benchmark
+    public List<Source> jacksonBytesToList() throws Exception {
+        return JacksonKit.toList(this.listJsonBytes, Source.class);
+    }
+
+    @Benchmark
+    public List<Source> fastJsonBytesToList() {
+        return FastJsonKit.toList(this.listJsonBytes, Source.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JsonKitBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
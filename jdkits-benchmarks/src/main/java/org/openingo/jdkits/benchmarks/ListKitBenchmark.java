@@ -0,0 +1,142 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.jdkits.benchmarks;
+
+import org.openingo.java.util.OverrideList;
+import org.openingo.jdkits.collection.ListKit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ListKitBenchmark
+ * <p>ListKit集合运算与OverrideList的去重追加<p/>
+ *
+ * @author Qicz
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListKitBenchmark {
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    /**
+     * list1为[0, size)，list2为[size/2, size*3/2)，两者一半重叠
+     */
+    private List<Integer> list1;
+
+    private List<Integer> list2;
+
+    @Setup
+    public void setup() {
+        this.list1 = new ArrayList<>(this.size);
+        this.list2 = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            this.list1.add(i);
+            this.list2.add(i + this.size / 2);
+        }
+    }
+
+    @Benchmark
+    public List<Integer> union() {
+        return ListKit.union(this.list1, this.list2);
+    }
+
+    @Benchmark
+    public List<Integer> intersect() {
+        return ListKit.intersect(this.list1, this.list2);
+    }
+
+    @Benchmark
+    public List<Integer> minus() {
+        return ListKit.minus(this.list1, this.list2);
+    }
+
+    @Benchmark
+    public List<Integer> reverse() {
+        return ListKit.reverse(this.list1);
+    }
+
+    /**
+     * removeAll会修改入参，每次在副本上执行，副本的拷贝开销一并计入
+     */
+    @Benchmark
+    public List<Integer> removeAll() {
+        List<Integer> list = new ArrayList<>(this.list1);
+        ListKit.removeAll(list, this.list2);
+        return list;
+    }
+
+    @Benchmark
+    public List<Integer> overrideListAddAll() {
+        OverrideList<Integer> list = ListKit.emptyOverrideList(this.size * 3 / 2);
+        list.addAll(this.list1);
+        list.addAll(this.list2);
+        return list;
+    }
+
+    @Benchmark
+    public List<Integer> overrideListAdd() {
+        OverrideList<Integer> list = ListKit.emptyOverrideList(this.size * 3 / 2);
+        for (Integer e : this.list1) {
+            list.add(e);
+        }
+        for (Integer e : this.list2) {
+            list.add(e);
+        }
+        return list;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ListKitBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
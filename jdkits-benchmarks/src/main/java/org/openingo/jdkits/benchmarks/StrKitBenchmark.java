@@ -0,0 +1,129 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.jdkits.benchmarks;
+
+import org.openingo.jdkits.lang.StrKit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StrKitBenchmark
+ * <p>StrKit逐字符扫描类方法：空白判断、驼峰转换、中文与非法字符检测<p/>
+ *
+ * @author Qicz
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StrKitBenchmark {
+
+    /**
+     * 输入字符串长度
+     */
+    @Param({"64", "4096"})
+    private int length;
+
+    private String blank;
+
+    private String underline;
+
+    private String mixed;
+
+    private String ascii;
+
+    @Setup
+    public void setup() {
+        this.blank = repeat(" ", this.length);
+        this.underline = repeat("user_name_", this.length);
+        this.mixed = repeat("jdkits工具", this.length);
+        this.ascii = repeat("abcXYZ_019", this.length);
+    }
+
+    private static String repeat(String unit, int length) {
+        StringBuilder builder = new StringBuilder(length + unit.length());
+        while (builder.length() < length) {
+            builder.append(unit);
+        }
+        return builder.substring(0, length);
+    }
+
+    @Benchmark
+    public boolean isBlank() {
+        return StrKit.isBlank(this.blank);
+    }
+
+    @Benchmark
+    public String toCamelCase() {
+        return StrKit.toCamelCase(this.underline);
+    }
+
+    @Benchmark
+    public boolean isContainChinese() {
+        return StrKit.isContainChinese(this.ascii);
+    }
+
+    @Benchmark
+    public String filterChinese() {
+        return StrKit.filterChinese(this.mixed);
+    }
+
+    @Benchmark
+    public boolean hasIllegalChar() {
+        return StrKit.hasIllegalChar(this.ascii);
+    }
+
+    @Benchmark
+    public boolean equalsAny() {
+        return StrKit.equalsAny(this.ascii, "0", "null", this.underline, this.mixed);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StrKitBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.jdkits.benchmarks;
+
+import org.openingo.jdkits.tree.ITreeNode;
+import org.openingo.jdkits.tree.TreeBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TreeBuilderBenchmark
+ * <p>buildTree与buildTreeParallel在不同节点规模下的耗时与分配<p/>
+ *
+ * @author Qicz
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TreeBuilderBenchmark {
+
+    private static final Comparator<Node> ORDER_COMPARATOR = Comparator.comparingInt(Node::getOrder);
+
+    @Param({"10000", "100000"})
+    private int size;
+
+    /**
+     * 每个节点的子节点数
+     */
+    @Param({"8"})
+    private int fanOut;
+
+    private List<Node> nodes;
+
+    @Setup
+    public void setup() {
+        this.nodes = new ArrayList<>(this.size);
+        this.nodes.add(new Node(1, -1, 0));
+        for (int i = 2; i <= this.size; i++) {
+            this.nodes.add(new Node(i, (i - 2) / this.fanOut + 1, this.size - i));
+        }
+    }
+
+    @Benchmark
+    public List<Node> buildTree() {
+        return TreeBuilder.buildTree("1", this.nodes);
+    }
+
+    @Benchmark
+    public List<Node> buildTreeSorted() {
+        return TreeBuilder.buildTree("1", this.nodes, ORDER_COMPARATOR);
+    }
+
+    @Benchmark
+    public List<Node> buildTreeParallel() {
+        return TreeBuilder.buildTreeParallel("1", this.nodes, ORDER_COMPARATOR);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TreeBuilderBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    public static class Node implements ITreeNode<Node> {
+        private final String id;
+        private final String pid;
+        private final int order;
+        private List<Node> childNodes;
+
+        public Node(int id, int pid, int order) {
+            this.id = String.valueOf(id);
+            this.pid = String.valueOf(pid);
+            this.order = order;
+        }
+
+        public int getOrder() {
+            return order;
+        }
+
+        public List<Node> getChildNodes() {
+            return childNodes;
+        }
+
+        @Override
+        public String treeNodeId() {
+            return id;
+        }
+
+        @Override
+        public String treeRootNodeId() {
+            return pid;
+        }
+
+        @Override
+        public void putChildNodes(List<Node> childNodes) {
+            this.childNodes = childNodes;
+        }
+    }
+}
@@ -0,0 +1,336 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.jdkits.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.beans.Introspector;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 为org.openingo.jdkits.lang.JdkitsMapper接口生成XxxImpl，
+ * 按名称相同、setter类型可由getter类型赋值的getter/setter生成属性复制代码，并注册为org.openingo.jdkits.lang.MapperRegistrar服务
+ *
+ * @author Qicz
+ */
+@SupportedAnnotationTypes(JdkitsMapperProcessor.MAPPER_ANNOTATION)
+public class JdkitsMapperProcessor extends AbstractProcessor {
+
+    static final String MAPPER_ANNOTATION = "org.openingo.jdkits.lang.JdkitsMapper";
+
+    private static final String REGISTRAR = "org.openingo.jdkits.lang.MapperRegistrar";
+
+    private static final String REGISTRY = "org.openingo.jdkits.lang.MapperRegistry";
+
+    private static final String SERVICE_FILE = "META-INF/services/" + REGISTRAR;
+
+    private final Set<String> registrars = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (ElementKind.INTERFACE != element.getKind()) {
+                    this.error(element, "@JdkitsMapper can only be used on an interface");
+                    continue;
+                }
+                try {
+                    this.generate((TypeElement) element);
+                } catch (IOException e) {
+                    this.error(element, "generate mapper failed: " + e.getMessage());
+                }
+            }
+        }
+        if (roundEnv.processingOver() && !this.registrars.isEmpty()) {
+            this.writeServiceFile();
+        }
+        return true;
+    }
+
+    private void generate(TypeElement mapper) throws IOException {
+        String packageName = this.processingEnv.getElementUtils().getPackageOf(mapper).getQualifiedName().toString();
+        String implName = implSimpleName(mapper);
+        // 源类型与目标类型 -> 复制方法名
+        Map<String, String> copyMethods = new LinkedHashMap<>();
+        Map<String, String[]> copyPairs = new LinkedHashMap<>();
+        StringBuilder methods = new StringBuilder();
+        DeclaredType mapperType = (DeclaredType) mapper.asType();
+        for (ExecutableElement method : ElementFilter.methodsIn(this.processingEnv.getElementUtils().getAllMembers(mapper))) {
+            if (!method.getModifiers().contains(Modifier.ABSTRACT)) {
+                continue;
+            }
+            ExecutableType methodType = (ExecutableType) this.processingEnv.getTypeUtils().asMemberOf(mapperType, method);
+            List<? extends TypeMirror> parameterTypes = methodType.getParameterTypes();
+            TypeMirror returnType = methodType.getReturnType();
+            boolean toNew = 1 == parameterTypes.size() && TypeKind.DECLARED == returnType.getKind();
+            boolean toTarget = 2 == parameterTypes.size()
+                    && TypeKind.DECLARED == parameterTypes.get(1).getKind()
+                    && (TypeKind.VOID == returnType.getKind() || this.isSameType(returnType, parameterTypes.get(1)));
+            if ((!toNew && !toTarget) || TypeKind.DECLARED != parameterTypes.get(0).getKind()) {
+                this.error(method, "mapper method must be 'Target m(Source)' or 'void m(Source, Target)'");
+                continue;
+            }
+            TypeMirror sourceType = parameterTypes.get(0);
+            TypeMirror targetType = toNew ? returnType : parameterTypes.get(1);
+            String sourceName = this.typeName(sourceType);
+            String targetName = this.typeName(targetType);
+            String pairKey = sourceName + "->" + targetName;
+            String copyMethod = copyMethods.get(pairKey);
+            if (null == copyMethod) {
+                copyMethod = "copy" + copyMethods.size();
+                copyMethods.put(pairKey, copyMethod);
+                copyPairs.put(copyMethod, new String[]{sourceName, targetName});
+                this.appendCopyMethod(methods, copyMethod, (DeclaredType) sourceType, (DeclaredType) targetType);
+            }
+            if (toNew && !this.hasPublicNoArgConstructor((DeclaredType) targetType)) {
+                this.error(method, targetName + " has no public no-arg constructor");
+                continue;
+            }
+            this.appendMapperMethod(methods, method, sourceName, targetName, toNew, TypeKind.VOID == returnType.getKind(), copyMethod);
+        }
+
+        String qualifiedImplName = packageName.isEmpty() ? implName : packageName + "." + implName;
+        try (Writer writer = this.processingEnv.getFiler().createSourceFile(qualifiedImplName, mapper).openWriter()) {
+            if (!packageName.isEmpty()) {
+                writer.write("package " + packageName + ";\n\n");
+            }
+            writer.write("/**\n * generated by " + JdkitsMapperProcessor.class.getName() + "\n */\n");
+            writer.write("public class " + implName + " implements " + mapper.getQualifiedName() + ", " + REGISTRAR + " {\n\n");
+            writer.write("    @Override\n    public void register() {\n");
+            for (Map.Entry<String, String[]> pair : copyPairs.entrySet()) {
+                writer.write("        " + REGISTRY + ".register(" + pair.getValue()[0] + ".class, " + pair.getValue()[1] + ".class, "
+                        + implName + "::" + pair.getKey() + ");\n");
+            }
+            writer.write("    }\n");
+            writer.write(methods.toString());
+            writer.write("}\n");
+        }
+        this.registrars.add(qualifiedImplName);
+    }
+
+    private void appendMapperMethod(StringBuilder methods, ExecutableElement method, String sourceName, String targetName,
+                                    boolean toNew, boolean returnVoid, String copyMethod) {
+        String methodName = method.getSimpleName().toString();
+        methods.append("\n    @Override\n");
+        if (toNew) {
+            methods.append("    public ").append(targetName).append(' ').append(methodName).append('(').append(sourceName).append(" source) {\n")
+                    .append("        if (null == source) {\n            return null;\n        }\n")
+                    .append("        ").append(targetName).append(" target = new ").append(targetName).append("();\n")
+                    .append("        ").append(copyMethod).append("(source, target);\n")
+                    .append("        return target;\n    }\n");
+            return;
+        }
+        methods.append("    public ").append(returnVoid ? "void" : targetName).append(' ').append(methodName).append('(')
+                .append(sourceName).append(" source, ").append(targetName).append(" target) {\n")
+                .append("        if (null != source && null != target) {\n")
+                .append("            ").append(copyMethod).append("(source, target);\n        }\n");
+        if (!returnVoid) {
+            methods.append("        return target;\n");
+        }
+        methods.append("    }\n");
+    }
+
+    private void appendCopyMethod(StringBuilder methods, String copyMethod, DeclaredType sourceType, DeclaredType targetType) {
+        Map<String, ExecutableElement> getters = new LinkedHashMap<>();
+        for (ExecutableElement method : this.publicMethods(sourceType)) {
+            String name = method.getSimpleName().toString();
+            TypeMirror returnType = this.returnType(sourceType, method);
+            if (!method.getParameters().isEmpty() || TypeKind.VOID == returnType.getKind()) {
+                continue;
+            }
+            if (name.startsWith("get") && name.length() > 3 && !"getClass".equals(name)) {
+                getters.putIfAbsent(Introspector.decapitalize(name.substring(3)), method);
+            } else if (name.startsWith("is") && name.length() > 2 && TypeKind.BOOLEAN == returnType.getKind()) {
+                getters.put(Introspector.decapitalize(name.substring(2)), method);
+            }
+        }
+        StringBuilder body = new StringBuilder();
+        boolean rawCast = false;
+        for (ExecutableElement setter : this.publicMethods(targetType)) {
+            String name = setter.getSimpleName().toString();
+            if (!name.startsWith("set") || name.length() <= 3 || 1 != setter.getParameters().size()
+                    || TypeKind.VOID != setter.getReturnType().getKind()) {
+                continue;
+            }
+            ExecutableElement getter = getters.get(Introspector.decapitalize(name.substring(3)));
+            if (null == getter) {
+                continue;
+            }
+            ExecutableType setterType = (ExecutableType) this.processingEnv.getTypeUtils().asMemberOf(targetType, setter);
+            TypeMirror getterReturnType = this.returnType(sourceType, getter);
+            TypeMirror setterParameterType = setterType.getParameterTypes().get(0);
+            // 与BeanCopier一致，复制setter类型可由getter类型赋值的属性，泛型参数不同时按擦除后的类型转换
+            if (!this.isCompatible(getterReturnType, setterParameterType)) {
+                continue;
+            }
+            body.append("        target.").append(name).append('(');
+            if (!this.processingEnv.getTypeUtils().isAssignable(getterReturnType, setterParameterType)) {
+                body.append('(').append(this.typeName(setterParameterType)).append(") ");
+                rawCast = true;
+            }
+            body.append("source.").append(getter.getSimpleName()).append("());\n");
+        }
+        methods.append('\n');
+        if (rawCast) {
+            methods.append("    @SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        }
+        methods.append("    public static void ").append(copyMethod).append('(').append(this.typeName(sourceType))
+                .append(" source, ").append(this.typeName(targetType)).append(" target) {\n");
+        methods.append(body);
+        methods.append("    }\n");
+    }
+
+    private List<ExecutableElement> publicMethods(DeclaredType type) {
+        List<ExecutableElement> methods = new ArrayList<>();
+        TypeElement typeElement = (TypeElement) type.asElement();
+        for (ExecutableElement method : ElementFilter.methodsIn(this.processingEnv.getElementUtils().getAllMembers(typeElement))) {
+            Set<Modifier> modifiers = method.getModifiers();
+            if (modifiers.contains(Modifier.PUBLIC) && !modifiers.contains(Modifier.STATIC)) {
+                methods.add(method);
+            }
+        }
+        return methods;
+    }
+
+    private TypeMirror returnType(DeclaredType type, ExecutableElement method) {
+        return ((ExecutableType) this.processingEnv.getTypeUtils().asMemberOf(type, method)).getReturnType();
+    }
+
+    private boolean hasPublicNoArgConstructor(DeclaredType type) {
+        TypeElement typeElement = (TypeElement) type.asElement();
+        if (typeElement.getModifiers().contains(Modifier.ABSTRACT)) {
+            return false;
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(typeElement.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 与BeanCopier的Class.isAssignableFrom一致：基本类型需相同，不做装箱及基本类型的扩展转换
+     */
+    private boolean isCompatible(TypeMirror getterType, TypeMirror setterType) {
+        if (getterType.getKind().isPrimitive() || setterType.getKind().isPrimitive()) {
+            return getterType.getKind() == setterType.getKind();
+        }
+        return this.processingEnv.getTypeUtils().isAssignable(this.processingEnv.getTypeUtils().erasure(getterType),
+                this.processingEnv.getTypeUtils().erasure(setterType));
+    }
+
+    private boolean isSameType(TypeMirror a, TypeMirror b) {
+        return this.processingEnv.getTypeUtils().isSameType(this.processingEnv.getTypeUtils().erasure(a),
+                this.processingEnv.getTypeUtils().erasure(b));
+    }
+
+    private String typeName(TypeMirror type) {
+        return this.processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    /**
+     * 嵌套接口以'_'连接外部类名，如：Outer_InnerMapperImpl
+     */
+    private static String implSimpleName(TypeElement mapper) {
+        StringBuilder name = new StringBuilder(mapper.getSimpleName());
+        Element enclosing = mapper.getEnclosingElement();
+        while (!(enclosing instanceof PackageElement)) {
+            name.insert(0, enclosing.getSimpleName() + "_");
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return name.append("Impl").toString();
+    }
+
+    private void writeServiceFile() {
+        Filer filer = this.processingEnv.getFiler();
+        // 增量编译时只处理了变更的mapper，保留输出目录中已注册的registrar；失效的registrar在加载时被跳过
+        try {
+            FileObject existing = filer.getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while (null != (line = reader.readLine())) {
+                    int comment = line.indexOf('#');
+                    String registrar = (comment < 0 ? line : line.substring(0, comment)).trim();
+                    if (!registrar.isEmpty()) {
+                        this.registrars.add(registrar);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // 首次编译时还没有该文件
+        }
+        try {
+            FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer writer = file.openWriter()) {
+                for (String registrar : this.registrars) {
+                    writer.write(registrar);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "write " + SERVICE_FILE + " failed: " + e.getMessage());
+        }
+    }
+
+    private void error(Element element, String message) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -43,6 +43,8 @@ public final class CompressKit {
 
     private CompressKit(){}
 
+    private static final int STREAM_BUFFER_SIZE = 8192;
+
     /**
      * zip文件压缩
      * @param inputFile 待压缩文件夹/文件名
@@ -233,4 +235,76 @@ public final class CompressKit {
     public static byte[] decompress(byte[] decompressSource, String password) throws Exception {
         return decompress(AesKit.decrypt(decompressSource, HashKit.md5(password)), true);
     }
+
+    /**
+     * 流式压缩，与compress(byte[], boolean)的格式一致，压缩级别为BEST_COMPRESSION
+     * <p>关闭返回的流时写出剩余数据并关闭out<p/>
+     * @param out 压缩后数据的输出
+     * @param GZIPFormat true时不带zlib头（nowrap），false时为zlib格式
+     */
+    public static DeflaterOutputStream compressStream(OutputStream out, boolean GZIPFormat) {
+        return compressStream(out, GZIPFormat, Deflater.BEST_COMPRESSION);
+    }
+
+    /**
+     * 流式压缩
+     * <p>关闭返回的流时写出剩余数据并关闭out<p/>
+     * @param out 压缩后数据的输出
+     * @param GZIPFormat true时不带zlib头（nowrap），false时为zlib格式
+     * @param level 压缩级别，见Deflater
+     */
+    public static DeflaterOutputStream compressStream(OutputStream out, boolean GZIPFormat, int level) {
+        return new DeflaterOutputStream(out, new Deflater(level, GZIPFormat), STREAM_BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    this.def.end();
+                }
+            }
+        };
+    }
+
+    /**
+     * 流式解压，与decompress(byte[], boolean)的格式一致
+     * <p>关闭返回的流时关闭in<p/>
+     * @param in 压缩数据
+     * @param GZIPFormat true时不带zlib头（nowrap），false时为zlib格式
+     */
+    public static InflaterInputStream decompressStream(InputStream in, boolean GZIPFormat) {
+        return new InflaterInputStream(in, new Inflater(GZIPFormat), STREAM_BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    this.inf.end();
+                }
+            }
+        };
+    }
+
+    /**
+     * 流式gzip（RFC 1952）压缩
+     * <p>关闭返回的流时写出gzip尾部并关闭out<p/>
+     * @param out 压缩后数据的输出
+     * @param level 压缩级别，见Deflater
+     */
+    public static GZIPOutputStream gzipStream(OutputStream out, int level) throws IOException {
+        return new GZIPOutputStream(out, STREAM_BUFFER_SIZE) {
+            {
+                this.def.setLevel(level);
+            }
+        };
+    }
+
+    /**
+     * 流式gzip（RFC 1952）解压
+     * <p>关闭返回的流时关闭in<p/>
+     * @param in gzip数据
+     */
+    public static GZIPInputStream gunzipStream(InputStream in) throws IOException {
+        return new GZIPInputStream(in, STREAM_BUFFER_SIZE);
+    }
 }
@@ -0,0 +1,249 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.openingo.jdkits.http;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HttpAsyncDispatcher
+ * <p>异步请求的调度：同时执行的请求总数不超过maxRequests、每个host不超过maxRequestsPerHost，其余按提交顺序排队，
+ * 排队不占用线程；到达deadline时中止请求，排队中超时或被取消的请求直接移出队列<p/>
+ *
+ * @author Qicz
+ */
+final class HttpAsyncDispatcher implements Closeable {
+
+    private final HttpKit.HttpConfig config;
+
+    private final Executor executor;
+
+    /**
+     * 未配置asyncExecutor时内部创建，关闭client时一并关闭
+     */
+    private final ExecutorService ownedExecutor;
+
+    private final ScheduledThreadPoolExecutor timer;
+
+    private final Object lock = new Object();
+
+    /**
+     * 排队的请求，按提交顺序，由lock保护
+     */
+    private final Set<PendingCall<?>> readyCalls = new LinkedHashSet<>();
+
+    /**
+     * 执行中的请求数，总数及每个host，由lock保护
+     */
+    private int runningCalls;
+
+    private final Map<String, Integer> runningCallsPerHost = new HashMap<>();
+
+    HttpAsyncDispatcher(HttpKit.HttpConfig config) {
+        this.config = config;
+        if (config.asyncExecutor != null) {
+            this.executor = config.asyncExecutor;
+            this.ownedExecutor = null;
+        } else {
+            AtomicInteger threadNumber = new AtomicInteger();
+            this.ownedExecutor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "HttpKit Async-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.executor = this.ownedExecutor;
+        }
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "HttpKit Async Timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * 异步执行请求
+     *
+     * @param route         限流的host，scheme://host:port
+     * @param timeoutMillis 从提交开始计算的deadline，不大于0时不限制
+     * @param task          在执行线程上运行的请求
+     */
+    <T> CompletableFuture<T> submit(String route, long timeoutMillis, AsyncTask<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        HttpCall call = new HttpCall();
+        if (timeoutMillis > 0) {
+            ScheduledFuture<?> timeout;
+            try {
+                timeout = this.timer.schedule(() -> {
+                    future.completeExceptionally(new TimeoutException("request timed out after " + timeoutMillis + " ms"));
+                }, timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                future.completeExceptionally(e);
+                return future;
+            }
+            future.whenComplete((ret, e) -> timeout.cancel(false));
+        }
+        PendingCall<T> pending = new PendingCall<>(route, future, call, task);
+        // 超时或被调用方取消时中止执行中的请求，排队中的请求移出队列
+        future.whenComplete((ret, e) -> {
+            if (e != null) {
+                call.abort();
+                synchronized (this.lock) {
+                    this.readyCalls.remove(pending);
+                }
+            }
+        });
+        synchronized (this.lock) {
+            if (!future.isDone()) {
+                this.readyCalls.add(pending);
+            }
+        }
+        this.promoteAndExecute();
+        return future;
+    }
+
+    /**
+     * 按提交顺序执行不超过总数及host限制的排队请求，执行线程池拒绝时该请求失败并继续
+     */
+    private void promoteAndExecute() {
+        boolean rejected;
+        do {
+            rejected = false;
+            for (PendingCall<?> pending : this.promote()) {
+                try {
+                    this.executor.execute(() -> {
+                        try {
+                            pending.run();
+                        } finally {
+                            this.release(pending);
+                            this.promoteAndExecute();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    pending.future.completeExceptionally(e);
+                    this.release(pending);
+                    rejected = true;
+                }
+            }
+        } while (rejected);
+    }
+
+    private List<PendingCall<?>> promote() {
+        List<PendingCall<?>> executable = new ArrayList<>();
+        synchronized (this.lock) {
+            int maxRequests = Math.max(1, this.config.maxRequests);
+            int maxRequestsPerHost = Math.max(1, this.config.maxRequestsPerHost);
+            Iterator<PendingCall<?>> iterator = this.readyCalls.iterator();
+            while (this.runningCalls < maxRequests && iterator.hasNext()) {
+                PendingCall<?> pending = iterator.next();
+                int running = this.runningCallsPerHost.getOrDefault(pending.route, 0);
+                if (running >= maxRequestsPerHost) {
+                    continue;
+                }
+                iterator.remove();
+                this.runningCallsPerHost.put(pending.route, running + 1);
+                this.runningCalls++;
+                executable.add(pending);
+            }
+        }
+        return executable;
+    }
+
+    /**
+     * 释放执行中请求占用的名额
+     */
+    private void release(PendingCall<?> pending) {
+        synchronized (this.lock) {
+            this.runningCalls--;
+            int running = this.runningCallsPerHost.get(pending.route) - 1;
+            if (running == 0) {
+                this.runningCallsPerHost.remove(pending.route);
+            } else {
+                this.runningCallsPerHost.put(pending.route, running);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        this.timer.shutdownNow();
+        if (this.ownedExecutor != null) {
+            this.ownedExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * 在执行线程上运行的请求
+     */
+    interface AsyncTask<T> {
+        T run(HttpCall call) throws Exception;
+    }
+
+    private static final class PendingCall<T> {
+        private final String route;
+        private final CompletableFuture<T> future;
+        private final HttpCall call;
+        private final AsyncTask<T> task;
+
+        private PendingCall(String route, CompletableFuture<T> future, HttpCall call, AsyncTask<T> task) {
+            this.route = route;
+            this.future = future;
+            this.call = call;
+            this.task = task;
+        }
+
+        private void run() {
+            // 排队期间已超时或被取消
+            if (this.future.isDone()) {
+                return;
+            }
+            try {
+                this.future.complete(this.task.run(this.call));
+            } catch (Throwable e) {
+                this.future.completeExceptionally(e);
+            }
+        }
+    }
+}
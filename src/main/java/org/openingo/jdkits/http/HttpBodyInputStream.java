@@ -0,0 +1,243 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.openingo.jdkits.http;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ProtocolException;
+
+/**
+ * HttpBodyInputStream
+ * <p>响应体，读到结尾且连接可复用时归还连接池，否则关闭连接<p/>
+ *
+ * @author Qicz
+ */
+abstract class HttpBodyInputStream extends InputStream {
+
+    /**
+     * 关闭时最多丢弃的剩余字节数，超过则直接关闭连接
+     */
+    private static final int DISCARD_LIMIT = 8192;
+
+    final HttpConnection connection;
+    private final HttpConnectionPool pool;
+    private boolean eof;
+    private boolean closed;
+    /**
+     * 连接是否已归还或关闭
+     */
+    private boolean released;
+
+    HttpBodyInputStream(HttpConnection connection, HttpConnectionPool pool) {
+        this.connection = connection;
+        this.pool = pool;
+    }
+
+    /**
+     * 读取响应体，到结尾返回-1
+     */
+    abstract int readBody(byte[] b, int off, int len) throws IOException;
+
+    @Override
+    public int read() throws IOException {
+        byte[] one = new byte[1];
+        int n = this.read(one, 0, 1);
+        return n == -1 ? -1 : one[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (this.closed) {
+            throw new IOException("stream closed");
+        }
+        if (this.eof) {
+            return -1;
+        }
+        if (len == 0) {
+            return 0;
+        }
+        int n;
+        try {
+            n = this.readBody(b, off, len);
+        } catch (IOException e) {
+            this.released = true;
+            this.connection.endCall(e);
+            this.connection.close();
+            throw e;
+        }
+        if (n == -1) {
+            this.endOfBody();
+        }
+        return n;
+    }
+
+    private void endOfBody() {
+        this.eof = true;
+        this.released = true;
+        this.connection.endCall(null);
+        // 先解除绑定，归还后请求的deadline不会关闭其他请求复用的连接；已被中止关闭的连接由release丢弃
+        this.connection.detach();
+        this.pool.release(this.connection);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        if (this.released) {
+            return;
+        }
+        if (this.connection.reusable) {
+            // 丢弃少量剩余数据以便复用连接
+            byte[] discard = new byte[1024];
+            int discarded = 0;
+            try {
+                int n;
+                while (discarded <= DISCARD_LIMIT && (n = this.readBody(discard, 0, discard.length)) != -1) {
+                    discarded += n;
+                }
+                if (discarded <= DISCARD_LIMIT) {
+                    this.endOfBody();
+                    return;
+                }
+            } catch (IOException ignored) {
+                // 连接直接关闭
+            }
+        }
+        this.released = true;
+        this.connection.endCall(null);
+        this.connection.close();
+    }
+
+    /**
+     * Content-Length定长的响应体
+     */
+    static final class Fixed extends HttpBodyInputStream {
+
+        private long remaining;
+
+        Fixed(HttpConnection connection, HttpConnectionPool pool, long contentLength) {
+            super(connection, pool);
+            this.remaining = contentLength;
+        }
+
+        @Override
+        int readBody(byte[] b, int off, int len) throws IOException {
+            if (this.remaining <= 0) {
+                return -1;
+            }
+            int n = this.connection.in.read(b, off, (int) Math.min(len, this.remaining));
+            if (n == -1) {
+                throw new EOFException("Unexpected end of stream, " + this.remaining + " bytes remaining");
+            }
+            this.remaining -= n;
+            return n;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(this.connection.in.available(), this.remaining);
+        }
+    }
+
+    /**
+     * Transfer-Encoding: chunked的响应体
+     */
+    static final class Chunked extends HttpBodyInputStream {
+
+        private long chunkRemaining;
+        private boolean lastChunk;
+
+        Chunked(HttpConnection connection, HttpConnectionPool pool) {
+            super(connection, pool);
+        }
+
+        @Override
+        int readBody(byte[] b, int off, int len) throws IOException {
+            if (this.lastChunk) {
+                return -1;
+            }
+            if (this.chunkRemaining == 0) {
+                this.nextChunk();
+                if (this.lastChunk) {
+                    return -1;
+                }
+            }
+            int n = this.connection.in.read(b, off, (int) Math.min(len, this.chunkRemaining));
+            if (n == -1) {
+                throw new EOFException("Unexpected end of chunked stream");
+            }
+            this.chunkRemaining -= n;
+            if (this.chunkRemaining == 0) {
+                // chunk数据后的CRLF
+                this.connection.readLine(this.connection.in, false);
+            }
+            return n;
+        }
+
+        private void nextChunk() throws IOException {
+            String line = this.connection.readLine(this.connection.in, false);
+            int extension = line.indexOf(';');
+            String size = (extension == -1 ? line : line.substring(0, extension)).trim();
+            try {
+                this.chunkRemaining = Long.parseLong(size, 16);
+            } catch (NumberFormatException e) {
+                throw new ProtocolException("Invalid chunk size: " + line);
+            }
+            if (this.chunkRemaining == 0) {
+                // 跳过trailer
+                int count = 0;
+                while (!this.connection.readLine(this.connection.in, false).isEmpty()) {
+                    if (++count > HttpConnection.MAX_HEADER_COUNT) {
+                        throw new ProtocolException("Too many trailers (" + HttpConnection.MAX_HEADER_COUNT + ")");
+                    }
+                }
+                this.lastChunk = true;
+            }
+        }
+    }
+
+    /**
+     * 没有长度信息的响应体，读到连接关闭为止，连接不再复用
+     */
+    static final class UntilClose extends HttpBodyInputStream {
+
+        UntilClose(HttpConnection connection, HttpConnectionPool pool) {
+            super(connection, pool);
+        }
+
+        @Override
+        int readBody(byte[] b, int off, int len) throws IOException {
+            return this.connection.in.read(b, off, len);
+        }
+    }
+}
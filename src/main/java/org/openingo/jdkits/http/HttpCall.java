@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.openingo.jdkits.http;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+/**
+ * HttpCall
+ * <p>可中止的请求，中止时关闭正在使用的连接，阻塞在读写上的线程随即返回<p/>
+ * <p>连接归还连接池前须解除绑定，中止不会关闭已被其他请求复用的连接<p/>
+ *
+ * @author Qicz
+ */
+final class HttpCall {
+
+    /**
+     * 当前使用的连接，attach/detach/abort均持有this
+     */
+    private Closeable attached;
+
+    private volatile boolean aborted;
+
+    /**
+     * 绑定当前使用的连接，已中止时立即关闭
+     */
+    synchronized void attach(Closeable connection) throws IOException {
+        if (this.aborted) {
+            closeQuietly(connection);
+            throw new InterruptedIOException("call aborted");
+        }
+        this.attached = connection;
+    }
+
+    /**
+     * 解除绑定，返回后中止请求不再关闭该连接
+     */
+    synchronized void detach(Closeable connection) {
+        if (this.attached == connection) {
+            this.attached = null;
+        }
+    }
+
+    synchronized void abort() {
+        this.aborted = true;
+        Closeable connection = this.attached;
+        if (connection != null) {
+            this.attached = null;
+            closeQuietly(connection);
+        }
+    }
+
+    boolean isAborted() {
+        return this.aborted;
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+            // ignore
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.openingo.jdkits.http;
+
+/**
+ * HttpCallMetrics
+ * <p>一次请求的耗时与流量，耗时单位为纳秒，未发生的阶段为-1<p/>
+ *
+ * @author Qicz
+ */
+public final class HttpCallMetrics {
+
+    private final String route;
+    private final String method;
+    private final String url;
+    private final int status;
+    private final Throwable failure;
+    private final boolean reusedConnection;
+    private final long dnsNanos;
+    private final long connectNanos;
+    private final long tlsNanos;
+    private final long firstByteNanos;
+    private final long totalNanos;
+    private final long bytesOut;
+    private final long bytesIn;
+
+    HttpCallMetrics(String route, String method, String url, int status, Throwable failure, boolean reusedConnection,
+                    long dnsNanos, long connectNanos, long tlsNanos, long firstByteNanos, long totalNanos,
+                    long bytesOut, long bytesIn) {
+        this.route = route;
+        this.method = method;
+        this.url = url;
+        this.status = status;
+        this.failure = failure;
+        this.reusedConnection = reusedConnection;
+        this.dnsNanos = dnsNanos;
+        this.connectNanos = connectNanos;
+        this.tlsNanos = tlsNanos;
+        this.firstByteNanos = firstByteNanos;
+        this.totalNanos = totalNanos;
+        this.bytesOut = bytesOut;
+        this.bytesIn = bytesIn;
+    }
+
+    /**
+     * scheme://host:port
+     */
+    public String getRoute() {
+        return route;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * 响应状态码，未收到响应时为-1
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * 失败原因，成功时为null
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    /**
+     * 是否复用了空闲连接
+     */
+    public boolean isReusedConnection() {
+        return reusedConnection;
+    }
+
+    /**
+     * 域名解析耗时，复用连接或经代理时为-1
+     */
+    public long getDnsNanos() {
+        return dnsNanos;
+    }
+
+    /**
+     * TCP连接耗时，复用连接或经代理时为-1
+     */
+    public long getConnectNanos() {
+        return connectNanos;
+    }
+
+    /**
+     * TLS握手耗时，http、复用连接或经代理时为-1
+     */
+    public long getTlsNanos() {
+        return tlsNanos;
+    }
+
+    /**
+     * 从开始到收到响应第一个字节的耗时
+     */
+    public long getFirstByteNanos() {
+        return firstByteNanos;
+    }
+
+    /**
+     * 从开始到响应体读完或请求失败的耗时
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * 写出的字节数，含请求头
+     */
+    public long getBytesOut() {
+        return bytesOut;
+    }
+
+    /**
+     * 读入的字节数，含响应头，压缩的响应为压缩后的大小
+     */
+    public long getBytesIn() {
+        return bytesIn;
+    }
+
+    @Override
+    public String toString() {
+        return "HttpCallMetrics{" + method + " " + url + ", status=" + status
+                + (failure != null ? ", failure=" + failure : "")
+                + ", reused=" + reusedConnection + ", dns=" + dnsNanos + ", connect=" + connectNanos
+                + ", tls=" + tlsNanos + ", firstByte=" + firstByteNanos + ", total=" + totalNanos
+                + ", out=" + bytesOut + ", in=" + bytesIn + "}";
+    }
+}
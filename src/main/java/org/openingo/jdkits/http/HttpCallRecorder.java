@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.openingo.jdkits.http;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * HttpCallRecorder
+ * <p>记录一次请求的各阶段，结束时回调HttpMetricsListener，未配置listener时只做计时<p/>
+ *
+ * @author Qicz
+ */
+final class HttpCallRecorder {
+
+    private final HttpMetricsListener listener;
+    private final String route;
+    private final String method;
+    private final String url;
+    private final long start = System.nanoTime();
+    private final AtomicBoolean ended = new AtomicBoolean();
+
+    boolean reusedConnection;
+    long dnsNanos = -1;
+    long connectNanos = -1;
+    long tlsNanos = -1;
+    long firstByteNanos = -1;
+    int status = -1;
+    long bytesOut;
+    long bytesIn;
+
+    HttpCallRecorder(HttpMetricsListener listener, String route, String method, String url) {
+        this.listener = listener;
+        this.route = route;
+        this.method = method;
+        this.url = url;
+    }
+
+    /**
+     * 记录收到第一个字节的时间
+     */
+    void firstByte(long nanoTime) {
+        if (this.firstByteNanos < 0) {
+            this.firstByteNanos = nanoTime - this.start;
+        }
+    }
+
+    /**
+     * 结束请求，只有第一次调用生效
+     *
+     * @param failure 失败原因，成功时为null
+     */
+    void end(Throwable failure) {
+        if (this.listener == null || !this.ended.compareAndSet(false, true)) {
+            return;
+        }
+        HttpCallMetrics metrics = new HttpCallMetrics(this.route, this.method, this.url, this.status, failure,
+                this.reusedConnection, this.dnsNanos, this.connectNanos, this.tlsNanos, this.firstByteNanos,
+                System.nanoTime() - this.start, this.bytesOut, this.bytesIn);
+        try {
+            this.listener.callEnd(metrics);
+        } catch (RuntimeException ignored) {
+            // listener的异常不影响请求
+        }
+    }
+}
@@ -0,0 +1,469 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.openingo.jdkits.http;
+
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLPeerUnverifiedException;
+import javax.net.ssl.SSLSocket;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.net.Socket;
+import java.net.URL;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * HttpConnection
+ * <p>一条HTTP/1.1的keep-alive连接，同一时刻只服务一个请求<p/>
+ *
+ * @author Qicz
+ */
+final class HttpConnection implements Closeable {
+
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+    /**
+     * 状态行、header及chunk行的最大长度
+     */
+    static final int MAX_LINE_LENGTH = 8192;
+    /**
+     * 响应header及trailer的最大行数
+     */
+    static final int MAX_HEADER_COUNT = 100;
+
+    /**
+     * scheme://host:port
+     */
+    final String route;
+    private final Socket socket;
+    final InputStream in;
+    private final OutputStream out;
+    private final CountingInputStream socketIn;
+    private final CountingOutputStream socketOut;
+    final HttpMetricsListener listener;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * 建立连接时各阶段的耗时，由该连接的第一个请求记录
+     */
+    private final long dnsNanos;
+    private final long connectNanos;
+    private final long tlsNanos;
+    private int exchanges;
+
+    /**
+     * 当前请求的记录及开始时的读写字节数
+     */
+    private HttpCallRecorder recorder;
+    private long bytesInMark;
+    private long bytesOutMark;
+    /**
+     * 当前请求所属的可中止请求，可为null
+     */
+    private HttpCall call;
+
+    /**
+     * 最近一次归还连接池的时间，System.nanoTime()
+     */
+    long idleSince;
+    /**
+     * 当前响应结束后连接是否可以复用
+     */
+    boolean reusable;
+    /**
+     * 当前请求是否已读到响应的字节，读到后失败的请求不再重试
+     */
+    boolean responseStarted;
+
+    private HttpConnection(String route, Socket socket, HttpMetricsListener listener,
+                           long dnsNanos, long connectNanos, long tlsNanos) throws IOException {
+        this.route = route;
+        this.socket = socket;
+        this.socketIn = new CountingInputStream(socket.getInputStream());
+        this.socketOut = new CountingOutputStream(socket.getOutputStream());
+        this.in = new BufferedInputStream(this.socketIn, 8192);
+        this.out = new BufferedOutputStream(this.socketOut, 8192);
+        this.listener = listener;
+        this.dnsNanos = dnsNanos;
+        this.connectNanos = connectNanos;
+        this.tlsNanos = tlsNanos;
+    }
+
+    static String route(URL url) {
+        return url.getProtocol() + "://" + url.getHost() + ":" + port(url);
+    }
+
+    static int port(URL url) {
+        int port = url.getPort();
+        return port != -1 ? port : url.getDefaultPort();
+    }
+
+    /**
+     * 建立连接，https时完成握手及域名校验
+     */
+    static HttpConnection open(URL url, HttpKit.HttpConfig config) throws IOException {
+        String host = url.getHost();
+        int port = port(url);
+        long start = System.nanoTime();
+        InetSocketAddress address = new InetSocketAddress(host, port);
+        if (address.isUnresolved()) {
+            throw new UnknownHostException(host);
+        }
+        long resolved = System.nanoTime();
+        Socket socket = new Socket();
+        try {
+            socket.setTcpNoDelay(true);
+            socket.connect(address, config.connectTimeout);
+            long connected = System.nanoTime();
+            long tlsNanos = -1;
+            socket.setSoTimeout(config.readTimeout);
+            if ("https".equalsIgnoreCase(url.getProtocol())) {
+                SSLSocket sslSocket = (SSLSocket) config.sslSocketFactory.createSocket(socket, host, port, true);
+                socket = sslSocket;
+                if (config.hostnameVerifier == null) {
+                    // 未指定HostnameVerifier时在握手中按证书严格校验域名
+                    SSLParameters sslParameters = sslSocket.getSSLParameters();
+                    sslParameters.setEndpointIdentificationAlgorithm("HTTPS");
+                    sslSocket.setSSLParameters(sslParameters);
+                }
+                sslSocket.startHandshake();
+                tlsNanos = System.nanoTime() - connected;
+                if (config.hostnameVerifier != null && !config.hostnameVerifier.verify(host, sslSocket.getSession())) {
+                    throw new SSLPeerUnverifiedException("Hostname " + host + " not verified");
+                }
+            }
+            HttpConnection connection = new HttpConnection(route(url), socket, config.metricsListener,
+                    resolved - start, connected - resolved, tlsNanos);
+            if (connection.listener != null) {
+                connection.listener.connectionOpened(connection.route);
+            }
+            return connection;
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(socket);
+            throw e;
+        }
+    }
+
+    /**
+     * 发送请求并读取响应头
+     *
+     * @param requestHead 请求行及header
+     * @param body        请求体，可为null
+     * @param bodyEncoding 请求体的压缩方式，null时不压缩
+     * @param pool        响应体读完或关闭后归还的连接池
+     * @param recorder    本次请求的记录，响应体读完或关闭时结束，失败时由调用方结束
+     */
+    HttpExchange exchange(String url, String method, byte[] requestHead, byte[] body, HttpKit.ContentEncoding bodyEncoding,
+                          boolean requestKeepAlive, HttpKit.HttpConfig config, HttpConnectionPool pool,
+                          HttpCallRecorder recorder) throws IOException {
+        this.responseStarted = false;
+        this.reusable = false;
+        this.recorder = recorder;
+        this.bytesInMark = this.socketIn.count;
+        this.bytesOutMark = this.socketOut.count;
+        recorder.reusedConnection = this.exchanges++ > 0;
+        if (!recorder.reusedConnection) {
+            recorder.dnsNanos = this.dnsNanos;
+            recorder.connectNanos = this.connectNanos;
+            recorder.tlsNanos = this.tlsNanos;
+        }
+        String statusLine;
+        int status;
+        Map<String, List<String>> headers;
+        try {
+            this.socket.setSoTimeout(config.readTimeout);
+            this.out.write(requestHead);
+            if (body != null) {
+                writeBody(this.out, body, bodyEncoding, config.compressionLevel);
+            }
+            this.out.flush();
+            do {
+                statusLine = readLine(this.in, true);
+                status = parseStatus(statusLine);
+                headers = readHeaders(this.in);
+            } while (status >= 100 && status < 200 && status != 101);
+        } finally {
+            this.account();
+        }
+        recorder.status = status;
+
+        boolean http10 = statusLine.startsWith("HTTP/1.0");
+        String connection = first(headers, "Connection");
+        boolean keepAlive = requestKeepAlive && (http10 ? "keep-alive".equalsIgnoreCase(connection) : !"close".equalsIgnoreCase(connection));
+
+        InputStream responseBody;
+        if ("HEAD".equals(method) || status == 204 || status == 304) {
+            this.reusable = keepAlive;
+            responseBody = new HttpBodyInputStream.Fixed(this, pool, 0);
+        } else if (containsToken(first(headers, "Transfer-Encoding"), "chunked")) {
+            this.reusable = keepAlive;
+            responseBody = new HttpBodyInputStream.Chunked(this, pool);
+        } else if (first(headers, "Content-Length") != null) {
+            long contentLength;
+            try {
+                contentLength = Long.parseLong(first(headers, "Content-Length").trim());
+            } catch (NumberFormatException e) {
+                throw new ProtocolException("Invalid Content-Length: " + first(headers, "Content-Length"));
+            }
+            this.reusable = keepAlive;
+            responseBody = new HttpBodyInputStream.Fixed(this, pool, contentLength);
+        } else {
+            // 无长度信息，读到连接关闭为止
+            responseBody = new HttpBodyInputStream.UntilClose(this, pool);
+        }
+        return new HttpExchange(url, status, headers, responseBody);
+    }
+
+    /**
+     * 写出请求体，压缩时以chunked方式边压缩边写出
+     */
+    static void writeBody(OutputStream out, byte[] body, HttpKit.ContentEncoding bodyEncoding, int compressionLevel) throws IOException {
+        if (bodyEncoding == null) {
+            out.write(body);
+            return;
+        }
+        OutputStream encoded = bodyEncoding.encode(new HttpChunkedOutputStream(out), compressionLevel);
+        encoded.write(body);
+        encoded.close();
+    }
+
+    private int parseStatus(String statusLine) throws IOException {
+        // HTTP/1.1 200 OK
+        if (!statusLine.startsWith("HTTP/") || statusLine.length() < 12) {
+            throw new ProtocolException("Unexpected status line: " + statusLine);
+        }
+        try {
+            return Integer.parseInt(statusLine.substring(9, 12));
+        } catch (NumberFormatException e) {
+            throw new ProtocolException("Unexpected status line: " + statusLine);
+        }
+    }
+
+    private Map<String, List<String>> readHeaders(InputStream in) throws IOException {
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        String line;
+        int count = 0;
+        while (!(line = readLine(in, false)).isEmpty()) {
+            if (++count > MAX_HEADER_COUNT) {
+                throw new ProtocolException("Too many response headers from " + this.route + " (" + MAX_HEADER_COUNT + ")");
+            }
+            int colon = line.indexOf(':');
+            if (colon <= 0) {
+                continue;
+            }
+            String name = line.substring(0, colon).trim();
+            String value = line.substring(colon + 1).trim();
+            headers.computeIfAbsent(name, k -> new ArrayList<>(1)).add(value);
+        }
+        return headers;
+    }
+
+    private static String first(Map<String, List<String>> headers, String name) {
+        List<String> values = headers.get(name);
+        return (values == null || values.isEmpty()) ? null : values.get(0);
+    }
+
+    private static boolean containsToken(String value, String token) {
+        if (value == null) {
+            return false;
+        }
+        for (String part : value.split(",")) {
+            if (token.equalsIgnoreCase(part.trim())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 读取一行，兼容CRLF与LF，header按ISO-8859-1解码；超过MAX_LINE_LENGTH时抛出ProtocolException
+     *
+     * @param statusLine 是否为状态行，读到第一个字节后标记响应已开始
+     */
+    String readLine(InputStream in, boolean statusLine) throws IOException {
+        StringBuilder line = new StringBuilder(64);
+        int b;
+        while ((b = in.read()) != -1) {
+            if (statusLine) {
+                this.responseStarted = true;
+                statusLine = false;
+                if (this.recorder != null) {
+                    this.recorder.firstByte(System.nanoTime());
+                }
+            }
+            if (b == LF) {
+                int length = line.length();
+                if (length > 0 && line.charAt(length - 1) == CR) {
+                    line.setLength(length - 1);
+                }
+                return line.toString();
+            }
+            if (line.length() >= MAX_LINE_LENGTH) {
+                throw new ProtocolException("Response line from " + this.route + " exceeds " + MAX_LINE_LENGTH + " bytes");
+            }
+            line.append((char) b);
+        }
+        throw new EOFException("Unexpected end of stream from " + this.route);
+    }
+
+    /**
+     * 更新当前请求读写的字节数
+     */
+    private void account() {
+        if (this.recorder != null) {
+            this.recorder.bytesIn = this.socketIn.count - this.bytesInMark;
+            this.recorder.bytesOut = this.socketOut.count - this.bytesOutMark;
+        }
+    }
+
+    /**
+     * 结束当前请求的记录，在归还连接前调用
+     *
+     * @param failure 失败原因，成功时为null
+     */
+    void endCall(Throwable failure) {
+        HttpCallRecorder recorder = this.recorder;
+        if (recorder != null) {
+            this.account();
+            this.recorder = null;
+            recorder.end(failure);
+        }
+    }
+
+    /**
+     * 绑定到可中止的请求，已中止时关闭连接并抛出InterruptedIOException
+     */
+    void attach(HttpCall call) throws IOException {
+        this.call = call;
+        call.attach(this);
+    }
+
+    /**
+     * 与可中止的请求解除绑定，在归还连接池前调用
+     */
+    void detach() {
+        HttpCall call = this.call;
+        if (call != null) {
+            this.call = null;
+            call.detach(this);
+        }
+    }
+
+    boolean isClosed() {
+        return this.socket.isClosed();
+    }
+
+    @Override
+    public void close() {
+        closeQuietly(this.socket);
+        if (this.listener != null && this.closed.compareAndSet(false, true)) {
+            this.listener.connectionClosed(this.route);
+        }
+    }
+
+    static byte[] ascii(CharSequence head) {
+        return head.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // ignore
+        }
+    }
+
+    /**
+     * 统计从socket读入的字节数
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = this.in.read();
+            if (b != -1) {
+                this.count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = this.in.read(b, off, len);
+            if (n > 0) {
+                this.count += n;
+            }
+            return n;
+        }
+    }
+
+    /**
+     * 统计写入socket的字节数
+     */
+    static final class CountingOutputStream extends FilterOutputStream {
+
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            this.out.write(b);
+            this.count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            this.out.write(b, off, len);
+            this.count += len;
+        }
+    }
+}
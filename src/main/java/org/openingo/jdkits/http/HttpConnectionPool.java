@@ -0,0 +1,190 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.openingo.jdkits.http;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HttpConnectionPool
+ * <p>按host保存空闲的keep-alive连接，后台线程定时回收超过idleTimeout的连接<p/>
+ *
+ * @author Qicz
+ */
+final class HttpConnectionPool implements Closeable {
+
+    private final HttpKit.HttpConfig config;
+
+    /**
+     * route -> 空闲连接，队头为最近归还的连接
+     */
+    private final ConcurrentMap<String, Deque<HttpConnection>> idleConnections = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService evictor;
+
+    private volatile boolean closed;
+
+    HttpConnectionPool(HttpKit.HttpConfig config) {
+        this.config = config;
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "HttpKit Connection Evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000L, config.idleTimeout / 2);
+        this.evictor.scheduleWithFixedDelay(this::evictIdleConnections, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 取出该route最近归还且未过期的连接，没有时返回null
+     */
+    HttpConnection acquire(String route) {
+        Deque<HttpConnection> connections = this.idleConnections.get(route);
+        if (connections == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        while (true) {
+            HttpConnection connection;
+            synchronized (connections) {
+                connection = connections.pollFirst();
+            }
+            if (connection == null) {
+                return null;
+            }
+            unpooled(connection);
+            if (!this.isExpired(connection, now) && !connection.isClosed()) {
+                return connection;
+            }
+            connection.close();
+        }
+    }
+
+    /**
+     * 归还连接，不可复用或超出maxIdleConnectionsPerHost时关闭
+     */
+    void release(HttpConnection connection) {
+        if (this.closed || !connection.reusable || connection.isClosed()
+                || this.config.maxIdleConnectionsPerHost <= 0 || this.config.idleTimeout <= 0) {
+            connection.close();
+            return;
+        }
+        connection.idleSince = System.nanoTime();
+        Deque<HttpConnection> connections = this.idleConnections.computeIfAbsent(connection.route, k -> new ArrayDeque<>());
+        HttpConnection evicted = null;
+        pooled(connection);
+        synchronized (connections) {
+            connections.offerFirst(connection);
+            if (connections.size() > this.config.maxIdleConnectionsPerHost) {
+                evicted = connections.pollLast();
+            }
+        }
+        if (evicted != null) {
+            unpooled(evicted);
+            evicted.close();
+        }
+        if (this.closed) {
+            this.evictAll();
+        }
+    }
+
+    /**
+     * 当前空闲连接数
+     */
+    int idleCount() {
+        int count = 0;
+        for (Deque<HttpConnection> connections : this.idleConnections.values()) {
+            synchronized (connections) {
+                count += connections.size();
+            }
+        }
+        return count;
+    }
+
+    private static void pooled(HttpConnection connection) {
+        if (connection.listener != null) {
+            connection.listener.connectionPooled(connection.route);
+        }
+    }
+
+    private static void unpooled(HttpConnection connection) {
+        if (connection.listener != null) {
+            connection.listener.connectionUnpooled(connection.route);
+        }
+    }
+
+    private boolean isExpired(HttpConnection connection, long now) {
+        return now - connection.idleSince > TimeUnit.MILLISECONDS.toNanos(this.config.idleTimeout);
+    }
+
+    private void evictIdleConnections() {
+        long now = System.nanoTime();
+        for (Deque<HttpConnection> connections : this.idleConnections.values()) {
+            synchronized (connections) {
+                // 队尾为最早归还的连接
+                Iterator<HttpConnection> iterator = connections.descendingIterator();
+                while (iterator.hasNext()) {
+                    HttpConnection connection = iterator.next();
+                    if (!this.isExpired(connection, now) && !connection.isClosed()) {
+                        break;
+                    }
+                    iterator.remove();
+                    unpooled(connection);
+                    connection.close();
+                }
+            }
+        }
+    }
+
+    private void evictAll() {
+        for (Deque<HttpConnection> connections : this.idleConnections.values()) {
+            synchronized (connections) {
+                for (HttpConnection connection : connections) {
+                    unpooled(connection);
+                    connection.close();
+                }
+                connections.clear();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        this.evictor.shutdownNow();
+        this.evictAll();
+    }
+}
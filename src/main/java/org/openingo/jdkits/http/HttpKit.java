@@ -27,20 +27,20 @@
 
 package org.openingo.jdkits.http;
 
+import org.openingo.jdkits.coding.CompressKit;
 import org.openingo.jdkits.lang.StrKit;
+import org.openingo.jdkits.validate.AssertKit;
 
 import javax.net.ssl.*;
 import javax.servlet.http.HttpServletRequest;
 import java.io.*;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.net.URLEncoder;
-import java.security.KeyManagementException;
-import java.security.NoSuchAlgorithmException;
-import java.security.NoSuchProviderException;
+import java.nio.file.Path;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.zip.Deflater;
 
 /**
  * Http工具 HttpKit
@@ -78,10 +78,6 @@ public final class HttpKit {
         }
     }
 
-    private static final String GET  = "GET";
-    private static final String POST = "POST";
-    private static String CHARSET = "UTF-8";
-
     private static final SSLSocketFactory SSL_SOCKET_FACTORY = initSSLSocketFactory();
     private static final TrustAnyHostnameVerifier TRUST_ANY_HOSTNAME_VERIFIER = new HttpKit.TrustAnyHostnameVerifier();
 
@@ -97,58 +93,206 @@ public final class HttpKit {
         }
     }
 
-    public static void setCharSet(String charSet) {
-        if (StrKit.isBlank(charSet)) {
-            throw new IllegalArgumentException("charSet can not be blank.");
-        }
-        HttpKit.CHARSET = charSet;
+    /**
+     * HttpKitClient的配置，时间单位均为毫秒
+     */
+    public static class HttpConfig {
+        /**
+         * 连接超时
+         */
+        public int connectTimeout = 19000;
+        /**
+         * 读超时
+         */
+        public int readTimeout = 19000;
+        /**
+         * 每个host保持的空闲keep-alive连接数，不大于0时不复用连接
+         */
+        public int maxIdleConnectionsPerHost = 8;
+        /**
+         * 空闲连接的存活时间，超过后被回收，不大于0时不复用连接
+         */
+        public long idleTimeout = 30000;
+        /**
+         * 复用的空闲连接已被服务端关闭、未收到响应时，是否以新连接重试非幂等请求（如POST）；
+         * 幂等请求（GET、HEAD、PUT、DELETE、OPTIONS）总是重试一次
+         */
+        public boolean retryNonIdempotentOnStaleConnection;
+        /**
+         * 是否跟随重定向，不跟随协议变化的重定向
+         */
+        public boolean followRedirects = true;
+        /**
+         * 最大重定向次数
+         */
+        public int maxRedirects = 20;
+        /**
+         * 请求参数与响应的编码
+         */
+        public String charset = "UTF-8";
+        /**
+         * 默认的Content-Type，可被请求header覆盖
+         */
+        public String contentType = "application/x-www-form-urlencoded";
+        /**
+         * 默认的User-Agent，可被请求header覆盖
+         */
+        public String userAgent = "Mozilla/5.0 (Windows NT 6.3; WOW64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/33.0.1750.146 Safari/537.36";
+        /**
+         * https使用的SSLSocketFactory，默认信任所有证书
+         */
+        public SSLSocketFactory sslSocketFactory = SSL_SOCKET_FACTORY;
+        /**
+         * https域名校验，默认不校验；null时按证书严格校验域名
+         */
+        public HostnameVerifier hostnameVerifier = TRUST_ANY_HOSTNAME_VERIFIER;
+        /**
+         * 异步请求的执行线程池，null时使用内部的daemon线程池
+         */
+        public Executor asyncExecutor;
+        /**
+         * 异步请求同时执行的总数，超出的请求排队
+         */
+        public int maxRequests = 256;
+        /**
+         * 异步请求时每个host同时执行的请求数，超出的请求排队
+         */
+        public int maxRequestsPerHost = 64;
+        /**
+         * 异步请求默认的deadline，从提交开始计算，不大于0时只受连接与读超时限制
+         */
+        public long asyncTimeout;
+        /**
+         * 请求体的压缩方式，null时不压缩；压缩的请求体以chunked方式边压缩边发送
+         */
+        public ContentEncoding requestEncoding;
+        /**
+         * 请求体达到该字节数时才压缩
+         */
+        public int requestCompressionThreshold = 1024;
+        /**
+         * 请求体的压缩级别，见Deflater
+         */
+        public int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+        /**
+         * 是否发送Accept-Encoding并自动解压gzip/deflate响应，请求header中自带Accept-Encoding时不解压
+         */
+        public boolean decompressResponse = true;
+        /**
+         * 请求耗时、流量及连接池事件的监听，null时不采集，可使用HttpMetrics按host汇总
+         */
+        public HttpMetricsListener metricsListener;
     }
 
-    private static HttpURLConnection getHttpConnection(String url, String method, Map<String, String> headers) throws IOException, NoSuchAlgorithmException, NoSuchProviderException, KeyManagementException {
-        URL _url = new URL(url);
-        HttpURLConnection conn = (HttpURLConnection)_url.openConnection();
-        if (conn instanceof HttpsURLConnection) {
-            ((HttpsURLConnection)conn).setSSLSocketFactory(SSL_SOCKET_FACTORY);
-            ((HttpsURLConnection)conn).setHostnameVerifier(TRUST_ANY_HOSTNAME_VERIFIER);
+    /**
+     * Http的Content-Encoding
+     */
+    public enum ContentEncoding {
+        /**
+         * gzip，RFC 1952
+         */
+        GZIP("gzip"),
+
+        /**
+         * deflate，zlib格式，RFC 1950
+         */
+        DEFLATE("deflate");
+
+        private final String token;
+
+        ContentEncoding(String token) {
+            this.token = token;
         }
 
-        conn.setRequestMethod(method);
-        conn.setDoOutput(true);
-        conn.setDoInput(true);
+        public String token() {
+            return token;
+        }
 
-        conn.setConnectTimeout(19000);
-        conn.setReadTimeout(19000);
+        /**
+         * 压缩后写入out，关闭返回的流时关闭out
+         */
+        OutputStream encode(OutputStream out, int level) throws IOException {
+            if (this == GZIP) {
+                return CompressKit.gzipStream(out, level);
+            }
+            return CompressKit.compressStream(out, false, level);
+        }
+
+        /**
+         * 解压in，关闭返回的流时关闭in；响应体为空时原样返回
+         */
+        InputStream decode(InputStream in) throws IOException {
+            PushbackInputStream pushback = new PushbackInputStream(in, 2);
+            byte[] head = new byte[2];
+            int n = 0;
+            int read;
+            while (n < head.length && (read = pushback.read(head, n, head.length - n)) != -1) {
+                n += read;
+            }
+            if (n == 0) {
+                return pushback;
+            }
+            pushback.unread(head, 0, n);
+            if (this == GZIP) {
+                return CompressKit.gunzipStream(pushback);
+            }
+            // 部分服务端的deflate不带zlib头
+            boolean zlib = n == 2 && (head[0] & 0x0f) == Deflater.DEFLATED && (((head[0] & 0xff) << 8) | (head[1] & 0xff)) % 31 == 0;
+            return CompressKit.decompressStream(pushback, !zlib);
+        }
+
+        static ContentEncoding of(String token) {
+            if (token == null) {
+                return null;
+            }
+            for (ContentEncoding encoding : values()) {
+                if (encoding.token.equalsIgnoreCase(token.trim())) {
+                    return encoding;
+                }
+            }
+            return null;
+        }
+    }
 
-        conn.setRequestProperty("Content-Type","application/x-www-form-urlencoded");
-        conn.setRequestProperty("User-Agent", "Mozilla/5.0 (Windows NT 6.3; WOW64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/33.0.1750.146 Safari/537.36");
+    private static volatile HttpKitClient client;
 
-        if (headers != null && !headers.isEmpty()) {
-            for (Map.Entry<String, String> entry : headers.entrySet()) {
-                conn.setRequestProperty(entry.getKey(), entry.getValue());
+    /**
+     * get/post使用的client，首次使用时按默认配置创建
+     */
+    public static HttpKitClient getClient() {
+        HttpKitClient current = client;
+        if (current == null) {
+            synchronized (HttpKit.class) {
+                current = client;
+                if (current == null) {
+                    current = new HttpKitClient();
+                    client = current;
+                }
             }
         }
+        return current;
+    }
 
-        return conn;
+    /**
+     * 替换get/post使用的client，被替换的client由调用方关闭
+     */
+    public static void setClient(HttpKitClient httpKitClient) {
+        AssertKit.notNull(httpKitClient, "httpKitClient cannot be null.");
+        client = httpKitClient;
+    }
+
+    public static void setCharSet(String charSet) {
+        if (StrKit.isBlank(charSet)) {
+            throw new IllegalArgumentException("charSet can not be blank.");
+        }
+        getClient().getConfig().charset = charSet;
     }
 
     /**
      * Send GET request
      */
     public static String get(String url, Map<String, String> queryParas, Map<String, String> headers) {
-        HttpURLConnection conn = null;
-        try {
-            conn = getHttpConnection(buildUrlWithQueryString(url, queryParas), GET, headers);
-            conn.connect();
-            return readResponseString(conn);
-        }
-        catch (Exception e) {
-            throw new RuntimeException(e);
-        }
-        finally {
-            if (conn != null) {
-                conn.disconnect();
-            }
-        }
+        return getClient().get(url, queryParas, headers);
     }
 
     public static String get(String url, Map<String, String> queryParas) {
@@ -163,28 +307,7 @@ public final class HttpKit {
      * Send POST request
      */
     public static String post(String url, Map<String, String> queryParas, String data, Map<String, String> headers) {
-        HttpURLConnection conn = null;
-        try {
-            conn = getHttpConnection(buildUrlWithQueryString(url, queryParas), POST, headers);
-            conn.connect();
-
-            if (data != null) {
-                OutputStream out = conn.getOutputStream();
-                out.write(data.getBytes(CHARSET));
-                out.flush();
-                out.close();
-            }
-
-            return readResponseString(conn);
-        }
-        catch (Exception e) {
-            throw new RuntimeException(e);
-        }
-        finally {
-            if (conn != null) {
-                conn.disconnect();
-            }
-        }
+        return getClient().post(url, queryParas, data, headers);
     }
 
     public static String post(String url, Map<String, String> queryParas, String data) {
@@ -199,71 +322,60 @@ public final class HttpKit {
         return post(url, null, data, null);
     }
 
-    private static String readResponseString(HttpURLConnection conn) {
-        BufferedReader reader = null;
-        try {
-            StringBuilder ret;
-            reader = new BufferedReader(new InputStreamReader(conn.getInputStream(), CHARSET));
-            String line = reader.readLine();
-            if (line != null) {
-                ret = new StringBuilder();
-                ret.append(line);
-            } else {
-                return "";
-            }
+    /**
+     * Send GET request, 响应体交给handler流式处理
+     */
+    public static <T> T get(String url, Map<String, String> queryParas, Map<String, String> headers, HttpResponseHandler<T> handler) {
+        return getClient().get(url, queryParas, headers, handler);
+    }
 
-            while ((line = reader.readLine()) != null) {
-                ret.append('\n').append(line);
-            }
-            return ret.toString();
-        }
-        catch (Exception e) {
-            throw new RuntimeException(e);
-        }
-        finally {
-            if (reader != null) {
-                try {
-                    reader.close();
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
-            }
-        }
+    /**
+     * Send GET request, 响应体按原始字节返回
+     */
+    public static byte[] getBytes(String url, Map<String, String> queryParas, Map<String, String> headers) {
+        return getClient().getBytes(url, queryParas, headers);
+    }
+
+    public static byte[] getBytes(String url) {
+        return getBytes(url, null, null);
     }
 
     /**
-     * Build queryString of the url
+     * 下载到文件，文件存在时覆盖
+     *
+     * @return 写入的字节数
      */
-    private static String buildUrlWithQueryString(String url, Map<String, String> queryParas) {
-        if (queryParas == null || queryParas.isEmpty()) {
-            return url;
-        }
+    public static long download(String url, Path file) {
+        return get(url, null, null, HttpResponseHandler.toFile(file));
+    }
 
-        StringBuilder sb = new StringBuilder(url);
-        boolean isFirst;
-        if (url.indexOf('?') == -1) {
-            isFirst = true;
-            sb.append('?');
-        }
-        else {
-            isFirst = false;
-        }
+    /**
+     * Send POST request, 响应体交给handler流式处理
+     */
+    public static <T> T post(String url, Map<String, String> queryParas, byte[] data, Map<String, String> headers, HttpResponseHandler<T> handler) {
+        return getClient().post(url, queryParas, data, headers, handler);
+    }
 
-        for (Map.Entry<String, String> entry : queryParas.entrySet()) {
-            if (isFirst) {
-                isFirst = false;
-            } else {
-                sb.append('&');
-            }
+    /**
+     * Send GET request asynchronously
+     */
+    public static CompletableFuture<String> getAsync(String url, Map<String, String> queryParas, Map<String, String> headers) {
+        return getClient().getAsync(url, queryParas, headers);
+    }
 
-            String key = entry.getKey();
-            String value = entry.getValue();
-            if (StrKit.notBlank(value)) {
-                try {value = URLEncoder.encode(value, CHARSET);} catch (UnsupportedEncodingException e) {throw new RuntimeException(e);}
-            }
-            sb.append(key).append('=').append(value);
-        }
-        return sb.toString();
+    public static CompletableFuture<String> getAsync(String url) {
+        return getAsync(url, null, null);
+    }
+
+    /**
+     * Send POST request asynchronously
+     */
+    public static CompletableFuture<String> postAsync(String url, Map<String, String> queryParas, String data, Map<String, String> headers) {
+        return getClient().postAsync(url, queryParas, data, headers);
+    }
+
+    public static CompletableFuture<String> postAsync(String url, String data) {
+        return postAsync(url, null, data, null);
     }
 
     public static String readData(HttpServletRequest request) {
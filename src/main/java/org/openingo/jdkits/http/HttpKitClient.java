@@ -0,0 +1,655 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.openingo.jdkits.http;
+
+import org.openingo.jdkits.lang.StrKit;
+import org.openingo.jdkits.validate.AssertKit;
+
+import javax.net.ssl.HttpsURLConnection;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
+import java.net.ProtocolException;
+import java.net.Proxy;
+import java.net.ProxySelector;
+import java.net.SocketTimeoutException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * HttpKitClient
+ * <p>按host复用keep-alive连接的Http客户端，线程安全，HttpKit的get/post基于默认的实例<p/>
+ * <p>系统配置了代理时退回HttpURLConnection<p/>
+ * <p>*Async方法返回CompletableFuture，支持per-call deadline及按host的并发限制<p/>
+ *
+ * @author Qicz
+ */
+public final class HttpKitClient implements Closeable {
+
+    private static final String GET  = "GET";
+    private static final String POST = "POST";
+
+    private final HttpKit.HttpConfig config;
+
+    private final HttpConnectionPool pool;
+
+    private volatile HttpAsyncDispatcher asyncDispatcher;
+
+    public HttpKitClient() {
+        this(new HttpKit.HttpConfig());
+    }
+
+    public HttpKitClient(HttpKit.HttpConfig config) {
+        AssertKit.notNull(config, "config cannot be null.");
+        this.config = config;
+        this.pool = new HttpConnectionPool(config);
+    }
+
+    public HttpKit.HttpConfig getConfig() {
+        return this.config;
+    }
+
+    /**
+     * Send GET request, 响应按行读取后以\n连接，与旧版HttpKit一致
+     */
+    public String get(String url, Map<String, String> queryParas, Map<String, String> headers) {
+        return this.get(url, queryParas, headers, this.stringHandler());
+    }
+
+    public String get(String url, Map<String, String> queryParas) {
+        return this.get(url, queryParas, null);
+    }
+
+    public String get(String url) {
+        return this.get(url, null, null);
+    }
+
+    /**
+     * Send GET request, 响应体交给handler流式处理
+     */
+    public <T> T get(String url, Map<String, String> queryParas, Map<String, String> headers, HttpResponseHandler<T> handler) {
+        return this.send(GET, url, queryParas, null, headers, handler);
+    }
+
+    /**
+     * Send GET request, 响应体按原始字节返回
+     */
+    public byte[] getBytes(String url, Map<String, String> queryParas, Map<String, String> headers) {
+        return this.get(url, queryParas, headers, HttpResponseHandler.ofBytes());
+    }
+
+    public byte[] getBytes(String url) {
+        return this.getBytes(url, null, null);
+    }
+
+    /**
+     * Send POST request, 响应按行读取后以\n连接，与旧版HttpKit一致
+     */
+    public String post(String url, Map<String, String> queryParas, String data, Map<String, String> headers) {
+        return this.post(url, queryParas, this.encode(data), headers, this.stringHandler());
+    }
+
+    public String post(String url, Map<String, String> queryParas, String data) {
+        return this.post(url, queryParas, data, null);
+    }
+
+    public String post(String url, String data, Map<String, String> headers) {
+        return this.post(url, null, data, headers);
+    }
+
+    public String post(String url, String data) {
+        return this.post(url, null, data, null);
+    }
+
+    /**
+     * Send POST request, 响应体交给handler流式处理
+     */
+    public <T> T post(String url, Map<String, String> queryParas, byte[] body, Map<String, String> headers, HttpResponseHandler<T> handler) {
+        return this.send(POST, url, queryParas, body, headers, handler);
+    }
+
+    /**
+     * Send POST request, 响应体按原始字节返回
+     */
+    public byte[] postBytes(String url, Map<String, String> queryParas, byte[] body, Map<String, String> headers) {
+        return this.post(url, queryParas, body, headers, HttpResponseHandler.ofBytes());
+    }
+
+    /**
+     * Send GET request asynchronously
+     * <p>deadline为config.asyncTimeout<p/>
+     */
+    public CompletableFuture<String> getAsync(String url, Map<String, String> queryParas, Map<String, String> headers) {
+        return this.getAsync(url, queryParas, headers, this.config.asyncTimeout);
+    }
+
+    public CompletableFuture<String> getAsync(String url) {
+        return this.getAsync(url, null, null);
+    }
+
+    /**
+     * Send GET request asynchronously
+     *
+     * @param timeoutMillis 从调用开始计算的deadline，到达时以TimeoutException完成并中止请求，不大于0时不限制
+     */
+    public CompletableFuture<String> getAsync(String url, Map<String, String> queryParas, Map<String, String> headers, long timeoutMillis) {
+        return this.getAsync(url, queryParas, headers, timeoutMillis, this.stringHandler());
+    }
+
+    /**
+     * Send GET request asynchronously, 响应体按原始字节返回
+     */
+    public CompletableFuture<byte[]> getBytesAsync(String url, Map<String, String> queryParas, Map<String, String> headers, long timeoutMillis) {
+        return this.getAsync(url, queryParas, headers, timeoutMillis, HttpResponseHandler.ofBytes());
+    }
+
+    /**
+     * Send GET request asynchronously, 响应体在执行线程上交给handler流式处理
+     */
+    public <T> CompletableFuture<T> getAsync(String url, Map<String, String> queryParas, Map<String, String> headers, long timeoutMillis,
+                                             HttpResponseHandler<T> handler) {
+        return this.sendAsync(GET, url, queryParas, null, headers, timeoutMillis, handler);
+    }
+
+    /**
+     * Send POST request asynchronously
+     * <p>deadline为config.asyncTimeout<p/>
+     */
+    public CompletableFuture<String> postAsync(String url, Map<String, String> queryParas, String data, Map<String, String> headers) {
+        return this.postAsync(url, queryParas, data, headers, this.config.asyncTimeout);
+    }
+
+    public CompletableFuture<String> postAsync(String url, String data) {
+        return this.postAsync(url, null, data, null);
+    }
+
+    /**
+     * Send POST request asynchronously
+     *
+     * @param timeoutMillis 从调用开始计算的deadline，到达时以TimeoutException完成并中止请求，不大于0时不限制
+     */
+    public CompletableFuture<String> postAsync(String url, Map<String, String> queryParas, String data, Map<String, String> headers, long timeoutMillis) {
+        byte[] body;
+        try {
+            body = this.encode(data);
+        } catch (RuntimeException e) {
+            CompletableFuture<String> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+        return this.postAsync(url, queryParas, body, headers, timeoutMillis, this.stringHandler());
+    }
+
+    /**
+     * Send POST request asynchronously, 响应体按原始字节返回
+     */
+    public CompletableFuture<byte[]> postBytesAsync(String url, Map<String, String> queryParas, byte[] body, Map<String, String> headers, long timeoutMillis) {
+        return this.postAsync(url, queryParas, body, headers, timeoutMillis, HttpResponseHandler.ofBytes());
+    }
+
+    /**
+     * Send POST request asynchronously, 响应体在执行线程上交给handler流式处理
+     */
+    public <T> CompletableFuture<T> postAsync(String url, Map<String, String> queryParas, byte[] body, Map<String, String> headers, long timeoutMillis,
+                                              HttpResponseHandler<T> handler) {
+        return this.sendAsync(POST, url, queryParas, body, headers, timeoutMillis, handler);
+    }
+
+    private <T> T send(String method, String url, Map<String, String> queryParas, byte[] body,
+                       Map<String, String> headers, HttpResponseHandler<T> handler) {
+        AssertKit.notNull(handler, "handler cannot be null.");
+        try (HttpExchange exchange = this.execute(method, this.buildUrlWithQueryString(url, queryParas), body, headers)) {
+            return handle(exchange, handler);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 异步请求在执行线程上阻塞读写，同时执行的请求数由config.maxRequests及config.maxRequestsPerHost限制，排队的请求不占用线程
+     * <p>future的回调在完成它的线程上执行，耗时的回调请使用*Async系列方法<p/>
+     */
+    private <T> CompletableFuture<T> sendAsync(String method, String url, Map<String, String> queryParas, byte[] body,
+                                               Map<String, String> headers, long timeoutMillis, HttpResponseHandler<T> handler) {
+        AssertKit.notNull(handler, "handler cannot be null.");
+        String target;
+        String route;
+        try {
+            target = this.buildUrlWithQueryString(url, queryParas);
+            route = HttpConnection.route(new URL(target));
+        } catch (IOException | RuntimeException e) {
+            CompletableFuture<T> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+        return this.asyncDispatcher().submit(route, timeoutMillis, call -> {
+            try (HttpExchange exchange = this.execute(method, target, body, headers, call)) {
+                return handle(exchange, handler);
+            }
+        });
+    }
+
+    private HttpAsyncDispatcher asyncDispatcher() {
+        HttpAsyncDispatcher dispatcher = this.asyncDispatcher;
+        if (dispatcher == null) {
+            synchronized (this) {
+                dispatcher = this.asyncDispatcher;
+                if (dispatcher == null) {
+                    dispatcher = new HttpAsyncDispatcher(this.config);
+                    this.asyncDispatcher = dispatcher;
+                }
+            }
+        }
+        return dispatcher;
+    }
+
+    /**
+     * 关闭所有空闲连接，停止回收线程及异步请求的线程
+     */
+    @Override
+    public void close() {
+        this.pool.close();
+        synchronized (this) {
+            if (this.asyncDispatcher != null) {
+                this.asyncDispatcher.close();
+            }
+        }
+    }
+
+    /**
+     * 发送请求并处理重定向，调用方负责关闭返回的响应
+     */
+    HttpExchange execute(String method, String url, byte[] body, Map<String, String> headers) throws IOException {
+        return this.execute(method, url, body, headers, null);
+    }
+
+    /**
+     * 发送请求并处理重定向，调用方负责关闭返回的响应
+     *
+     * @param call 可中止的请求，可为null
+     */
+    HttpExchange execute(String method, String url, byte[] body, Map<String, String> headers, HttpCall call) throws IOException {
+        URL target = new URL(url);
+        Map<String, String> requestHeaders = this.requestHeaders(headers);
+        // 调用方自带Accept-Encoding时原样返回响应体
+        boolean decompress = this.config.decompressResponse && !requestHeaders.containsKey("Accept-Encoding");
+        if (decompress) {
+            requestHeaders.put("Accept-Encoding", "gzip, deflate");
+        }
+        for (int redirects = 0; ; redirects++) {
+            HttpExchange exchange = this.exchange(method, target, body, requestHeaders, call);
+            exchange.decompress = decompress;
+            String location;
+            if (!this.config.followRedirects || !isRedirect(exchange.status) || (location = exchange.header("Location")) == null) {
+                return exchange;
+            }
+            URL next = new URL(target, location);
+            if (!next.getProtocol().equalsIgnoreCase(target.getProtocol())) {
+                return exchange;
+            }
+            exchange.close();
+            if (redirects >= this.config.maxRedirects) {
+                throw new ProtocolException("Server redirected too many times (" + this.config.maxRedirects + ")");
+            }
+            if (exchange.status == 303 || (POST.equals(method) && exchange.status != 307 && exchange.status != 308)) {
+                method = GET;
+                body = null;
+            }
+            target = next;
+        }
+    }
+
+    private static boolean isIdempotent(String method) {
+        return GET.equals(method) || "HEAD".equals(method) || "PUT".equals(method)
+                || "DELETE".equals(method) || "OPTIONS".equals(method);
+    }
+
+    private static boolean isRedirect(int status) {
+        return status == 301 || status == 302 || status == 303 || status == 307 || status == 308;
+    }
+
+    private HttpExchange exchange(String method, URL url, byte[] body, Map<String, String> requestHeaders, HttpCall call) throws IOException {
+        HttpKit.ContentEncoding bodyEncoding = this.bodyEncoding(body, requestHeaders);
+        String route = HttpConnection.route(url);
+        String target = url.toString();
+        HttpCallRecorder recorder = new HttpCallRecorder(this.config.metricsListener, route, method, target);
+        if (usesProxy(url)) {
+            try {
+                return this.proxyExchange(method, url, body, bodyEncoding, requestHeaders, call, recorder);
+            } catch (IOException | RuntimeException e) {
+                recorder.end(e);
+                throw e;
+            }
+        }
+        byte[] requestHead = this.requestHead(method, url, body, bodyEncoding, requestHeaders);
+        boolean keepAlive = !"close".equalsIgnoreCase(requestHeaders.get("Connection"));
+        HttpConnection connection = this.pool.acquire(route);
+        if (connection != null) {
+            try {
+                if (call != null) {
+                    connection.attach(call);
+                }
+                return connection.exchange(target, method, requestHead, body, bodyEncoding, keepAlive, this.config, this.pool, recorder);
+            } catch (SocketTimeoutException e) {
+                connection.close();
+                recorder.end(e);
+                throw e;
+            } catch (IOException e) {
+                connection.close();
+                // 复用的连接可能已被服务端关闭，未收到响应时换新连接重试一次；非幂等请求可能已被处理，默认不重试
+                if (connection.responseStarted || (call != null && call.isAborted())
+                        || !(isIdempotent(method) || this.config.retryNonIdempotentOnStaleConnection)) {
+                    recorder.end(e);
+                    throw e;
+                }
+            }
+        }
+        try {
+            connection = HttpConnection.open(url, this.config);
+        } catch (IOException | RuntimeException e) {
+            recorder.end(e);
+            throw e;
+        }
+        try {
+            if (call != null) {
+                connection.attach(call);
+            }
+            return connection.exchange(target, method, requestHead, body, bodyEncoding, keepAlive, this.config, this.pool, recorder);
+        } catch (IOException | RuntimeException e) {
+            connection.close();
+            recorder.end(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 请求体的压缩方式，调用方自带Content-Encoding时不压缩
+     */
+    private HttpKit.ContentEncoding bodyEncoding(byte[] body, Map<String, String> requestHeaders) {
+        if (body == null || this.config.requestEncoding == null || body.length < this.config.requestCompressionThreshold
+                || requestHeaders.containsKey("Content-Encoding")) {
+            return null;
+        }
+        return this.config.requestEncoding;
+    }
+
+    private Map<String, String> requestHeaders(Map<String, String> headers) {
+        Map<String, String> requestHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        requestHeaders.put("Content-Type", this.config.contentType);
+        requestHeaders.put("User-Agent", this.config.userAgent);
+        if (headers != null && !headers.isEmpty()) {
+            for (Map.Entry<String, String> entry : headers.entrySet()) {
+                String value = entry.getValue();
+                if (value != null && (value.indexOf('\r') != -1 || value.indexOf('\n') != -1)) {
+                    throw new IllegalArgumentException("Illegal character(s) in header [" + entry.getKey() + "] value.");
+                }
+                requestHeaders.put(entry.getKey(), value);
+            }
+        }
+        // 长度由请求体决定
+        requestHeaders.remove("Content-Length");
+        requestHeaders.remove("Transfer-Encoding");
+        return requestHeaders;
+    }
+
+    private byte[] requestHead(String method, URL url, byte[] body, HttpKit.ContentEncoding bodyEncoding, Map<String, String> requestHeaders) {
+        StringBuilder head = new StringBuilder(256);
+        String file = url.getFile();
+        head.append(method).append(' ').append(file.isEmpty() ? "/" : file).append(" HTTP/1.1\r\n");
+        if (!requestHeaders.containsKey("Host")) {
+            head.append("Host: ").append(url.getHost());
+            if (url.getPort() != -1 && url.getPort() != url.getDefaultPort()) {
+                head.append(':').append(url.getPort());
+            }
+            head.append("\r\n");
+        }
+        if (!requestHeaders.containsKey("Accept")) {
+            head.append("Accept: */*\r\n");
+        }
+        if (!requestHeaders.containsKey("Connection")) {
+            head.append("Connection: keep-alive\r\n");
+        }
+        for (Map.Entry<String, String> entry : requestHeaders.entrySet()) {
+            if (entry.getValue() != null) {
+                head.append(entry.getKey()).append(": ").append(entry.getValue()).append("\r\n");
+            }
+        }
+        if (bodyEncoding != null) {
+            head.append("Content-Encoding: ").append(bodyEncoding.token()).append("\r\n");
+            head.append("Transfer-Encoding: chunked\r\n");
+        } else if (body != null) {
+            head.append("Content-Length: ").append(body.length).append("\r\n");
+        } else if (!GET.equals(method) && !"HEAD".equals(method)) {
+            head.append("Content-Length: 0\r\n");
+        }
+        head.append("\r\n");
+        return HttpConnection.ascii(head);
+    }
+
+    private static boolean usesProxy(URL url) {
+        ProxySelector proxySelector = ProxySelector.getDefault();
+        if (proxySelector == null) {
+            return false;
+        }
+        try {
+            List<Proxy> proxies = proxySelector.select(url.toURI());
+            return proxies != null && !proxies.isEmpty() && proxies.get(0).type() != Proxy.Type.DIRECT;
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 经代理的请求使用HttpURLConnection，连接由JDK的keep-alive缓存复用，不记录连接阶段的耗时
+     */
+    private HttpExchange proxyExchange(String method, URL url, byte[] body, HttpKit.ContentEncoding bodyEncoding,
+                                       Map<String, String> requestHeaders, HttpCall call, HttpCallRecorder recorder) throws IOException {
+        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+        if (call != null) {
+            call.attach(conn::disconnect);
+        }
+        if (conn instanceof HttpsURLConnection) {
+            ((HttpsURLConnection) conn).setSSLSocketFactory(this.config.sslSocketFactory);
+            ((HttpsURLConnection) conn).setHostnameVerifier(this.config.hostnameVerifier != null
+                    ? this.config.hostnameVerifier : HttpsURLConnection.getDefaultHostnameVerifier());
+        }
+        conn.setRequestMethod(method);
+        conn.setInstanceFollowRedirects(false);
+        conn.setConnectTimeout(this.config.connectTimeout);
+        conn.setReadTimeout(this.config.readTimeout);
+        for (Map.Entry<String, String> entry : requestHeaders.entrySet()) {
+            conn.setRequestProperty(entry.getKey(), entry.getValue());
+        }
+        if (body != null) {
+            conn.setDoOutput(true);
+            if (bodyEncoding != null) {
+                conn.setRequestProperty("Content-Encoding", bodyEncoding.token());
+                conn.setChunkedStreamingMode(8192);
+                HttpConnection.CountingOutputStream counted = new HttpConnection.CountingOutputStream(conn.getOutputStream());
+                try (OutputStream out = bodyEncoding.encode(counted, this.config.compressionLevel)) {
+                    out.write(body);
+                }
+                recorder.bytesOut = counted.count;
+            } else {
+                conn.setFixedLengthStreamingMode(body.length);
+                try (OutputStream out = conn.getOutputStream()) {
+                    out.write(body);
+                }
+                recorder.bytesOut = body.length;
+            }
+        }
+        int status = conn.getResponseCode();
+        recorder.firstByte(System.nanoTime());
+        recorder.status = status;
+        InputStream in = status >= 400 ? conn.getErrorStream() : conn.getInputStream();
+        if (in == null) {
+            in = new ByteArrayInputStream(new byte[0]);
+        }
+        in = new RecordingInputStream(in, recorder);
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Map.Entry<String, List<String>> entry : conn.getHeaderFields().entrySet()) {
+            if (entry.getKey() != null) {
+                headers.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return new HttpExchange(url.toString(), status, headers, in);
+    }
+
+    /**
+     * 与HttpURLConnection一致，4xx/5xx时抛出异常
+     */
+    private static void checkStatus(HttpExchange exchange) throws IOException {
+        if (exchange.status >= 400) {
+            if (exchange.status == 404 || exchange.status == 410) {
+                throw new FileNotFoundException(exchange.url);
+            }
+            throw new IOException("Server returned HTTP response code: " + exchange.status + " for URL: " + exchange.url);
+        }
+    }
+
+    private static <T> T handle(HttpExchange exchange, HttpResponseHandler<T> handler) throws IOException {
+        checkStatus(exchange);
+        HttpKit.ContentEncoding encoding = exchange.decompress ? HttpKit.ContentEncoding.of(exchange.header("Content-Encoding")) : null;
+        if (encoding == null) {
+            return handler.handle(exchange.status, exchange.headers, exchange.body);
+        }
+        // handler看到的是解压后的响应体
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(exchange.headers);
+        headers.remove("Content-Encoding");
+        headers.remove("Content-Length");
+        try (InputStream body = encoding.decode(exchange.body)) {
+            return handler.handle(exchange.status, headers, body);
+        }
+    }
+
+    /**
+     * 返回String的方法沿用旧版HttpKit的按行拼接，原样的文本使用HttpResponseHandler.ofString
+     */
+    private HttpResponseHandler<String> stringHandler() {
+        return HttpResponseHandler.ofLines(Charset.forName(this.config.charset));
+    }
+
+    private byte[] encode(String data) {
+        return data == null ? null : data.getBytes(Charset.forName(this.config.charset));
+    }
+
+    /**
+     * Build queryString of the url
+     */
+    private String buildUrlWithQueryString(String url, Map<String, String> queryParas) {
+        if (queryParas == null || queryParas.isEmpty()) {
+            return url;
+        }
+
+        StringBuilder sb = new StringBuilder(url);
+        boolean isFirst;
+        if (url.indexOf('?') == -1) {
+            isFirst = true;
+            sb.append('?');
+        }
+        else {
+            isFirst = false;
+        }
+
+        for (Map.Entry<String, String> entry : queryParas.entrySet()) {
+            if (isFirst) {
+                isFirst = false;
+            } else {
+                sb.append('&');
+            }
+
+            String key = entry.getKey();
+            String value = entry.getValue();
+            if (StrKit.notBlank(value)) {
+                try {value = URLEncoder.encode(value, this.config.charset);} catch (UnsupportedEncodingException e) {throw new RuntimeException(e);}
+            }
+            sb.append(key).append('=').append(value);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 经代理的响应体，统计读入的字节数，读完或关闭时结束请求的记录
+     */
+    private static final class RecordingInputStream extends FilterInputStream {
+
+        private final HttpCallRecorder recorder;
+
+        RecordingInputStream(InputStream in, HttpCallRecorder recorder) {
+            super(in);
+            this.recorder = recorder;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            int n = this.read(one, 0, 1);
+            return n == -1 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n;
+            try {
+                n = this.in.read(b, off, len);
+            } catch (IOException e) {
+                this.recorder.end(e);
+                throw e;
+            }
+            if (n == -1) {
+                this.recorder.end(null);
+            } else {
+                this.recorder.bytesIn += n;
+            }
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                this.in.close();
+            } finally {
+                this.recorder.end(null);
+            }
+        }
+    }
+}
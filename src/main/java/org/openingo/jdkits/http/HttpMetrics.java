@@ -0,0 +1,466 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.openingo.jdkits.http;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * HttpMetrics
+ * <p>HttpMetricsListener的默认实现，按route汇总耗时直方图、流量、状态码及连接池统计<p/>
+ * <p>只使用原子计数，不加锁，可随时读取或通过scrape()输出Prometheus文本格式<p/>
+ *
+ * @author Qicz
+ */
+public final class HttpMetrics implements HttpMetricsListener {
+
+    private final ConcurrentMap<String, HostMetrics> hosts = new ConcurrentHashMap<>();
+
+    /**
+     * 某个route的统计，没有请求过时返回null
+     *
+     * @param route scheme://host:port
+     */
+    public HostMetrics host(String route) {
+        return this.hosts.get(route);
+    }
+
+    /**
+     * 所有route的统计
+     */
+    public Map<String, HostMetrics> hosts() {
+        return Collections.unmodifiableMap(this.hosts);
+    }
+
+    /**
+     * 清零所有计数及耗时直方图，当前打开及空闲连接数不变
+     * <p>与并发进行的记录不互斥，清零期间结束的请求可能只被部分清零<p/>
+     */
+    public void reset() {
+        for (HostMetrics metrics : this.hosts.values()) {
+            metrics.reset();
+        }
+    }
+
+    private HostMetrics hostMetrics(String route) {
+        HostMetrics metrics = this.hosts.get(route);
+        return metrics != null ? metrics : this.hosts.computeIfAbsent(route, k -> new HostMetrics());
+    }
+
+    @Override
+    public void callEnd(HttpCallMetrics metrics) {
+        this.hostMetrics(metrics.getRoute()).record(metrics);
+    }
+
+    @Override
+    public void connectionOpened(String route) {
+        HostMetrics metrics = this.hostMetrics(route);
+        metrics.connectionsOpened.increment();
+        metrics.openConnections.increment();
+    }
+
+    @Override
+    public void connectionClosed(String route) {
+        HostMetrics metrics = this.hostMetrics(route);
+        metrics.connectionsClosed.increment();
+        metrics.openConnections.decrement();
+    }
+
+    @Override
+    public void connectionPooled(String route) {
+        this.hostMetrics(route).idleConnections.increment();
+    }
+
+    @Override
+    public void connectionUnpooled(String route) {
+        this.hostMetrics(route).idleConnections.decrement();
+    }
+
+    /**
+     * 以Prometheus文本格式输出所有route的统计，耗时单位为秒
+     */
+    public String scrape() {
+        Map<String, HostMetrics> hosts = new TreeMap<>(this.hosts);
+        StringBuilder text = new StringBuilder(4096);
+
+        text.append("# TYPE jdkits_http_requests_total counter\n");
+        hosts.forEach((route, metrics) -> metrics.getStatusCounts().forEach((status, count) ->
+                sample(text, "jdkits_http_requests_total", route, "status", String.valueOf(status), count)));
+        counter(text, hosts, "jdkits_http_failures_total", HostMetrics::getFailures);
+        counter(text, hosts, "jdkits_http_sent_bytes_total", HostMetrics::getBytesOut);
+        counter(text, hosts, "jdkits_http_received_bytes_total", HostMetrics::getBytesIn);
+        counter(text, hosts, "jdkits_http_connections_opened_total", HostMetrics::getConnectionsOpened);
+        counter(text, hosts, "jdkits_http_connections_closed_total", HostMetrics::getConnectionsClosed);
+        counter(text, hosts, "jdkits_http_connections_reused_total", HostMetrics::getReusedConnections);
+
+        text.append("# TYPE jdkits_http_connections gauge\n");
+        hosts.forEach((route, metrics) -> {
+            sample(text, "jdkits_http_connections", route, "state", "open", metrics.getOpenConnections());
+            sample(text, "jdkits_http_connections", route, "state", "idle", metrics.getIdleConnections());
+        });
+
+        text.append("# TYPE jdkits_http_latency_seconds histogram\n");
+        hosts.forEach((route, metrics) -> {
+            histogram(text, route, "dns", metrics.getDnsLatency());
+            histogram(text, route, "connect", metrics.getConnectLatency());
+            histogram(text, route, "tls", metrics.getTlsLatency());
+            histogram(text, route, "first_byte", metrics.getFirstByteLatency());
+            histogram(text, route, "total", metrics.getTotalLatency());
+        });
+        return text.toString();
+    }
+
+    private static void counter(StringBuilder text, Map<String, HostMetrics> hosts, String name, ToLongFunction<HostMetrics> counter) {
+        text.append("# TYPE ").append(name).append(" counter\n");
+        hosts.forEach((route, metrics) -> sample(text, name, route, null, null, counter.applyAsLong(metrics)));
+    }
+
+    private static void histogram(StringBuilder text, String route, String phase, Histogram histogram) {
+        long[] counts = histogram.getBucketCounts();
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            String le = i == counts.length - 1 ? "+Inf" : String.valueOf(Histogram.upperBoundNanos(i) / 1e9);
+            labels(text.append("jdkits_http_latency_seconds_bucket"), route, "phase", phase)
+                    .append(",le=\"").append(le).append("\"} ").append(cumulative).append('\n');
+        }
+        labels(text.append("jdkits_http_latency_seconds_sum"), route, "phase", phase)
+                .append("} ").append(histogram.getSumNanos() / 1e9).append('\n');
+        labels(text.append("jdkits_http_latency_seconds_count"), route, "phase", phase)
+                .append("} ").append(cumulative).append('\n');
+    }
+
+    private static void sample(StringBuilder text, String name, String route, String label, String value, long sample) {
+        labels(text.append(name), route, label, value).append("} ").append(sample).append('\n');
+    }
+
+    private static StringBuilder labels(StringBuilder text, String route, String label, String value) {
+        text.append("{route=\"");
+        for (int i = 0; i < route.length(); i++) {
+            char c = route.charAt(i);
+            if (c == '\\' || c == '"') {
+                text.append('\\').append(c);
+            } else if (c == '\n') {
+                text.append("\\n");
+            } else {
+                text.append(c);
+            }
+        }
+        text.append('"');
+        if (label != null) {
+            text.append(',').append(label).append("=\"").append(value).append('"');
+        }
+        return text;
+    }
+
+    /**
+     * 一个route的统计
+     */
+    public static final class HostMetrics {
+
+        private final Histogram dnsLatency = new Histogram();
+        private final Histogram connectLatency = new Histogram();
+        private final Histogram tlsLatency = new Histogram();
+        private final Histogram firstByteLatency = new Histogram();
+        private final Histogram totalLatency = new Histogram();
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder reusedConnections = new LongAdder();
+        private final LongAdder bytesOut = new LongAdder();
+        private final LongAdder bytesIn = new LongAdder();
+        /**
+         * 下标为状态码
+         */
+        private final AtomicLongArray statusCounts = new AtomicLongArray(600);
+        private final LongAdder connectionsOpened = new LongAdder();
+        private final LongAdder connectionsClosed = new LongAdder();
+        /**
+         * 当前打开的连接数，reset时不清零
+         */
+        private final LongAdder openConnections = new LongAdder();
+        private final LongAdder idleConnections = new LongAdder();
+
+        HostMetrics() {
+        }
+
+        void reset() {
+            this.calls.reset();
+            this.failures.reset();
+            this.reusedConnections.reset();
+            this.bytesOut.reset();
+            this.bytesIn.reset();
+            for (int status = 0; status < this.statusCounts.length(); status++) {
+                this.statusCounts.set(status, 0L);
+            }
+            this.connectionsOpened.reset();
+            this.connectionsClosed.reset();
+            this.dnsLatency.reset();
+            this.connectLatency.reset();
+            this.tlsLatency.reset();
+            this.firstByteLatency.reset();
+            this.totalLatency.reset();
+        }
+
+        void record(HttpCallMetrics metrics) {
+            this.calls.increment();
+            if (metrics.getFailure() != null) {
+                this.failures.increment();
+            }
+            int status = metrics.getStatus();
+            if (status >= 0 && status < this.statusCounts.length()) {
+                this.statusCounts.incrementAndGet(status);
+            }
+            if (metrics.isReusedConnection()) {
+                this.reusedConnections.increment();
+            }
+            this.bytesOut.add(metrics.getBytesOut());
+            this.bytesIn.add(metrics.getBytesIn());
+            this.dnsLatency.record(metrics.getDnsNanos());
+            this.connectLatency.record(metrics.getConnectNanos());
+            this.tlsLatency.record(metrics.getTlsNanos());
+            this.firstByteLatency.record(metrics.getFirstByteNanos());
+            this.totalLatency.record(metrics.getTotalNanos());
+        }
+
+        /**
+         * 请求数，含失败的请求
+         */
+        public long getCalls() {
+            return this.calls.sum();
+        }
+
+        /**
+         * 失败的请求数，不含4xx/5xx
+         */
+        public long getFailures() {
+            return this.failures.sum();
+        }
+
+        /**
+         * 复用空闲连接的请求数
+         */
+        public long getReusedConnections() {
+            return this.reusedConnections.sum();
+        }
+
+        public long getBytesOut() {
+            return this.bytesOut.sum();
+        }
+
+        public long getBytesIn() {
+            return this.bytesIn.sum();
+        }
+
+        /**
+         * 某个状态码的响应数
+         */
+        public long getStatusCount(int status) {
+            return (status >= 0 && status < this.statusCounts.length()) ? this.statusCounts.get(status) : 0L;
+        }
+
+        /**
+         * 状态码 -> 响应数，只含出现过的状态码
+         */
+        public Map<Integer, Long> getStatusCounts() {
+            Map<Integer, Long> counts = new TreeMap<>();
+            for (int status = 0; status < this.statusCounts.length(); status++) {
+                long count = this.statusCounts.get(status);
+                if (count > 0) {
+                    counts.put(status, count);
+                }
+            }
+            return counts;
+        }
+
+        public long getConnectionsOpened() {
+            return this.connectionsOpened.sum();
+        }
+
+        public long getConnectionsClosed() {
+            return this.connectionsClosed.sum();
+        }
+
+        /**
+         * 当前打开的连接数，含使用中及空闲的连接
+         */
+        public long getOpenConnections() {
+            return Math.max(0L, this.openConnections.sum());
+        }
+
+        /**
+         * 当前连接池中的空闲连接数
+         */
+        public long getIdleConnections() {
+            return Math.max(0L, this.idleConnections.sum());
+        }
+
+        public Histogram getDnsLatency() {
+            return this.dnsLatency;
+        }
+
+        public Histogram getConnectLatency() {
+            return this.connectLatency;
+        }
+
+        public Histogram getTlsLatency() {
+            return this.tlsLatency;
+        }
+
+        public Histogram getFirstByteLatency() {
+            return this.firstByteLatency;
+        }
+
+        public Histogram getTotalLatency() {
+            return this.totalLatency;
+        }
+    }
+
+    /**
+     * 耗时直方图，桶的上界从1024纳秒(约1微秒)起按2倍递增到2^36纳秒(约68.7秒)，最后一个桶不设上界
+     */
+    public static final class Histogram {
+
+        private static final int MIN_SHIFT = 10;
+        private static final int BOUNDED_BUCKETS = 27;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BOUNDED_BUCKETS + 1);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        Histogram() {
+        }
+
+        /**
+         * 记录一次耗时，小于0时忽略
+         */
+        void record(long nanos) {
+            if (nanos < 0) {
+                return;
+            }
+            this.buckets.incrementAndGet(bucket(nanos));
+            this.count.increment();
+            this.sum.add(nanos);
+            long max;
+            while (nanos > (max = this.max.get()) && !this.max.compareAndSet(max, nanos)) {
+                // retry
+            }
+        }
+
+        void reset() {
+            for (int i = 0; i < this.buckets.length(); i++) {
+                this.buckets.set(i, 0L);
+            }
+            this.count.reset();
+            this.sum.reset();
+            this.max.set(0L);
+        }
+
+        static int bucket(long nanos) {
+            if (nanos <= 1L << MIN_SHIFT) {
+                return 0;
+            }
+            int bits = 64 - Long.numberOfLeadingZeros(nanos - 1);
+            return Math.min(bits - MIN_SHIFT, BOUNDED_BUCKETS);
+        }
+
+        /**
+         * 第index个桶的上界(含)，最后一个桶为Long.MAX_VALUE
+         */
+        public static long upperBoundNanos(int index) {
+            return index >= BOUNDED_BUCKETS ? Long.MAX_VALUE : 1L << (MIN_SHIFT + index);
+        }
+
+        /**
+         * 各桶的计数
+         */
+        public long[] getBucketCounts() {
+            long[] counts = new long[this.buckets.length()];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = this.buckets.get(i);
+            }
+            return counts;
+        }
+
+        public long getCount() {
+            return this.count.sum();
+        }
+
+        public long getSumNanos() {
+            return this.sum.sum();
+        }
+
+        public long getMaxNanos() {
+            return this.max.get();
+        }
+
+        public long getMeanNanos() {
+            long count = this.count.sum();
+            return count == 0 ? 0L : this.sum.sum() / count;
+        }
+
+        /**
+         * 近似的分位数，返回所在桶的上界，不超过最大值
+         *
+         * @param quantile 0到1之间，如0.99
+         */
+        public long getQuantileNanos(double quantile) {
+            long[] counts = this.getBucketCounts();
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            if (total == 0) {
+                return 0L;
+            }
+            long rank = (long) Math.ceil(Math.min(1D, Math.max(0D, quantile)) * total);
+            long cumulative = 0;
+            for (int i = 0; i < counts.length; i++) {
+                cumulative += counts[i];
+                if (cumulative >= rank && counts[i] > 0) {
+                    return Math.min(upperBoundNanos(i), this.max.get());
+                }
+            }
+            return this.max.get();
+        }
+
+        @Override
+        public String toString() {
+            return "Histogram{count=" + this.getCount() + ", mean=" + this.getMeanNanos() + ", p50=" + this.getQuantileNanos(0.5D)
+                    + ", p99=" + this.getQuantileNanos(0.99D) + ", max=" + this.getMaxNanos() + "}";
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.openingo.jdkits.http;
+
+/**
+ * HttpMetricsListener
+ * <p>HttpKitClient的请求与连接事件，在请求或回收线程上同步回调，实现需线程安全、不应阻塞或抛出异常<p/>
+ * <p>route为scheme://host:port<p/>
+ *
+ * @author Qicz
+ */
+public interface HttpMetricsListener {
+
+    /**
+     * 一次请求结束，响应体读完、关闭或请求失败时回调，重定向的每一跳各回调一次
+     */
+    void callEnd(HttpCallMetrics metrics);
+
+    /**
+     * 新建连接
+     */
+    default void connectionOpened(String route) {
+    }
+
+    /**
+     * 连接关闭
+     */
+    default void connectionClosed(String route) {
+    }
+
+    /**
+     * 连接进入空闲池
+     */
+    default void connectionPooled(String route) {
+    }
+
+    /**
+     * 连接离开空闲池，被复用、过期回收或被挤出
+     */
+    default void connectionUnpooled(String route) {
+    }
+}
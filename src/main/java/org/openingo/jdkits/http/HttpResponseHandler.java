@@ -0,0 +1,184 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.openingo.jdkits.http;
+
+import org.openingo.jdkits.validate.AssertKit;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * HttpResponseHandler
+ * <p>流式处理响应体，状态码为4xx/5xx时不会被调用<p/>
+ *
+ * @author Qicz
+ */
+@FunctionalInterface
+public interface HttpResponseHandler<T> {
+
+    /**
+     * 处理响应
+     *
+     * @param status  状态码
+     * @param headers 响应header，名称不区分大小写
+     * @param body    响应体，由调用方关闭
+     * @return 处理结果
+     */
+    T handle(int status, Map<String, List<String>> headers, InputStream body) throws IOException;
+
+    /**
+     * 响应体原样读为byte[]
+     */
+    static HttpResponseHandler<byte[]> ofBytes() {
+        return (status, headers, body) -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+            toOutputStream(out).handle(status, headers, body);
+            return out.toByteArray();
+        };
+    }
+
+    /**
+     * 响应体按charset解码，保留原有的换行
+     */
+    static HttpResponseHandler<String> ofString(Charset charset) {
+        AssertKit.notNull(charset, "charset cannot be null.");
+        return (status, headers, body) -> {
+            Reader reader = new InputStreamReader(body, charset);
+            StringBuilder ret = new StringBuilder(8192);
+            char[] buffer = new char[4096];
+            int n;
+            while ((n = reader.read(buffer)) != -1) {
+                ret.append(buffer, 0, n);
+            }
+            return ret.toString();
+        };
+    }
+
+    /**
+     * 响应体按charset解码后逐行读取，以\n连接，与旧版HttpKit的get/post一致：
+     * 换行统一为\n（\r\n与单独的\r也作为换行），末尾的换行被去掉；需要原样的文本时使用ofString
+     */
+    static HttpResponseHandler<String> ofLines(Charset charset) {
+        AssertKit.notNull(charset, "charset cannot be null.");
+        return (status, headers, body) -> {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(body, charset));
+            String line = reader.readLine();
+            if (line == null) {
+                return "";
+            }
+            StringBuilder ret = new StringBuilder(8192);
+            ret.append(line);
+            while ((line = reader.readLine()) != null) {
+                ret.append('\n').append(line);
+            }
+            return ret.toString();
+        };
+    }
+
+    /**
+     * 响应体写入out，out不会被关闭
+     *
+     * @return 写入的字节数
+     */
+    static HttpResponseHandler<Long> toOutputStream(OutputStream out) {
+        AssertKit.notNull(out, "out cannot be null.");
+        return (status, headers, body) -> {
+            byte[] buffer = new byte[8192];
+            long count = 0;
+            int n;
+            while ((n = body.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                count += n;
+            }
+            out.flush();
+            return count;
+        };
+    }
+
+    /**
+     * 响应体通过FileChannel写入文件，默认创建或覆盖
+     *
+     * @return 写入的字节数
+     */
+    static HttpResponseHandler<Long> toFile(Path file, OpenOption... options) {
+        AssertKit.notNull(file, "file cannot be null.");
+        OpenOption[] openOptions = (options == null || options.length == 0)
+                ? new OpenOption[]{StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING}
+                : options;
+        return (status, headers, body) -> {
+            try (FileChannel channel = FileChannel.open(file, openOptions)) {
+                ReadableByteChannel source = Channels.newChannel(body);
+                long position = channel.position();
+                long start = position;
+                long n;
+                while ((n = channel.transferFrom(source, position, 1 << 20)) > 0) {
+                    position += n;
+                }
+                return position - start;
+            }
+        };
+    }
+
+    /**
+     * 响应体按块交给consumer，ByteBuffer为只读，底层数组会被复用，只在回调内有效
+     *
+     * @return 读取的字节数
+     */
+    static HttpResponseHandler<Long> toConsumer(Consumer<ByteBuffer> consumer) {
+        AssertKit.notNull(consumer, "consumer cannot be null.");
+        return (status, headers, body) -> {
+            byte[] buffer = new byte[8192];
+            long count = 0;
+            int n;
+            while ((n = body.read(buffer)) != -1) {
+                if (n > 0) {
+                    consumer.accept(ByteBuffer.wrap(buffer, 0, n).asReadOnlyBuffer());
+                    count += n;
+                }
+            }
+            return count;
+        };
+    }
+}
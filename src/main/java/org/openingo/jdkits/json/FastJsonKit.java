@@ -29,13 +29,29 @@ package org.openingo.jdkits.json;
 
 import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONReader;
+import com.alibaba.fastjson.JSONWriter;
+import com.alibaba.fastjson.TypeReference;
+import com.alibaba.fastjson.parser.JSONToken;
+import com.alibaba.fastjson.serializer.SerializeConfig;
+import com.alibaba.fastjson.serializer.SerializeFilter;
 import com.alibaba.fastjson.serializer.SerializerFeature;
 import org.openingo.jdkits.collection.ListKit;
 import org.openingo.jdkits.validate.ValidateKit;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * FastJson工具 FastJsonKit
@@ -44,6 +60,8 @@ import java.util.Map;
  */
 public final class FastJsonKit {
 
+    private static final SerializeFilter[] NO_FILTERS = new SerializeFilter[0];
+
     private FastJsonKit(){}
 
     /**
@@ -62,6 +80,44 @@ public final class FastJsonKit {
         return JSON.toJSONStringWithDateFormat(obj, datePattern, SerializerFeature.WriteDateUseDateFormat, SerializerFeature.DisableCircularReferenceDetect);
     }
 
+    /**
+     * 转化为UTF-8编码的Json
+     * @param obj
+     */
+    public static byte[] toJsonBytes(Object obj) {
+        return JSON.toJSONBytes(obj, SerializerFeature.DisableCircularReferenceDetect);
+    }
+
+    /**
+     * 转化为UTF-8编码的Json
+     * @param obj
+     * @param datePattern
+     */
+    public static byte[] toJsonBytes(Object obj, String datePattern) {
+        return JSON.toJSONBytes(StandardCharsets.UTF_8, obj, SerializeConfig.globalInstance, NO_FILTERS, datePattern,
+                JSON.DEFAULT_GENERATE_FEATURE, SerializerFeature.WriteDateUseDateFormat, SerializerFeature.DisableCircularReferenceDetect);
+    }
+
+    /**
+     * 以UTF-8编码写入outputStream，不关闭outputStream
+     * @param obj
+     * @param outputStream
+     */
+    public static void writeJson(Object obj, OutputStream outputStream) throws IOException {
+        JSON.writeJSONString(outputStream, obj, SerializerFeature.DisableCircularReferenceDetect);
+    }
+
+    /**
+     * 以UTF-8编码写入outputStream，不关闭outputStream
+     * @param obj
+     * @param outputStream
+     * @param datePattern
+     */
+    public static void writeJson(Object obj, OutputStream outputStream, String datePattern) throws IOException {
+        JSON.writeJSONString(outputStream, StandardCharsets.UTF_8, obj, SerializeConfig.globalInstance, NO_FILTERS, datePattern,
+                JSON.DEFAULT_GENERATE_FEATURE, SerializerFeature.WriteDateUseDateFormat, SerializerFeature.DisableCircularReferenceDetect);
+    }
+
     /**
      * 转化为Obj
      * @param json
@@ -72,6 +128,36 @@ public final class FastJsonKit {
         return JSON.parseObject(json, clazz);
     }
 
+    /**
+     * UTF-8编码的json转化为Obj
+     * @param json
+     * @param clazz
+     * @param <T>
+     */
+    public static <T> T toObj(byte[] json, Class<T> clazz) {
+        return parse(json, clazz);
+    }
+
+    /**
+     * UTF-8编码的json转化为Obj
+     * @param json
+     * @param clazz
+     * @param <T>
+     */
+    public static <T> T toObj(InputStream json, Class<T> clazz) throws IOException {
+        return parse(json, clazz);
+    }
+
+    /**
+     * UTF-8编码的json转化为Obj，读取json的position到limit之间的内容，不改变json的position
+     * @param json
+     * @param clazz
+     * @param <T>
+     */
+    public static <T> T toObj(ByteBuffer json, Class<T> clazz) {
+        return parse(json, clazz);
+    }
+
     /**
      * 转化为Map
      * @param json
@@ -84,6 +170,35 @@ public final class FastJsonKit {
         return aMap;
     }
 
+    /**
+     * UTF-8编码的json转化为Map
+     * @param json
+     */
+    public static <K, V> Map<K, V> toMap(byte[] json) {
+        return emptyMapIfNull(toObj(json, Map.class));
+    }
+
+    /**
+     * UTF-8编码的json转化为Map
+     * @param json
+     */
+    public static <K, V> Map<K, V> toMap(InputStream json) throws IOException {
+        return emptyMapIfNull(toObj(json, Map.class));
+    }
+
+    /**
+     * UTF-8编码的json转化为Map，不改变json的position
+     * @param json
+     */
+    public static <K, V> Map<K, V> toMap(ByteBuffer json) {
+        return emptyMapIfNull(toObj(json, Map.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Map<K, V> emptyMapIfNull(Map<?, ?> aMap) {
+        return ValidateKit.isNull(aMap) ? new HashMap<>() : (Map<K, V>) aMap;
+    }
+
     /**
      * 转化为Map
      * @param obj
@@ -111,6 +226,168 @@ public final class FastJsonKit {
         return ListKit.emptyArrayListIfNull(JSONArray.parseArray(json, clazz));
     }
 
+    /**
+     * UTF-8编码的json转化为List
+     * @param json
+     * @param clazz
+     * @param <T>
+     */
+    public static <T> List<T> toList(byte[] json, Class<T> clazz) {
+        return ListKit.emptyArrayListIfNull(parse(json, listType(clazz)));
+    }
+
+    /**
+     * UTF-8编码的json转化为List
+     * @param json
+     * @param clazz
+     * @param <T>
+     */
+    public static <T> List<T> toList(InputStream json, Class<T> clazz) throws IOException {
+        return ListKit.emptyArrayListIfNull(parse(json, listType(clazz)));
+    }
+
+    /**
+     * UTF-8编码的json转化为List，不改变json的position
+     * @param json
+     * @param clazz
+     * @param <T>
+     */
+    public static <T> List<T> toList(ByteBuffer json, Class<T> clazz) {
+        return ListKit.emptyArrayListIfNull(parse(json, listType(clazz)));
+    }
+
+    private static <T> Type listType(Class<T> clazz) {
+        return new TypeReference<List<T>>(clazz) {}.getType();
+    }
+
+    private static <T> T parse(byte[] json, Type type) {
+        if (null == json || 0 == json.length) {
+            return null;
+        }
+        return JSON.parseObject(json, type);
+    }
+
+    private static <T> T parse(InputStream json, Type type) throws IOException {
+        if (null == json) {
+            return null;
+        }
+        return JSON.parseObject(json, type);
+    }
+
+    private static <T> T parse(ByteBuffer json, Type type) {
+        if (null == json || !json.hasRemaining()) {
+            return null;
+        }
+        if (json.hasArray()) {
+            return JSON.parseObject(json.array(), json.arrayOffset() + json.position(), json.remaining(), StandardCharsets.UTF_8, type);
+        }
+        byte[] bytes = new byte[json.remaining()];
+        json.duplicate().get(bytes);
+        return JSON.parseObject(bytes, type);
+    }
+
+    /**
+     * 逐个读取UTF-8编码的json中顶层数组的元素，读到数组末尾或close时关闭json输入流
+     * @param json 内容为空或null时没有元素
+     * @param clazz
+     * @param <T>
+     */
+    public static <T> JsonArrayReader<T> readArray(InputStream json, Class<T> clazz) {
+        InputStreamReader inputStreamReader = new InputStreamReader(json, StandardCharsets.UTF_8);
+        final JSONReader reader;
+        final boolean empty;
+        try {
+            reader = new JSONReader(inputStreamReader);
+        } catch (RuntimeException e) {
+            try {
+                inputStreamReader.close();
+            } catch (IOException ignored) {
+                // ignore
+            }
+            throw e;
+        }
+        try {
+            int token = reader.peek();
+            empty = JSONToken.NULL == token || JSONToken.EOF == token;
+            if (JSONToken.NULL == token) {
+                // 消费掉顶层的null，与JacksonKit一致按空数组处理
+                reader.readObject();
+            } else if (!empty) {
+                reader.startArray();
+            }
+        } catch (RuntimeException e) {
+            try {
+                reader.close();
+            } catch (RuntimeException ignored) {
+                // 保留原始异常
+            }
+            throw e;
+        }
+        return new JsonArrayReader<>(new JsonArrayReader.Source<T>() {
+            @Override
+            public boolean nextElement() {
+                if (empty) {
+                    return false;
+                }
+                if (reader.hasNext()) {
+                    return true;
+                }
+                reader.endArray();
+                return false;
+            }
+
+            @Override
+            public T readElement() {
+                return reader.readObject(clazz);
+            }
+
+            @Override
+            public void close() {
+                reader.close();
+            }
+        });
+    }
+
+    /**
+     * 逐个读取UTF-8编码的json中顶层数组的元素，Stream关闭或读到数组末尾时关闭json输入流
+     * @param json
+     * @param clazz
+     * @param <T>
+     */
+    public static <T> Stream<T> streamArray(InputStream json, Class<T> clazz) {
+        return readArray(json, clazz).stream();
+    }
+
+    /**
+     * 以UTF-8编码逐个写出顶层数组的元素，close时结束数组，不关闭outputStream
+     * @param outputStream
+     */
+    public static JsonArrayWriter writeArray(OutputStream outputStream) {
+        Writer out = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        JSONWriter writer = new JSONWriter(out);
+        writer.config(SerializerFeature.DisableCircularReferenceDetect, true);
+        writer.startArray();
+        return new JsonArrayWriter(new JsonArrayWriter.Sink() {
+            @Override
+            public void writeElement(Object element) {
+                writer.writeValue(element);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                writer.flush();
+                out.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                writer.endArray();
+                writer.flush();
+                out.flush();
+            }
+        });
+    }
+
     /**
      * 转化为2D List
      * @param json
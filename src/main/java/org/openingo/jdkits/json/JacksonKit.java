@@ -28,19 +28,34 @@
 package org.openingo.jdkits.json;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.PropertyNamingStrategy;
-import com.fasterxml.jackson.databind.type.MapType;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import org.openingo.java.lang.ThreadLocalX;
 import org.openingo.jdkits.collection.ListKit;
 import org.openingo.jdkits.lang.StrKit;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Jackson工具 JacksonKit
@@ -53,68 +68,463 @@ public final class JacksonKit {
         public JsonInclude.Include include;
         public String datePattern;
         public PropertyNamingStrategy propertyNamingStrategy;
+
+        public JacksonConfig() {
+        }
+
+        public JacksonConfig(JsonInclude.Include include, String datePattern, PropertyNamingStrategy propertyNamingStrategy) {
+            this.include = include;
+            this.datePattern = datePattern;
+            this.propertyNamingStrategy = propertyNamingStrategy;
+        }
+    }
+
+    /**
+     * JacksonConfig的不可变快照，作为缓存的key
+     * <p>PropertyNamingStrategy按实例比较：内置的SNAKE_CASE等单例按引用相同，自定义策略按其equals；
+     * 不同实例可能有不同的状态，不能按类型共享ObjectMapper<p/>
+     */
+    private static final class ConfigKey {
+        private final JsonInclude.Include include;
+        private final String datePattern;
+        private final PropertyNamingStrategy propertyNamingStrategy;
+
+        private ConfigKey(JsonInclude.Include include, String datePattern, PropertyNamingStrategy propertyNamingStrategy) {
+            this.include = include;
+            this.datePattern = StrKit.isBlank(datePattern) ? null : datePattern;
+            this.propertyNamingStrategy = propertyNamingStrategy;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ConfigKey)) {
+                return false;
+            }
+            ConfigKey that = (ConfigKey) o;
+            return this.include == that.include
+                    && Objects.equals(this.datePattern, that.datePattern)
+                    && Objects.equals(this.propertyNamingStrategy, that.propertyNamingStrategy);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.include, this.datePattern, this.propertyNamingStrategy);
+        }
+    }
+
+    /**
+     * 按配置预先构建的ObjectMapper/ObjectWriter/ObjectReader，构建后不再修改，可在线程间共享
+     */
+    private static final class ConfiguredMapper {
+        private final ObjectMapper objectMapper;
+        private final ObjectWriter objectWriter;
+        private final ObjectReader objectReader;
+        // 读写流时不关闭调用方的流
+        private final ObjectWriter streamWriter;
+        private final ObjectReader streamReader;
+        // 逐个写出数组元素时不在每个元素后flush
+        private final ObjectWriter elementWriter;
+
+        private ConfiguredMapper(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+            this.objectWriter = objectMapper.writer();
+            this.objectReader = objectMapper.reader();
+            this.streamWriter = this.objectWriter.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.streamReader = this.objectReader.without(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            this.elementWriter = this.objectWriter.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+
+        private <T> T read(JavaType javaType, byte[] json) throws IOException {
+            return this.objectReader.forType(javaType).readValue(json);
+        }
+
+        private <T> T read(JavaType javaType, InputStream json) throws IOException {
+            return this.streamReader.forType(javaType).readValue(json);
+        }
+
+        private <T> T read(JavaType javaType, ByteBuffer json) throws IOException {
+            if (json.hasArray()) {
+                return this.objectReader.forType(javaType).readValue(json.array(), json.arrayOffset() + json.position(), json.remaining());
+            }
+            return this.streamReader.forType(javaType).readValue(new ByteBufferBackedInputStream(json.duplicate()));
+        }
     }
 
     private static final ThreadLocalX<JacksonConfig> JACKSON_CONFIG_HOLDER = new ThreadLocalX<>();
 
+    private static final ConfigKey DEFAULT_CONFIG_KEY = new ConfigKey(null, null, null);
+
+    private static final ConfiguredMapper DEFAULT_MAPPER = new ConfiguredMapper(newObjectMapper());
+
+    /**
+     * 最多缓存的配置数，超出后的配置每次调用都构建新的ObjectMapper，避免每次new的自定义策略撑大缓存
+     */
+    private static final int MAX_CONFIGURED_MAPPERS = 64;
+
+    private static final Map<ConfigKey, ConfiguredMapper> CONFIGURED_MAPPERS = new ConcurrentHashMap<>();
+
+    static {
+        CONFIGURED_MAPPERS.put(DEFAULT_CONFIG_KEY, DEFAULT_MAPPER);
+    }
+
+    /**
+     * 预先解析的类型，可在线程间共享并重复使用
+     */
+    public static final class TypeRef<T> {
+        private final JavaType javaType;
+        private final ObjectReader reader;
+
+        private TypeRef(JavaType javaType) {
+            this.javaType = javaType;
+            this.reader = DEFAULT_MAPPER.objectReader.forType(javaType);
+        }
+
+        public JavaType getJavaType() {
+            return this.javaType;
+        }
+
+        /**
+         * 默认配置下该类型的ObjectReader
+         */
+        public ObjectReader reader() {
+            return this.reader;
+        }
+
+        /**
+         * 使用默认配置读取，不受setConfig影响
+         */
+        public T read(String json) throws JsonProcessingException {
+            return StrKit.isBlank(json) ? null : this.reader.readValue(json);
+        }
+
+        /**
+         * 使用默认配置读取UTF-8编码的json，不受setConfig影响
+         */
+        public T read(byte[] json) throws IOException {
+            return null == json || 0 == json.length ? null : this.reader.readValue(json);
+        }
+
+        /**
+         * 使用默认配置读取UTF-8编码的json，不受setConfig影响，不关闭json输入流
+         */
+        public T read(InputStream json) throws IOException {
+            return null == json ? null : DEFAULT_MAPPER.streamReader.forType(this.javaType).readValue(json);
+        }
+    }
+
+    /**
+     * (容器类型, key类型, 值类型)，非Map类型的key类型为null；值类型为嵌套容器时是其TypeKey
+     */
+    private static final class TypeKey {
+        private final Class<?> containerClass;
+        private final Class<?> keyClass;
+        private final Object valueType;
+
+        private TypeKey(Class<?> containerClass, Class<?> keyClass, Object valueType) {
+            this.containerClass = containerClass;
+            this.keyClass = keyClass;
+            this.valueType = valueType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TypeKey)) {
+                return false;
+            }
+            TypeKey that = (TypeKey) o;
+            return this.containerClass == that.containerClass
+                    && this.keyClass == that.keyClass
+                    && Objects.equals(this.valueType, that.valueType);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.containerClass, this.keyClass, this.valueType);
+        }
+    }
+
+    private static final Map<TypeKey, TypeRef<?>> TYPE_REF_CACHE = new ConcurrentHashMap<>();
+
     private JacksonKit(){}
 
-    private static final ThreadLocal<ObjectMapper> OBJECT_MAPPER_HOLDER = ThreadLocal.withInitial(() -> {
+    @SuppressWarnings("unchecked")
+    private static <T> TypeRef<T> typeRef(TypeKey typeKey, Function<TypeFactory, JavaType> resolver) {
+        TypeRef<?> typeRef = TYPE_REF_CACHE.get(typeKey);
+        if (null == typeRef) {
+            typeRef = TYPE_REF_CACHE.computeIfAbsent(typeKey, key -> new TypeRef<>(resolver.apply(DEFAULT_MAPPER.objectMapper.getTypeFactory())));
+        }
+        return (TypeRef<T>) typeRef;
+    }
+
+    /**
+     * clazz的TypeRef，相同参数返回同一实例
+     */
+    public static <T> TypeRef<T> typeRef(Class<T> clazz) {
+        return typeRef(new TypeKey(clazz, null, null), typeFactory -> typeFactory.constructType(clazz));
+    }
+
+    /**
+     * collectionClass&lt;elementClass&gt;的TypeRef，相同参数返回同一实例
+     */
+    @SuppressWarnings("rawtypes")
+    public static <T> TypeRef<List<T>> listTypeRef(Class<? extends List> collectionClass, Class<T> elementClass) {
+        return typeRef(new TypeKey(collectionClass, null, elementClass),
+                typeFactory -> typeFactory.constructCollectionType(collectionClass, elementClass));
+    }
+
+    /**
+     * ArrayList&lt;elementClass&gt;的TypeRef，相同参数返回同一实例
+     */
+    public static <T> TypeRef<List<T>> listTypeRef(Class<T> elementClass) {
+        return listTypeRef(ArrayList.class, elementClass);
+    }
+
+    /**
+     * mapClass&lt;keyClass, valueClass&gt;的TypeRef，相同参数返回同一实例
+     */
+    @SuppressWarnings("rawtypes")
+    public static <K, V, M extends Map<K, V>> TypeRef<M> mapTypeRef(Class<? extends Map> mapClass, Class<K> keyClass, Class<V> valueClass) {
+        return typeRef(new TypeKey(mapClass, keyClass, valueClass),
+                typeFactory -> typeFactory.constructMapType(mapClass, keyClass, valueClass));
+    }
+
+    /**
+     * ArrayList&lt;mapClass&lt;keyClass, valueClass&gt;&gt;的TypeRef，相同参数返回同一实例
+     */
+    @SuppressWarnings("rawtypes")
+    public static <K, V, M extends Map<K, V>> TypeRef<List<M>> mapListTypeRef(Class<? extends Map> mapClass, Class<K> keyClass, Class<V> valueClass) {
+        JavaType mapType = mapTypeRef(mapClass, keyClass, valueClass).getJavaType();
+        return typeRef(new TypeKey(ArrayList.class, null, new TypeKey(mapClass, keyClass, valueClass)),
+                typeFactory -> typeFactory.constructCollectionType(ArrayList.class, mapType));
+    }
+
+    private static ObjectMapper newObjectMapper() {
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         objectMapper.configure(JsonParser.Feature.ALLOW_UNQUOTED_CONTROL_CHARS, true);
         objectMapper.configure(JsonParser.Feature.ALLOW_BACKSLASH_ESCAPING_ANY_CHARACTER, true);
         return objectMapper;
-    });
-
-    private static ObjectMapper getObjectMapper() {
-        ObjectMapper objectMapper = OBJECT_MAPPER_HOLDER.get();
-        JacksonConfig jacksonConfig = JACKSON_CONFIG_HOLDER.getRemove();
-        if (null != jacksonConfig) {
-            if (Objects.nonNull(jacksonConfig.include)) {
-                objectMapper.setSerializationInclusion(jacksonConfig.include);
-            }
-            if (Objects.nonNull(jacksonConfig.datePattern)) {
-                objectMapper.setDateFormat(new SimpleDateFormat(jacksonConfig.datePattern));
-            }
-            if (Objects.nonNull(jacksonConfig.propertyNamingStrategy)) {
-                objectMapper.setPropertyNamingStrategy(jacksonConfig.propertyNamingStrategy);
+    }
+
+    private static ConfiguredMapper configuredMapper(JacksonConfig jacksonConfig) {
+        if (null == jacksonConfig) {
+            return DEFAULT_MAPPER;
+        }
+        return configuredMapper(jacksonConfig.include, jacksonConfig.datePattern, jacksonConfig.propertyNamingStrategy);
+    }
+
+    private static ConfiguredMapper configuredMapper(JsonInclude.Include include,
+                                                     String datePattern,
+                                                     PropertyNamingStrategy propertyNamingStrategy) {
+        ConfigKey configKey = new ConfigKey(include, datePattern, propertyNamingStrategy);
+        ConfiguredMapper configuredMapper = CONFIGURED_MAPPERS.get(configKey);
+        if (null == configuredMapper) {
+            configuredMapper = newConfiguredMapper(configKey);
+            if (CONFIGURED_MAPPERS.size() < MAX_CONFIGURED_MAPPERS) {
+                ConfiguredMapper existing = CONFIGURED_MAPPERS.putIfAbsent(configKey, configuredMapper);
+                if (null != existing) {
+                    configuredMapper = existing;
+                }
             }
         }
-        return objectMapper;
+        return configuredMapper;
     }
 
-    public static void setConfig(JacksonConfig jacksonConfig) {
-        JACKSON_CONFIG_HOLDER.set(jacksonConfig);
+    private static ConfiguredMapper newConfiguredMapper(ConfigKey key) {
+        ObjectMapper objectMapper = newObjectMapper();
+        if (Objects.nonNull(key.include)) {
+            objectMapper.setSerializationInclusion(key.include);
+        }
+        if (Objects.nonNull(key.datePattern)) {
+            objectMapper.setDateFormat(new SimpleDateFormat(key.datePattern));
+        }
+        if (Objects.nonNull(key.propertyNamingStrategy)) {
+            objectMapper.setPropertyNamingStrategy(key.propertyNamingStrategy);
+        }
+        return new ConfiguredMapper(objectMapper);
+    }
+
+    /**
+     * 获取ObjectMapper，使用setConfig设置的配置（仅对下一次调用有效），未设置时使用默认配置，返回的ObjectMapper不可修改配置
+     */
+    static ObjectMapper getObjectMapper() {
+        return configuredMapper().objectMapper;
+    }
+
+    private static ConfiguredMapper configuredMapper() {
+        return configuredMapper(JACKSON_CONFIG_HOLDER.getRemove());
     }
 
-    private static void setConfig(JsonInclude.Include include,
-                                  String datePattern) {
-        JacksonConfig jacksonConfig = new JacksonConfig();
-        jacksonConfig.include = include;
-        jacksonConfig.datePattern = datePattern;
-        setConfig(jacksonConfig);
+    /**
+     * 获取按jacksonConfig构建的ObjectMapper的副本，可自行修改配置；每次调用都会复制，只读写时使用getObjectWriter/getObjectReader
+     */
+    public static ObjectMapper getObjectMapper(JacksonConfig jacksonConfig) {
+        return configuredMapper(jacksonConfig).objectMapper.copy();
+    }
+
+    /**
+     * 包内共享的ObjectMapper，相同配置共享同一实例，不可修改其配置
+     */
+    static ObjectMapper sharedObjectMapper(JacksonConfig jacksonConfig) {
+        return configuredMapper(jacksonConfig).objectMapper;
+    }
+
+    /**
+     * 获取按jacksonConfig构建的ObjectWriter，相同配置共享同一实例
+     */
+    public static ObjectWriter getObjectWriter(JacksonConfig jacksonConfig) {
+        return configuredMapper(jacksonConfig).objectWriter;
+    }
+
+    /**
+     * 获取按jacksonConfig构建的ObjectReader，相同配置共享同一实例
+     */
+    public static ObjectReader getObjectReader(JacksonConfig jacksonConfig) {
+        return configuredMapper(jacksonConfig).objectReader;
+    }
+
+    /**
+     * 设置下一次调用使用的配置
+     */
+    public static void setConfig(JacksonConfig jacksonConfig) {
+        JACKSON_CONFIG_HOLDER.set(jacksonConfig);
     }
 
     public static String toJson(Object object, JacksonConfig jacksonConfig) throws JsonProcessingException {
-        setConfig(jacksonConfig);
-        ObjectMapper objectMapper = getObjectMapper();
-        return objectMapper.writeValueAsString(object);
+        // 指定配置时丢弃setConfig设置的配置，避免其作用到下一次无关的调用
+        JACKSON_CONFIG_HOLDER.remove();
+        return configuredMapper(jacksonConfig).objectWriter.writeValueAsString(object);
     }
 
     public static String toJson(Object object, JsonInclude.Include include) throws JsonProcessingException {
-        setConfig(include, null);
-        ObjectMapper objectMapper = getObjectMapper();
-        return objectMapper.writeValueAsString(object);
+        JACKSON_CONFIG_HOLDER.remove();
+        return configuredMapper(include, null, null).objectWriter.writeValueAsString(object);
     }
 
     public static String toJson(Object object, String datePattern, JsonInclude.Include include) throws JsonProcessingException {
-        if (StrKit.isBlank(datePattern)) {
-            return toJson(object, include);
+        JACKSON_CONFIG_HOLDER.remove();
+        return configuredMapper(include, datePattern, null).objectWriter.writeValueAsString(object);
+    }
+
+    /**
+     * 转化为UTF-8编码的Json，使用setConfig设置的配置
+     */
+    public static byte[] toJsonBytes(Object object) throws JsonProcessingException {
+        return configuredMapper().objectWriter.writeValueAsBytes(object);
+    }
+
+    /**
+     * 转化为UTF-8编码的Json
+     */
+    public static byte[] toJsonBytes(Object object, JacksonConfig jacksonConfig) throws JsonProcessingException {
+        JACKSON_CONFIG_HOLDER.remove();
+        return configuredMapper(jacksonConfig).objectWriter.writeValueAsBytes(object);
+    }
+
+    /**
+     * 以UTF-8编码写入outputStream，使用setConfig设置的配置，不关闭outputStream
+     */
+    public static void writeJson(Object object, OutputStream outputStream) throws IOException {
+        configuredMapper().streamWriter.writeValue(outputStream, object);
+    }
+
+    /**
+     * 以UTF-8编码写入outputStream，不关闭outputStream
+     */
+    public static void writeJson(Object object, OutputStream outputStream, JacksonConfig jacksonConfig) throws IOException {
+        JACKSON_CONFIG_HOLDER.remove();
+        configuredMapper(jacksonConfig).streamWriter.writeValue(outputStream, object);
+    }
+
+    /**
+     * 逐个读取json中顶层数组的元素，读到数组末尾或close时关闭json输入流
+     *
+     * @param json  UTF-8编码的json输入流，内容为null时没有元素
+     * @param clazz 元素类型
+     */
+    public static <T> JsonArrayReader<T> readArray(InputStream json, Class<T> clazz) throws IOException {
+        ConfiguredMapper configuredMapper = configuredMapper();
+        JsonParser parser = configuredMapper.objectMapper.getFactory().createParser(json);
+        JsonToken token;
+        try {
+            token = parser.nextToken();
+        } catch (IOException | RuntimeException e) {
+            parser.close();
+            throw e;
+        }
+        if (JsonToken.START_ARRAY != token && JsonToken.VALUE_NULL != token && null != token) {
+            parser.close();
+            throw new JsonParseException(parser, "the json is not an array");
         }
+        final boolean empty = JsonToken.START_ARRAY != token;
+        final ObjectReader reader = configuredMapper.objectReader.forType(clazz);
+        return new JsonArrayReader<>(new JsonArrayReader.Source<T>() {
+            @Override
+            public boolean nextElement() throws IOException {
+                return !empty && JsonToken.END_ARRAY != parser.nextToken();
+            }
 
-        setConfig(include, datePattern);
-        return getObjectMapper().writeValueAsString(object);
+            @Override
+            public T readElement() throws IOException {
+                return reader.readValue(parser);
+            }
+
+            @Override
+            public void close() throws IOException {
+                parser.close();
+            }
+        });
+    }
+
+    /**
+     * 逐个读取json中顶层数组的元素，Stream关闭或读到数组末尾时关闭json输入流
+     *
+     * @param json  UTF-8编码的json输入流
+     * @param clazz 元素类型
+     */
+    public static <T> Stream<T> streamArray(InputStream json, Class<T> clazz) throws IOException {
+        return readArray(json, clazz).stream();
+    }
+
+    /**
+     * 以UTF-8编码逐个写出顶层数组的元素，close时结束数组，不关闭outputStream
+     */
+    public static JsonArrayWriter writeArray(OutputStream outputStream) throws IOException {
+        return writeArray(outputStream, null);
+    }
+
+    /**
+     * 以UTF-8编码逐个写出顶层数组的元素，close时结束数组，不关闭outputStream
+     */
+    public static JsonArrayWriter writeArray(OutputStream outputStream, JacksonConfig jacksonConfig) throws IOException {
+        ConfiguredMapper configuredMapper = configuredMapper(jacksonConfig);
+        JsonGenerator generator = configuredMapper.objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.writeStartArray();
+        final ObjectWriter writer = configuredMapper.elementWriter;
+        return new JsonArrayWriter(new JsonArrayWriter.Sink() {
+            @Override
+            public void writeElement(Object element) throws IOException {
+                writer.writeValue(generator, element);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                generator.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                generator.writeEndArray();
+                generator.close();
+            }
+        });
     }
 
     public static String toJson(Object object) throws JsonProcessingException {
@@ -132,13 +542,140 @@ public final class JacksonKit {
         return getObjectMapper().readValue(json, clazz);
     }
 
+    public static <T> T toObj(byte[] json, Class<T> clazz) throws IOException {
+        if (null == json || 0 == json.length) {
+            return null;
+        }
+        ConfiguredMapper configuredMapper = configuredMapper();
+        return configuredMapper.read(configuredMapper.objectMapper.constructType(clazz), json);
+    }
+
+    /**
+     * 不关闭json输入流
+     */
+    public static <T> T toObj(InputStream json, Class<T> clazz) throws IOException {
+        if (null == json) {
+            return null;
+        }
+        ConfiguredMapper configuredMapper = configuredMapper();
+        return configuredMapper.read(configuredMapper.objectMapper.constructType(clazz), json);
+    }
+
+    /**
+     * 读取json的position到limit之间的内容，不改变json的position
+     */
+    public static <T> T toObj(ByteBuffer json, Class<T> clazz) throws IOException {
+        if (null == json || !json.hasRemaining()) {
+            return null;
+        }
+        ConfiguredMapper configuredMapper = configuredMapper();
+        return configuredMapper.read(configuredMapper.objectMapper.constructType(clazz), json);
+    }
+
+    @SuppressWarnings("rawtypes")
+    public static <T> List<T> toList(byte[] json, Class<? extends List> collectionClass, Class<T> elementClass) throws IOException {
+        if (null == json || 0 == json.length) {
+            return ListKit.emptyArrayList();
+        }
+        ConfiguredMapper configuredMapper = configuredMapper();
+        return configuredMapper.read(listType(collectionClass, elementClass), json);
+    }
+
+    public static <T> List<T> toList(byte[] json, Class<T> elementClass) throws IOException {
+        return toList(json, ArrayList.class, elementClass);
+    }
+
+    /**
+     * 不关闭json输入流
+     */
+    @SuppressWarnings("rawtypes")
+    public static <T> List<T> toList(InputStream json, Class<? extends List> collectionClass, Class<T> elementClass) throws IOException {
+        if (null == json) {
+            return ListKit.emptyArrayList();
+        }
+        ConfiguredMapper configuredMapper = configuredMapper();
+        return configuredMapper.read(listType(collectionClass, elementClass), json);
+    }
+
+    /**
+     * 不关闭json输入流
+     */
+    public static <T> List<T> toList(InputStream json, Class<T> elementClass) throws IOException {
+        return toList(json, ArrayList.class, elementClass);
+    }
+
+    /**
+     * 读取json的position到limit之间的内容，不改变json的position
+     */
+    @SuppressWarnings("rawtypes")
+    public static <T> List<T> toList(ByteBuffer json, Class<? extends List> collectionClass, Class<T> elementClass) throws IOException {
+        if (null == json || !json.hasRemaining()) {
+            return ListKit.emptyArrayList();
+        }
+        ConfiguredMapper configuredMapper = configuredMapper();
+        return configuredMapper.read(listType(collectionClass, elementClass), json);
+    }
+
+    /**
+     * 读取json的position到limit之间的内容，不改变json的position
+     */
+    public static <T> List<T> toList(ByteBuffer json, Class<T> elementClass) throws IOException {
+        return toList(json, ArrayList.class, elementClass);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static JavaType listType(Class<? extends List> collectionClass, Class<?> elementClass) {
+        return listTypeRef(collectionClass, elementClass).getJavaType();
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static JavaType mapType(Class<? extends Map> mapClass, Class<?> keyClass, Class<?> valueClass) {
+        return mapTypeRef(mapClass, keyClass, valueClass).getJavaType();
+    }
+
+    /**
+     * 按typeRef读取，使用setConfig设置的配置
+     */
+    public static <T> T toObj(String json, TypeRef<T> typeRef) throws JsonProcessingException {
+        if (StrKit.isBlank(json)) {
+            return null;
+        }
+        ConfiguredMapper configuredMapper = configuredMapper();
+        if (DEFAULT_MAPPER == configuredMapper) {
+            return typeRef.reader.readValue(json);
+        }
+        return configuredMapper.objectReader.forType(typeRef.javaType).readValue(json);
+    }
+
+    /**
+     * 按typeRef读取UTF-8编码的json，使用setConfig设置的配置
+     */
+    public static <T> T toObj(byte[] json, TypeRef<T> typeRef) throws IOException {
+        if (null == json || 0 == json.length) {
+            return null;
+        }
+        ConfiguredMapper configuredMapper = configuredMapper();
+        if (DEFAULT_MAPPER == configuredMapper) {
+            return typeRef.reader.readValue(json);
+        }
+        return configuredMapper.read(typeRef.javaType, json);
+    }
+
+    /**
+     * 按typeRef读取UTF-8编码的json，使用setConfig设置的配置，不关闭json输入流
+     */
+    public static <T> T toObj(InputStream json, TypeRef<T> typeRef) throws IOException {
+        if (null == json) {
+            return null;
+        }
+        return configuredMapper().read(typeRef.javaType, json);
+    }
+
     public static <T> List<T> toList(String json, Class<? extends List> collectionClass, Class<T> elementClass) throws JsonProcessingException {
         if (StrKit.isBlank(json)) {
             return ListKit.emptyArrayList();
         }
-        ObjectMapper objectMapper = getObjectMapper();
-        JavaType javaType = objectMapper.getTypeFactory().constructParametricType(collectionClass, elementClass);
-        return objectMapper.readValue(json, javaType);
+        return configuredMapper().objectReader.forType(listType(collectionClass, elementClass)).readValue(json);
     }
 
     public static <T> List<T> toList(String json, Class<T> elementClass) throws JsonProcessingException {
@@ -153,9 +690,49 @@ public final class JacksonKit {
                                          Class<? extends Map> mapClass,
                                          Class<K> keyClass,
                                          Class<V> valueClass) throws JsonProcessingException {
-        ObjectMapper objectMapper = getObjectMapper();
-        MapType mapType = objectMapper.getTypeFactory().constructMapType(mapClass, keyClass, valueClass);
-        return objectMapper.readValue(json, mapType);
+        return configuredMapper().objectReader.forType(mapType(mapClass, keyClass, valueClass)).readValue(json);
+    }
+
+    @SuppressWarnings("rawtypes")
+    public static <K, V> Map<K, V> toMap(byte[] json,
+                                         Class<? extends Map> mapClass,
+                                         Class<K> keyClass,
+                                         Class<V> valueClass) throws IOException {
+        if (null == json || 0 == json.length) {
+            return null;
+        }
+        ConfiguredMapper configuredMapper = configuredMapper();
+        return configuredMapper.read(mapType(mapClass, keyClass, valueClass), json);
+    }
+
+    /**
+     * 不关闭json输入流
+     */
+    @SuppressWarnings("rawtypes")
+    public static <K, V> Map<K, V> toMap(InputStream json,
+                                         Class<? extends Map> mapClass,
+                                         Class<K> keyClass,
+                                         Class<V> valueClass) throws IOException {
+        if (null == json) {
+            return null;
+        }
+        ConfiguredMapper configuredMapper = configuredMapper();
+        return configuredMapper.read(mapType(mapClass, keyClass, valueClass), json);
+    }
+
+    /**
+     * 读取json的position到limit之间的内容，不改变json的position
+     */
+    @SuppressWarnings("rawtypes")
+    public static <K, V> Map<K, V> toMap(ByteBuffer json,
+                                         Class<? extends Map> mapClass,
+                                         Class<K> keyClass,
+                                         Class<V> valueClass) throws IOException {
+        if (null == json || !json.hasRemaining()) {
+            return null;
+        }
+        ConfiguredMapper configuredMapper = configuredMapper();
+        return configuredMapper.read(mapType(mapClass, keyClass, valueClass), json);
     }
 
     public static <K, V> Map<K, V> toMap(Object obj,
@@ -176,13 +753,10 @@ public final class JacksonKit {
     public static <K, V> List<Map<K, V>> toMapList(String json,
                                                    Class<K> keyClass,
                                                    Class<V> valueClass) throws JsonProcessingException {
-        List<Object> objects = toList(json, List.class, Object.class);
-        List<Map<K, V>> list = ListKit.emptyArrayList(objects.size());
-        for (Object object : objects) {
-            Map<K, V> kvMap = toMap(toJson(object), HashMap.class, keyClass, valueClass);
-            list.add(kvMap);
+        if (StrKit.isBlank(json)) {
+            return ListKit.emptyArrayList();
         }
-        return list;
+        return toObj(json, JacksonKit.<K, V, Map<K, V>>mapListTypeRef(HashMap.class, keyClass, valueClass));
     }
 
     public static <K> List<Map<K, Object>> toMapList(String json,
@@ -193,21 +767,16 @@ public final class JacksonKit {
     public static <K, V> LinkedHashMap<K, V> toLinkedMap(String json,
                                                          Class<K> keyClass,
                                                          Class<V> valueClass) throws JsonProcessingException {
-        ObjectMapper objectMapper = getObjectMapper();
-        MapType mapType = objectMapper.getTypeFactory().constructMapType(LinkedHashMap.class, keyClass, valueClass);
-        return objectMapper.readValue(json, mapType);
+        return configuredMapper().objectReader.forType(mapType(LinkedHashMap.class, keyClass, valueClass)).readValue(json);
     }
 
     public static <K, V> List<LinkedHashMap<K, V>> toLinkedMapList(String json,
                                                    Class<K> keyClass,
                                                    Class<V> valueClass) throws JsonProcessingException {
-        List<Object> objects = toList(json, List.class, Object.class);
-        List<LinkedHashMap<K, V>> list = ListKit.emptyArrayList(objects.size());
-        for (Object object : objects) {
-            LinkedHashMap<K, V> kvMap = toLinkedMap(toJson(object), keyClass, valueClass);
-            list.add(kvMap);
+        if (StrKit.isBlank(json)) {
+            return ListKit.emptyArrayList();
         }
-        return list;
+        return toObj(json, JacksonKit.<K, V, LinkedHashMap<K, V>>mapListTypeRef(LinkedHashMap.class, keyClass, valueClass));
     }
 
     public static <K> List<LinkedHashMap<K, Object>> toLinkedMapList(String json,
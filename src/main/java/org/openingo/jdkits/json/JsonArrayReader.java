@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.jdkits.json;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 逐个读取顶层Json数组的元素，内存占用与数组长度无关
+ * <p>由JacksonKit.readArray或FastJsonKit.readArray创建，读到数组末尾或close时关闭输入，
+ * 读取异常以UncheckedIOException抛出<p/>
+ *
+ * @author Qicz
+ */
+public final class JsonArrayReader<T> implements Iterator<T>, Closeable {
+
+    /**
+     * 元素的来源
+     */
+    interface Source<T> extends Closeable {
+
+        /**
+         * 移动到下一个元素，数组结束时返回false
+         */
+        boolean nextElement() throws IOException;
+
+        /**
+         * 读取当前元素
+         */
+        T readElement() throws IOException;
+    }
+
+    private final Source<T> source;
+    private boolean prefetched;
+    private boolean hasNext;
+    private boolean closed;
+
+    JsonArrayReader(Source<T> source) {
+        this.source = source;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.closed) {
+            return false;
+        }
+        if (!this.prefetched) {
+            try {
+                this.hasNext = this.source.nextElement();
+            } catch (IOException e) {
+                this.closeQuietly();
+                throw new UncheckedIOException(e);
+            }
+            this.prefetched = true;
+            if (!this.hasNext) {
+                this.closeQuietly();
+            }
+        }
+        return this.hasNext;
+    }
+
+    @Override
+    public T next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        this.prefetched = false;
+        try {
+            return this.source.readElement();
+        } catch (IOException e) {
+            this.closeQuietly();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 转为顺序Stream，Stream关闭时关闭输入
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+                .onClose(this::closeQuietly);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!this.closed) {
+            this.closed = true;
+            this.source.close();
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            this.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.jdkits.json;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * 逐个写出顶层Json数组的元素，写出的内容只在缓冲区中暂存
+ * <p>由JacksonKit.writeArray或FastJsonKit.writeArray创建，创建时写出'['，close时写出']'并flush，不关闭输出<p/>
+ *
+ * @author Qicz
+ */
+public final class JsonArrayWriter implements Closeable, Flushable {
+
+    /**
+     * 元素的去向
+     */
+    interface Sink extends Closeable, Flushable {
+
+        void writeElement(Object element) throws IOException;
+    }
+
+    private final Sink sink;
+    private long count;
+    private boolean closed;
+
+    JsonArrayWriter(Sink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * 追加一个元素
+     */
+    public JsonArrayWriter write(Object element) throws IOException {
+        if (this.closed) {
+            throw new IOException("the json array writer is closed");
+        }
+        this.sink.writeElement(element);
+        this.count++;
+        return this;
+    }
+
+    /**
+     * 追加elements中的所有元素
+     */
+    public JsonArrayWriter writeAll(Iterator<?> elements) throws IOException {
+        while (elements.hasNext()) {
+            this.write(elements.next());
+        }
+        return this;
+    }
+
+    /**
+     * 已写出的元素个数
+     */
+    public long count() {
+        return this.count;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.sink.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!this.closed) {
+            this.closed = true;
+            this.sink.close();
+        }
+    }
+}
@@ -0,0 +1,378 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.jdkits.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openingo.jdkits.validate.AssertKit;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Json路径读取工具 JsonPathKit
+ * <p>使用Jackson的流式解析按路径读取字段，不需要的子树直接跳过，所有路径读取完成后立即停止解析；
+ * 路径格式为 $.data.items[3].id 或 $['data']['items'][3]['id']，不支持通配符与过滤表达式<p/>
+ *
+ * @author Qicz
+ */
+public final class JsonPathKit {
+
+    private JsonPathKit(){}
+
+    private static final int MAX_CACHED_PATHS = 1024;
+
+    /**
+     * 路径 -> 解析后的段，段为String（字段名）或Integer（数组下标），最多缓存MAX_CACHED_PATHS个路径
+     */
+    private static final Map<String, Object[]> PATH_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 基本类型 -> 包装类型
+     */
+    private static final Map<Class<?>, Class<?>> PRIMITIVE_WRAPPERS = new HashMap<>(16);
+
+    static {
+        PRIMITIVE_WRAPPERS.put(boolean.class, Boolean.class);
+        PRIMITIVE_WRAPPERS.put(byte.class, Byte.class);
+        PRIMITIVE_WRAPPERS.put(char.class, Character.class);
+        PRIMITIVE_WRAPPERS.put(short.class, Short.class);
+        PRIMITIVE_WRAPPERS.put(int.class, Integer.class);
+        PRIMITIVE_WRAPPERS.put(long.class, Long.class);
+        PRIMITIVE_WRAPPERS.put(float.class, Float.class);
+        PRIMITIVE_WRAPPERS.put(double.class, Double.class);
+        PRIMITIVE_WRAPPERS.put(void.class, Void.class);
+    }
+
+    /**
+     * 读取json中path处的值
+     *
+     * @param json UTF-8编码的json
+     * @param path 路径，如 $.data.items[3].id
+     * @param type 值的类型
+     * @return path不存在时返回null
+     */
+    public static <T> T read(byte[] json, String path, Class<T> type) throws IOException {
+        return cast(type, readAll(json, singletonPath(path, type)).get(path));
+    }
+
+    /**
+     * 读取json中path处的值
+     *
+     * @return path不存在时返回null
+     */
+    public static <T> T read(String json, String path, Class<T> type) throws IOException {
+        return cast(type, readAll(json, singletonPath(path, type)).get(path));
+    }
+
+    /**
+     * 读取json中path处的值，不关闭json输入流
+     *
+     * @return path不存在时返回null
+     */
+    public static <T> T read(InputStream json, String path, Class<T> type) throws IOException {
+        return cast(type, readAll(json, singletonPath(path, type)).get(path));
+    }
+
+    /**
+     * 一次解析读取多个路径的值，值按Jackson的默认类型绑定（Map、List、String、Number、Boolean）
+     *
+     * @return 路径 -> 值，按paths的顺序，只包含存在的路径
+     */
+    public static Map<String, Object> readAll(byte[] json, String... paths) throws IOException {
+        return readAll(json, untypedPaths(paths));
+    }
+
+    /**
+     * 一次解析读取多个路径的值
+     *
+     * @param pathTypes 路径 -> 值的类型
+     * @return 路径 -> 值，按pathTypes的顺序，只包含存在的路径
+     */
+    public static Map<String, Object> readAll(byte[] json, Map<String, Class<?>> pathTypes) throws IOException {
+        if (null == json || 0 == json.length) {
+            return new LinkedHashMap<>();
+        }
+        ObjectMapper objectMapper = JacksonKit.sharedObjectMapper(null);
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            return readAll(parser, objectMapper, pathTypes);
+        }
+    }
+
+    /**
+     * 一次解析读取多个路径的值
+     *
+     * @return 路径 -> 值，按paths的顺序，只包含存在的路径
+     */
+    public static Map<String, Object> readAll(String json, String... paths) throws IOException {
+        return readAll(json, untypedPaths(paths));
+    }
+
+    /**
+     * 一次解析读取多个路径的值
+     *
+     * @param pathTypes 路径 -> 值的类型
+     * @return 路径 -> 值，按pathTypes的顺序，只包含存在的路径
+     */
+    public static Map<String, Object> readAll(String json, Map<String, Class<?>> pathTypes) throws IOException {
+        if (null == json || json.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        ObjectMapper objectMapper = JacksonKit.sharedObjectMapper(null);
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            return readAll(parser, objectMapper, pathTypes);
+        }
+    }
+
+    /**
+     * 一次解析读取多个路径的值，不关闭json输入流
+     *
+     * @param pathTypes 路径 -> 值的类型
+     * @return 路径 -> 值，按pathTypes的顺序，只包含存在的路径
+     */
+    public static Map<String, Object> readAll(InputStream json, Map<String, Class<?>> pathTypes) throws IOException {
+        if (null == json) {
+            return new LinkedHashMap<>();
+        }
+        ObjectMapper objectMapper = JacksonKit.sharedObjectMapper(null);
+        JsonFactory factory = objectMapper.getFactory();
+        try (JsonParser parser = factory.createParser(json)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return readAll(parser, objectMapper, pathTypes);
+        }
+    }
+
+    /**
+     * 基本类型按包装类型转换，如long.class读取的值为Long
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Class<T> type, Object value) {
+        return type.isPrimitive() ? (T) PRIMITIVE_WRAPPERS.get(type).cast(value) : type.cast(value);
+    }
+
+    private static Map<String, Class<?>> singletonPath(String path, Class<?> type) {
+        Map<String, Class<?>> pathTypes = new HashMap<>(2);
+        pathTypes.put(path, type);
+        return pathTypes;
+    }
+
+    private static Map<String, Class<?>> untypedPaths(String... paths) {
+        Map<String, Class<?>> pathTypes = new LinkedHashMap<>(paths.length << 1);
+        for (String path : paths) {
+            pathTypes.put(path, Object.class);
+        }
+        return pathTypes;
+    }
+
+    private static Map<String, Object> readAll(JsonParser parser,
+                                               ObjectMapper objectMapper,
+                                               Map<String, Class<?>> pathTypes) throws IOException {
+        Node root = new Node();
+        for (Map.Entry<String, Class<?>> pathType : pathTypes.entrySet()) {
+            Node node = root;
+            for (Object segment : segments(pathType.getKey())) {
+                node = node.child(segment);
+            }
+            node.targets.add(pathType);
+        }
+        Map<String, Object> found = new HashMap<>(pathTypes.size() << 1);
+        if (null != parser.nextToken()) {
+            new Walker(objectMapper.reader(), found, pathTypes.size()).visit(parser, root);
+        }
+        // 按传入路径的顺序返回
+        Map<String, Object> ret = new LinkedHashMap<>(found.size() << 1);
+        for (String path : pathTypes.keySet()) {
+            if (found.containsKey(path)) {
+                ret.put(path, found.get(path));
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * 解析路径，结果被缓存
+     */
+    private static Object[] segments(String path) {
+        Object[] segments = PATH_CACHE.get(path);
+        if (null == segments) {
+            segments = parsePath(path);
+            if (PATH_CACHE.size() < MAX_CACHED_PATHS) {
+                PATH_CACHE.putIfAbsent(path, segments);
+            }
+        }
+        return segments;
+    }
+
+    private static Object[] parsePath(String path) {
+        AssertKit.notNull(path, "the path is null");
+        List<Object> segments = new ArrayList<>();
+        int length = path.length();
+        int i = path.startsWith("$") ? 1 : 0;
+        while (i < length) {
+            char c = path.charAt(i);
+            if ('.' == c) {
+                int start = ++i;
+                while (i < length && '.' != path.charAt(i) && '[' != path.charAt(i)) {
+                    i++;
+                }
+                AssertKit.isTrue(i > start, "empty field name in path: " + path);
+                segments.add(path.substring(start, i));
+            } else if ('[' == c) {
+                int close = path.indexOf(']', i);
+                AssertKit.isTrue(close > i + 1, "unclosed '[' in path: " + path);
+                String content = path.substring(i + 1, close);
+                char quote = content.charAt(0);
+                if (('\'' == quote || '"' == quote) && content.length() >= 2 && quote == content.charAt(content.length() - 1)) {
+                    segments.add(content.substring(1, content.length() - 1));
+                } else {
+                    try {
+                        segments.add(Integer.valueOf(content.trim()));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("illegal index '" + content + "' in path: " + path);
+                    }
+                }
+                i = close + 1;
+            } else {
+                AssertKit.isTrue(0 == i, "illegal path: " + path);
+                // 省略开头的'$.'
+                path = "." + path;
+                length++;
+            }
+        }
+        return segments.toArray();
+    }
+
+    /**
+     * 所有路径组成的前缀树
+     */
+    private static final class Node {
+        private Map<Object, Node> children;
+        private final List<Map.Entry<String, Class<?>>> targets = new ArrayList<>(1);
+
+        private Node child(Object segment) {
+            if (null == this.children) {
+                this.children = new HashMap<>();
+            }
+            return this.children.computeIfAbsent(segment, key -> new Node());
+        }
+
+        private Node get(Object segment) {
+            return null == this.children ? null : this.children.get(segment);
+        }
+    }
+
+    private static final class Walker {
+        private final ObjectReader reader;
+        private final Map<String, Object> found;
+        private int remaining;
+
+        private Walker(ObjectReader reader, Map<String, Object> found, int remaining) {
+            this.reader = reader;
+            this.found = found;
+            this.remaining = remaining;
+        }
+
+        /**
+         * parser位于node对应值的第一个token，返回时位于该值的最后一个token，remaining为0时直接返回
+         */
+        private void visit(JsonParser parser, Node node) throws IOException {
+            if (!node.targets.isEmpty()) {
+                if (null == node.children) {
+                    if (1 == node.targets.size()) {
+                        this.bind(node.targets.get(0), this.reader.forType(node.targets.get(0).getValue()).readValue(parser));
+                        return;
+                    }
+                }
+                // 同一个值需要绑定多次或继续向下查找时先读为树
+                JsonNode tree = this.reader.readTree(parser);
+                for (Map.Entry<String, Class<?>> target : node.targets) {
+                    this.bind(target, this.reader.forType(target.getValue()).readValue(tree));
+                }
+                if (null == node.children || 0 == this.remaining) {
+                    return;
+                }
+                try (JsonParser treeParser = this.reader.treeAsTokens(tree)) {
+                    treeParser.nextToken();
+                    this.visitChildren(treeParser, node);
+                }
+                return;
+            }
+            this.visitChildren(parser, node);
+        }
+
+        private void visitChildren(JsonParser parser, Node node) throws IOException {
+            JsonToken token = parser.currentToken();
+            if (JsonToken.START_OBJECT == token && null != node.children) {
+                while (JsonToken.FIELD_NAME == parser.nextToken()) {
+                    Node child = node.get(parser.getCurrentName());
+                    parser.nextToken();
+                    if (null == child) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    this.visit(parser, child);
+                    if (0 == this.remaining) {
+                        return;
+                    }
+                }
+            } else if (JsonToken.START_ARRAY == token && null != node.children) {
+                int index = 0;
+                while (JsonToken.END_ARRAY != parser.nextToken()) {
+                    Node child = node.get(index++);
+                    if (null == child) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    this.visit(parser, child);
+                    if (0 == this.remaining) {
+                        return;
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        private void bind(Map.Entry<String, Class<?>> target, Object value) {
+            if (!this.found.containsKey(target.getKey())) {
+                this.found.put(target.getKey(), value);
+                this.remaining--;
+            }
+        }
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.jdkits.json;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openingo.jdkits.validate.AssertKit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * NDJSON(JSON Lines)工具 NdJsonKit
+ * <p>读取时将文件按换行符对齐切分为多个字节区间并行解析，结果与行的顺序一致；
+ * 写出时按批并行序列化，按顺序写出，同时处理中的批数有上限<p/>
+ *
+ * @author Qicz
+ */
+public final class NdJsonKit {
+
+    private NdJsonKit(){}
+
+    public static class NdJsonConfig {
+        /**
+         * 并行执行的线程池
+         */
+        public Executor executor = ForkJoinPool.commonPool();
+        /**
+         * 读取时每个区间的字节数，区间边界向后对齐到换行符
+         */
+        public int chunkSize = 8 << 20;
+        /**
+         * 读取时是否使用内存映射
+         */
+        public boolean mmap;
+        /**
+         * 写出时每批的元素个数
+         */
+        public int batchSize = 1024;
+        /**
+         * 写出时同时处理中的批数
+         */
+        public int maxPendingBatches = ForkJoinPool.getCommonPoolParallelism() << 1;
+        /**
+         * 序列化与反序列化的配置，null为JacksonKit的默认配置
+         */
+        public JacksonKit.JacksonConfig jacksonConfig;
+    }
+
+    private static final byte LF = '\n';
+
+    /**
+     * 并行读取NDJSON文件，空行被忽略
+     *
+     * @param file  UTF-8编码的NDJSON文件
+     * @param clazz 每行的类型
+     * @return 按行的顺序
+     */
+    public static <T> List<T> read(Path file, Class<T> clazz) throws IOException {
+        return read(file, clazz, null);
+    }
+
+    /**
+     * 并行读取NDJSON文件，空行被忽略
+     *
+     * @param file   UTF-8编码的NDJSON文件
+     * @param clazz  每行的类型
+     * @param config 配置，null为默认配置
+     * @return 按行的顺序
+     */
+    public static <T> List<T> read(Path file, Class<T> clazz, NdJsonConfig config) throws IOException {
+        final NdJsonConfig ndJsonConfig = null == config ? new NdJsonConfig() : config;
+        AssertKit.isTrue(ndJsonConfig.chunkSize > 0, "the chunkSize must be positive");
+        final ObjectReader reader = JacksonKit.getObjectReader(ndJsonConfig.jacksonConfig).forType(clazz);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] boundaries = boundaries(channel, ndJsonConfig.chunkSize);
+            List<CompletableFuture<List<T>>> chunks = new ArrayList<>(boundaries.length - 1);
+            for (int i = 0; i < boundaries.length - 1; i++) {
+                final long start = boundaries[i];
+                final long end = boundaries[i + 1];
+                chunks.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return readChunk(channel, start, end, ndJsonConfig.mmap, reader);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, ndJsonConfig.executor));
+            }
+            List<T> ret = new ArrayList<>();
+            for (CompletableFuture<List<T>> chunk : chunks) {
+                ret.addAll(join(chunk));
+            }
+            return ret;
+        }
+    }
+
+    /**
+     * 按批并行序列化，以UTF-8编码按顺序写出，每个元素一行，不关闭outputStream
+     */
+    public static void write(Iterator<?> elements, OutputStream outputStream) throws IOException {
+        write(elements, outputStream, null);
+    }
+
+    /**
+     * 按批并行序列化，以UTF-8编码按顺序写出，每个元素一行，不关闭outputStream
+     *
+     * @param config 配置，null为默认配置
+     */
+    public static void write(Iterator<?> elements, OutputStream outputStream, NdJsonConfig config) throws IOException {
+        final NdJsonConfig ndJsonConfig = null == config ? new NdJsonConfig() : config;
+        AssertKit.isTrue(ndJsonConfig.batchSize > 0, "the batchSize must be positive");
+        final ObjectWriter writer = JacksonKit.getObjectWriter(ndJsonConfig.jacksonConfig);
+        final int maxPendingBatches = Math.max(1, ndJsonConfig.maxPendingBatches);
+        Deque<CompletableFuture<byte[]>> pending = new ArrayDeque<>(maxPendingBatches);
+        while (elements.hasNext()) {
+            final List<Object> batch = new ArrayList<>(ndJsonConfig.batchSize);
+            while (batch.size() < ndJsonConfig.batchSize && elements.hasNext()) {
+                batch.add(elements.next());
+            }
+            if (pending.size() == maxPendingBatches) {
+                outputStream.write(join(pending.poll()));
+            }
+            pending.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return writeBatch(batch, writer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, ndJsonConfig.executor));
+        }
+        while (!pending.isEmpty()) {
+            outputStream.write(join(pending.poll()));
+        }
+        outputStream.flush();
+    }
+
+    /**
+     * 按批并行序列化，以UTF-8编码按顺序写出，每个元素一行，不关闭outputStream
+     */
+    public static void write(List<?> elements, OutputStream outputStream, NdJsonConfig config) throws IOException {
+        write(elements.iterator(), outputStream, config);
+    }
+
+    private static byte[] writeBatch(List<Object> batch, ObjectWriter writer) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(batch.size() << 6);
+        for (Object element : batch) {
+            out.write(writer.writeValueAsBytes(element));
+            out.write(LF);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 每隔chunkSize个字节向后找到下一个换行符，返回区间边界，首尾分别为0与文件长度
+     */
+    private static long[] boundaries(FileChannel channel, int chunkSize) throws IOException {
+        long size = channel.size();
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long position = chunkSize;
+        while (position < size) {
+            long lineEnd = nextLineStart(channel, position, size, buffer);
+            if (lineEnd >= size) {
+                break;
+            }
+            boundaries.add(lineEnd);
+            position = lineEnd + chunkSize;
+        }
+        boundaries.add(size);
+        long[] ret = new long[boundaries.size()];
+        for (int i = 0; i < ret.length; i++) {
+            ret[i] = boundaries.get(i);
+        }
+        return ret;
+    }
+
+    /**
+     * position之后（含）第一个换行符的下一个位置，没有换行符时返回size
+     */
+    private static long nextLineStart(FileChannel channel, long position, long size, ByteBuffer buffer) throws IOException {
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (LF == buffer.get(i)) {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static <T> List<T> readChunk(FileChannel channel, long start, long end, boolean mmap, ObjectReader reader) throws IOException {
+        long length = end - start;
+        AssertKit.isTrue(length <= Integer.MAX_VALUE, "the line is too long");
+        if (0 == length) {
+            return Collections.emptyList();
+        }
+        List<T> ret = new ArrayList<>();
+        if (mmap) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            byte[] line = new byte[256];
+            int lineStart = 0;
+            for (int i = 0, limit = (int) length; i <= limit; i++) {
+                if (i == limit || LF == buffer.get(i)) {
+                    int lineLength = i - lineStart;
+                    if (line.length < lineLength) {
+                        line = new byte[Math.max(lineLength, line.length << 1)];
+                    }
+                    buffer.position(lineStart);
+                    buffer.get(line, 0, lineLength);
+                    readLine(line, 0, lineLength, reader, ret);
+                    lineStart = i + 1;
+                }
+            }
+            return ret;
+        }
+        byte[] bytes = new byte[(int) length];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + buffer.position()) < 0) {
+                throw new EOFException("the file is truncated while reading");
+            }
+        }
+        int lineStart = 0;
+        for (int i = 0; i <= bytes.length; i++) {
+            if (i == bytes.length || LF == bytes[i]) {
+                readLine(bytes, lineStart, i - lineStart, reader, ret);
+                lineStart = i + 1;
+            }
+        }
+        return ret;
+    }
+
+    private static <T> void readLine(byte[] bytes, int offset, int length, ObjectReader reader, List<T> ret) throws IOException {
+        for (int i = offset; i < offset + length; i++) {
+            // 忽略空行与只有空白（含'\r'）的行
+            if (bytes[i] > ' ') {
+                ret.add(reader.readValue(bytes, offset, length));
+                return;
+            }
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,387 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.jdkits.json;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.impl.PropertySerializerMap;
+import org.openingo.jdkits.collection.ListKit;
+import org.openingo.jdkits.tree.ITreeNode;
+import org.openingo.jdkits.tree.TreeQueryIndex;
+import org.openingo.jdkits.validate.AssertKit;
+import org.openingo.jdkits.validate.ValidateKit;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+
+/**
+ * 树形数据Json工具 TreeJsonKit
+ * <p>节点经由ObjectMapper的BeanSerializer写出，属性注解、类型信息、自定义序列化与JacksonKit.toJson一致；
+ * 只替换子节点属性的写出，逐层写出childNodes的结果，不生成中间的String；支持深度限制和字段投影<p/>
+ *
+ * @author Qicz
+ */
+public final class TreeJsonKit {
+
+    private TreeJsonKit(){}
+
+    /**
+     * 带有TreeSerializerModifier的ObjectMapper副本，以原ObjectMapper为弱引用key
+     */
+    private static final Map<ObjectMapper, ObjectMapper> TREE_MAPPERS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    public static class TreeJsonConfig {
+        /**
+         * 子节点数组的字段名；节点有同名属性时在该属性处写出，
+         * 否则在值为节点自身子节点集合（同一实例）的属性处写出，都没有时追加在节点属性之后
+         */
+        public String childNodesFieldName = "children";
+        /**
+         * 写出的最大层数，顶层元素为第1层，最后一层不写出子节点属性
+         */
+        public int maxDepth = Integer.MAX_VALUE;
+        /**
+         * 写出的节点属性，null为全部属性；子节点属性、@JsonUnwrapped和@JsonAnyGetter的属性总是写出
+         */
+        public Set<String> includeFields;
+    }
+
+    /**
+     * 写出树形数据，使用JacksonKit的ObjectMapper
+     *
+     * @param tree       顶层元素集合
+     * @param childNodes 获取节点的子节点集合
+     * @param outputStream 输出流，UTF-8编码，写出后不关闭
+     * @param config     配置，null为默认配置
+     */
+    public static <E> void writeTree(List<? extends E> tree,
+                                     Function<? super E, ? extends Collection<? extends E>> childNodes,
+                                     OutputStream outputStream,
+                                     TreeJsonConfig config) throws IOException {
+        ObjectMapper objectMapper = JacksonKit.getObjectMapper();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            writeTree(tree, childNodes, generator, objectMapper, config);
+        }
+    }
+
+    /**
+     * 写出树形数据，使用JacksonKit的ObjectMapper
+     *
+     * @param tree       顶层元素集合
+     * @param childNodes 获取节点的子节点集合
+     * @param writer     输出，写出后不关闭
+     * @param config     配置，null为默认配置
+     */
+    public static <E> void writeTree(List<? extends E> tree,
+                                     Function<? super E, ? extends Collection<? extends E>> childNodes,
+                                     Writer writer,
+                                     TreeJsonConfig config) throws IOException {
+        ObjectMapper objectMapper = JacksonKit.getObjectMapper();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            writeTree(tree, childNodes, generator, objectMapper, config);
+        }
+    }
+
+    /**
+     * 写出TreeQueryIndex中的树形数据
+     *
+     * @param index        查询索引
+     * @param outputStream 输出流，UTF-8编码，写出后不关闭
+     * @param config       配置，null为默认配置
+     */
+    public static <E extends ITreeNode<E>> void writeTree(TreeQueryIndex<E> index,
+                                                          OutputStream outputStream,
+                                                          TreeJsonConfig config) throws IOException {
+        writeTree(index.tree(), node -> index.childNodes(node.treeNodeId()), outputStream, config);
+    }
+
+    /**
+     * 写出树形数据
+     * <p>使用objectMapper的副本写出，副本在首次使用时创建，之后对objectMapper的配置修改不再生效；
+     * 节点类型使用自定义序列化（非BeanSerializer）时按其序列化写出，深度限制与字段投影不生效<p/>
+     *
+     * @param tree         顶层元素集合
+     * @param childNodes   获取节点的子节点集合
+     * @param generator    JsonGenerator，写出后不关闭
+     * @param objectMapper 写出节点的ObjectMapper
+     * @param config       配置，null为默认配置
+     */
+    public static <E> void writeTree(List<? extends E> tree,
+                                     Function<? super E, ? extends Collection<? extends E>> childNodes,
+                                     JsonGenerator generator,
+                                     ObjectMapper objectMapper,
+                                     TreeJsonConfig config) throws IOException {
+        AssertKit.notNull(childNodes, "childNodes cannot be null.");
+        AssertKit.notNull(objectMapper, "objectMapper cannot be null.");
+        TreeJsonConfig treeJsonConfig = ValidateKit.isNull(config) ? new TreeJsonConfig() : config;
+        AssertKit.isTrue(treeJsonConfig.maxDepth > 0, "maxDepth must be positive.");
+        List<? extends E> nodes = ListKit.emptyIfNull(tree);
+        TreeWalker walker = new TreeWalker(childNodes, treeJsonConfig);
+        walker.addNodeClasses(nodes);
+        TREE_MAPPERS.computeIfAbsent(objectMapper, TreeJsonKit::treeMapper)
+                .writer()
+                .withAttribute(TreeWalker.class, walker)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .writeValue(generator, nodes);
+        generator.flush();
+    }
+
+    private static ObjectMapper treeMapper(ObjectMapper objectMapper) {
+        SimpleModule module = new SimpleModule(TreeJsonKit.class.getName());
+        module.setSerializerModifier(new TreeSerializerModifier());
+        return objectMapper.copy().registerModule(module);
+    }
+
+    /**
+     * 一次写出的状态，作为ObjectWriter的attribute传给属性写出
+     */
+    private static final class TreeWalker {
+        @SuppressWarnings("rawtypes")
+        private final Function childNodes;
+        private final TreeJsonConfig config;
+        /**
+         * 已写出集合中的节点类型，其余bean按原样写出
+         */
+        private final Set<Class<?>> nodeClasses = new HashSet<>();
+        /**
+         * 当前层数
+         */
+        private int depth = 1;
+        /**
+         * 最近一次childNodes的节点与结果
+         */
+        private Object lastNode;
+        private Collection<?> lastChildNodes;
+        /**
+         * 最近写出了子节点的节点，避免重复写出
+         */
+        private Object lastOwner;
+
+        private TreeWalker(Function<?, ?> childNodes, TreeJsonConfig config) {
+            this.childNodes = childNodes;
+            this.config = config;
+        }
+
+        private void addNodeClasses(Collection<?> nodes) {
+            for (Object node : nodes) {
+                if (null != node) {
+                    this.nodeClasses.add(node.getClass());
+                }
+            }
+        }
+
+        private boolean isNode(Object bean) {
+            return this.nodeClasses.contains(bean.getClass());
+        }
+
+        private boolean includes(String name) {
+            return ValidateKit.isNull(this.config.includeFields) || this.config.includeFields.contains(name);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Collection<?> childNodes(Object node) {
+            if (this.lastNode != node) {
+                Collection<?> nodes = (Collection<?>) this.childNodes.apply(node);
+                this.lastChildNodes = null == nodes ? ListKit.emptyList() : nodes;
+                this.lastNode = node;
+            }
+            return this.lastChildNodes;
+        }
+
+        /**
+         * 写出节点的子节点，property为null时以childNodesFieldName追加
+         */
+        private void writeChildNodes(Object node, TreePropertyWriter property, JsonGenerator gen, SerializerProvider prov) throws Exception {
+            if (this.depth >= this.config.maxDepth) {
+                return;
+            }
+            Collection<?> nodes = this.childNodes(node);
+            this.addNodeClasses(nodes);
+            this.depth++;
+            try {
+                if (null == property) {
+                    gen.writeFieldName(this.config.childNodesFieldName);
+                    prov.defaultSerializeValue(nodes, gen);
+                } else {
+                    property.serializeAsField(node, nodes, gen, prov);
+                }
+            } finally {
+                this.depth--;
+            }
+            this.lastOwner = node;
+        }
+    }
+
+    /**
+     * 为每个bean属性套上TreePropertyWriter，并追加一个写出子节点的属性
+     */
+    private static final class TreeSerializerModifier extends BeanSerializerModifier {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public List<BeanPropertyWriter> changeProperties(SerializationConfig config,
+                                                         BeanDescription beanDesc,
+                                                         List<BeanPropertyWriter> beanProperties) {
+            if (beanProperties.isEmpty()) {
+                return beanProperties;
+            }
+            Set<String> propertyNames = new HashSet<>();
+            for (BeanPropertyWriter property : beanProperties) {
+                propertyNames.add(property.getName());
+            }
+            List<BeanPropertyWriter> properties = new ArrayList<>(beanProperties.size() + 1);
+            BeanPropertyWriter appendBase = null;
+            for (BeanPropertyWriter property : beanProperties) {
+                // @JsonUnwrapped的属性保持原样展开写出
+                if (property.isUnwrapping()) {
+                    properties.add(property);
+                    continue;
+                }
+                properties.add(new TreePropertyWriter(property, propertyNames, false));
+                if (ValidateKit.isNull(appendBase)) {
+                    appendBase = property;
+                }
+            }
+            if (ValidateKit.isNotNull(appendBase)) {
+                properties.add(new TreePropertyWriter(appendBase, propertyNames, true));
+            }
+            return properties;
+        }
+    }
+
+    /**
+     * 节点属性的写出：子节点属性写出childNodes的结果，其余属性按投影交给原属性写出
+     */
+    private static final class TreePropertyWriter extends BeanPropertyWriter {
+        private static final long serialVersionUID = 1L;
+        /**
+         * bean类型的全部属性名
+         */
+        private final Set<String> propertyNames;
+        /**
+         * 追加的属性，只在没有其他子节点属性时写出子节点
+         */
+        private final boolean appended;
+        private final boolean collectionLike;
+
+        private TreePropertyWriter(BeanPropertyWriter base, Set<String> propertyNames, boolean appended) {
+            super(base);
+            this.propertyNames = propertyNames;
+            this.appended = appended;
+            JavaType type = base.getType();
+            this.collectionLike = type.isCollectionLikeType() || type.isArrayType();
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+            TreeWalker walker = (TreeWalker) prov.getAttribute(TreeWalker.class);
+            if (ValidateKit.isNull(walker) || !walker.isNode(bean)) {
+                if (!this.appended) {
+                    super.serializeAsField(bean, gen, prov);
+                }
+                return;
+            }
+            boolean hasChildNodesProperty = this.propertyNames.contains(walker.config.childNodesFieldName);
+            if (this.appended) {
+                if (!hasChildNodesProperty && walker.lastOwner != bean) {
+                    walker.writeChildNodes(bean, null, gen, prov);
+                }
+                return;
+            }
+            if (this.getName().equals(walker.config.childNodesFieldName)) {
+                walker.writeChildNodes(bean, this, gen, prov);
+                return;
+            }
+            if (this.collectionLike) {
+                Object value = this.get(bean);
+                if (null != value && value == walker.childNodes(bean)) {
+                    // 节点自身保存的子节点集合，已经或将要在子节点属性处写出
+                    if (!hasChildNodesProperty && walker.lastOwner != bean) {
+                        walker.writeChildNodes(bean, this, gen, prov);
+                    }
+                    return;
+                }
+            }
+            if (walker.includes(this.getName())) {
+                super.serializeAsField(bean, gen, prov);
+            }
+        }
+
+        /**
+         * 以value代替属性值写出，与BeanPropertyWriter#serializeAsField的处理一致
+         */
+        private void serializeAsField(Object bean, Object value, JsonGenerator gen, SerializerProvider prov) throws Exception {
+            JsonSerializer<Object> serializer = this._serializer;
+            if (ValidateKit.isNull(serializer)) {
+                Class<?> valueClass = value.getClass();
+                PropertySerializerMap serializers = this._dynamicSerializers;
+                serializer = serializers.serializerFor(valueClass);
+                if (ValidateKit.isNull(serializer)) {
+                    serializer = this._findAndAddDynamic(serializers, valueClass, prov);
+                }
+            }
+            if (null != this._suppressableValue) {
+                if (MARKER_FOR_EMPTY == this._suppressableValue) {
+                    if (serializer.isEmpty(prov, value)) {
+                        return;
+                    }
+                } else if (this._suppressableValue.equals(value)) {
+                    return;
+                }
+            }
+            gen.writeFieldName(this._name);
+            if (ValidateKit.isNull(this._typeSerializer)) {
+                serializer.serialize(value, gen, prov);
+            } else {
+                serializer.serializeWithType(value, gen, prov, this._typeSerializer);
+            }
+        }
+    }
+}
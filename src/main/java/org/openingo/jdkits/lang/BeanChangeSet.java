@@ -0,0 +1,228 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.jdkits.lang;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * BeanDiffer生成的变更集合，按属性路径的发现顺序保存
+ *
+ * @author Qicz
+ */
+public final class BeanChangeSet {
+
+    static final BeanChangeSet EMPTY = new BeanChangeSet(new String[0][], new Object[0], null, 0);
+
+    private final String[][] paths;
+    private final Object[] newValues;
+    private final Object[] oldValues;
+    private final int size;
+
+    BeanChangeSet(String[][] paths, Object[] newValues, Object[] oldValues, int size) {
+        this.paths = paths;
+        this.newValues = newValues;
+        this.oldValues = oldValues;
+        this.size = size;
+    }
+
+    public static BeanChangeSet empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return 0 == this.size;
+    }
+
+    /**
+     * 是否包含旧值
+     */
+    public boolean hasOldValues() {
+        return null != this.oldValues;
+    }
+
+    /**
+     * 第index个变更的属性路径，如：user.addresses[1].city
+     */
+    public String path(int index) {
+        return join(this.paths[this.checkIndex(index)]);
+    }
+
+    public Object newValue(int index) {
+        return this.newValues[this.checkIndex(index)];
+    }
+
+    /**
+     * 第index个变更的旧值，未包含旧值时抛出IllegalStateException
+     */
+    public Object oldValue(int index) {
+        if (null == this.oldValues) {
+            throw new IllegalStateException("the change set has no old values");
+        }
+        return this.oldValues[this.checkIndex(index)];
+    }
+
+    /**
+     * 属性路径与新值，按发现顺序
+     */
+    public Map<String, Object> toMap() {
+        if (this.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Object> map = new LinkedHashMap<>(this.size << 1);
+        for (int i = 0; i < this.size; i++) {
+            map.put(join(this.paths[i]), this.newValues[i]);
+        }
+        return map;
+    }
+
+    /**
+     * 属性路径与旧值，按发现顺序
+     */
+    public Map<String, Object> toOldValueMap() {
+        if (null == this.oldValues) {
+            throw new IllegalStateException("the change set has no old values");
+        }
+        if (this.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Object> map = new LinkedHashMap<>(this.size << 1);
+        for (int i = 0; i < this.size; i++) {
+            map.put(join(this.paths[i]), this.oldValues[i]);
+        }
+        return map;
+    }
+
+    /**
+     * 嵌套属性以嵌套Map表示的新值，如：{"user": {"name": "new"}}
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> toNestedMap() {
+        if (this.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Object> root = new LinkedHashMap<>();
+        for (int i = 0; i < this.size; i++) {
+            String[] path = this.paths[i];
+            Map<String, Object> current = root;
+            int last = lastKeyStart(path);
+            String key = key(path, 0);
+            int start = 0;
+            while (start != last) {
+                Object child = current.get(key);
+                if (!(child instanceof Map)) {
+                    child = new LinkedHashMap<String, Object>();
+                    current.put(key, child);
+                }
+                current = (Map<String, Object>) child;
+                start = nextKeyStart(path, start);
+                key = key(path, start);
+            }
+            current.put(key, this.newValues[i]);
+        }
+        return root;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("BeanChangeSet{");
+        for (int i = 0; i < this.size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(join(this.paths[i])).append('=');
+            if (null != this.oldValues) {
+                builder.append(this.oldValues[i]).append("->");
+            }
+            builder.append(this.newValues[i]);
+        }
+        return builder.append('}').toString();
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + this.size);
+        }
+        return index;
+    }
+
+    private static boolean isIndex(String segment) {
+        return !segment.isEmpty() && '[' == segment.charAt(0);
+    }
+
+    private static String join(String[] path) {
+        if (1 == path.length) {
+            return path[0];
+        }
+        StringBuilder builder = new StringBuilder();
+        for (String segment : path) {
+            if (builder.length() > 0 && !isIndex(segment)) {
+                builder.append('.');
+            }
+            builder.append(segment);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 索引段合并到前一个属性段中，如：addresses[1]
+     */
+    private static String key(String[] path, int start) {
+        int end = nextKeyStart(path, start);
+        if (end == start + 1) {
+            return path[start];
+        }
+        StringBuilder builder = new StringBuilder();
+        for (int i = start; i < end; i++) {
+            builder.append(path[i]);
+        }
+        return builder.toString();
+    }
+
+    private static int nextKeyStart(String[] path, int start) {
+        int next = start + 1;
+        while (next < path.length && isIndex(path[next])) {
+            next++;
+        }
+        return next;
+    }
+
+    private static int lastKeyStart(String[] path) {
+        int start = 0;
+        int next;
+        while ((next = nextKeyStart(path, start)) < path.length) {
+            start = next;
+        }
+        return start;
+    }
+}
@@ -0,0 +1,401 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.jdkits.lang;
+
+import com.esotericsoftware.reflectasm.MethodAccess;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * 按类生成并缓存的属性比较器，无ThreadLocal状态，线程安全
+ *
+ * <pre>
+ *     BeanChangeSet changes = BeanDiffer.of(User.class).diff(oldUser, newUser, BeanDiffer.Option.INCLUDE_OLD_VALUES);
+ * </pre>
+ *
+ * 嵌套对象逐属性比较，List和数组逐下标比较，Map逐key比较，Set等其他集合整体比较
+ *
+ * @author Qicz
+ */
+public final class BeanDiffer<T> {
+
+    public enum Option {
+
+        /**
+         * 变更集合中包含旧值
+         */
+        INCLUDE_OLD_VALUES,
+
+        /**
+         * 新值为null时不视为变更，用于部分更新的场景
+         */
+        IGNORE_NULL_NEW_VALUES
+    }
+
+    private enum Kind {
+        VALUE, BEAN, LIST, ARRAY, COLLECTION, MAP
+    }
+
+    private static final ClassValue<BeanDiffer<?>> DIFFER_CACHE = new ClassValue<BeanDiffer<?>>() {
+        @Override
+        protected BeanDiffer<?> computeValue(Class<?> beanClass) {
+            return new BeanDiffer<>(beanClass);
+        }
+    };
+
+    private static final ClassValue<Kind> KIND_CACHE = new ClassValue<Kind>() {
+        @Override
+        protected Kind computeValue(Class<?> type) {
+            return kindOf(type);
+        }
+    };
+
+    private final Class<T> beanClass;
+    private final String[] propertyNames;
+    private final Function<Object, Object>[] getters;
+
+    @SuppressWarnings("unchecked")
+    private BeanDiffer(Class<T> beanClass) {
+        this.beanClass = beanClass;
+        PropertyDescriptor[] descriptors = readableProperties(beanClass);
+        this.propertyNames = new String[descriptors.length];
+        this.getters = (Function<Object, Object>[]) new Function<?, ?>[descriptors.length];
+        MethodAccess methodAccess = methodAccess(beanClass);
+        for (int i = 0; i < descriptors.length; i++) {
+            this.propertyNames[i] = descriptors[i].getName();
+            this.getters[i] = getter(methodAccess, descriptors[i].getReadMethod());
+        }
+    }
+
+    /**
+     * 获取beanClass的比较器，每个类只生成一次
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> BeanDiffer<T> of(Class<T> beanClass) {
+        return (BeanDiffer<T>) DIFFER_CACHE.get(beanClass);
+    }
+
+    public Class<T> getBeanClass() {
+        return this.beanClass;
+    }
+
+    /**
+     * 比较oldOne与newOne，null视为所有属性为null
+     */
+    public BeanChangeSet diff(T oldOne, T newOne, Option... options) {
+        EnumSet<Option> optionSet = EnumSet.noneOf(Option.class);
+        if (null != options) {
+            optionSet.addAll(Arrays.asList(options));
+        }
+        Collector collector = new Collector(optionSet.contains(Option.INCLUDE_OLD_VALUES),
+                optionSet.contains(Option.IGNORE_NULL_NEW_VALUES));
+        if (oldOne != newOne) {
+            this.diffProperties(oldOne, newOne, collector);
+        }
+        return collector.toChangeSet();
+    }
+
+    private void diffProperties(Object oldOne, Object newOne, Collector collector) {
+        for (int i = 0; i < this.getters.length; i++) {
+            Function<Object, Object> getter = this.getters[i];
+            collector.push(this.propertyNames[i], false);
+            diffValue(null == oldOne ? null : getter.apply(oldOne),
+                    null == newOne ? null : getter.apply(newOne),
+                    collector);
+            collector.pop();
+        }
+    }
+
+    private static void diffValue(Object oldValue, Object newValue, Collector collector) {
+        if (oldValue == newValue || (null == newValue && collector.ignoreNullNewValues)) {
+            return;
+        }
+        Kind kind = KIND_CACHE.get((null == newValue ? oldValue : newValue).getClass());
+        if (Kind.BEAN == kind) {
+            if (null != oldValue && null != newValue && oldValue.getClass() != newValue.getClass()) {
+                collector.record(oldValue, newValue);
+            } else if (collector.isVisiting(oldValue, newValue)) {
+                // 循环引用不再展开，两侧指向同一层祖先时未变更，否则整体记录
+                if (!collector.isSameReference(oldValue, newValue)) {
+                    collector.record(oldValue, newValue);
+                }
+            } else {
+                collector.enter(oldValue, newValue);
+                DIFFER_CACHE.get((null == newValue ? oldValue : newValue).getClass()).diffProperties(oldValue, newValue, collector);
+                collector.exit();
+            }
+            return;
+        }
+        if (Kind.VALUE == kind
+                || null == oldValue
+                || null == newValue
+                || kind != KIND_CACHE.get(oldValue.getClass())) {
+            if (!Objects.deepEquals(oldValue, newValue)) {
+                collector.record(oldValue, newValue);
+            }
+            return;
+        }
+        switch (kind) {
+            case LIST:
+                diffElements(((List<?>) oldValue).iterator(), ((List<?>) newValue).iterator(), collector);
+                break;
+            case ARRAY:
+                diffArray(oldValue, newValue, collector);
+                break;
+            case MAP:
+                diffMap((Map<?, ?>) oldValue, (Map<?, ?>) newValue, collector);
+                break;
+            default:
+                if (!oldValue.equals(newValue)) {
+                    collector.record(oldValue, newValue);
+                }
+        }
+    }
+
+    private static void diffElements(Iterator<?> oldIterator, Iterator<?> newIterator, Collector collector) {
+        int index = 0;
+        while (oldIterator.hasNext() || newIterator.hasNext()) {
+            collector.push(index++, true);
+            diffValue(oldIterator.hasNext() ? oldIterator.next() : null,
+                    newIterator.hasNext() ? newIterator.next() : null,
+                    collector);
+            collector.pop();
+        }
+    }
+
+    private static void diffArray(Object oldArray, Object newArray, Collector collector) {
+        int oldLength = Array.getLength(oldArray);
+        int newLength = Array.getLength(newArray);
+        for (int i = 0, length = Math.max(oldLength, newLength); i < length; i++) {
+            collector.push(i, true);
+            diffValue(i < oldLength ? Array.get(oldArray, i) : null,
+                    i < newLength ? Array.get(newArray, i) : null,
+                    collector);
+            collector.pop();
+        }
+    }
+
+    private static void diffMap(Map<?, ?> oldMap, Map<?, ?> newMap, Collector collector) {
+        for (Map.Entry<?, ?> entry : newMap.entrySet()) {
+            collector.push(entry.getKey(), true);
+            diffValue(oldMap.get(entry.getKey()), entry.getValue(), collector);
+            collector.pop();
+        }
+        for (Map.Entry<?, ?> entry : oldMap.entrySet()) {
+            if (!newMap.containsKey(entry.getKey())) {
+                collector.push(entry.getKey(), true);
+                diffValue(entry.getValue(), null, collector);
+                collector.pop();
+            }
+        }
+    }
+
+    private static Kind kindOf(Class<?> type) {
+        if (type.isArray()) {
+            return type.getComponentType().isPrimitive() ? Kind.VALUE : Kind.ARRAY;
+        }
+        if (List.class.isAssignableFrom(type)) {
+            return Kind.LIST;
+        }
+        if (Map.class.isAssignableFrom(type)) {
+            return Kind.MAP;
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return Kind.COLLECTION;
+        }
+        if (type.isPrimitive()
+                || type.isEnum()
+                || Object.class == type
+                || CharSequence.class.isAssignableFrom(type)
+                || Number.class.isAssignableFrom(type)
+                || Date.class.isAssignableFrom(type)
+                || type.getName().startsWith("java.")
+                || type.getName().startsWith("javax.")) {
+            return Kind.VALUE;
+        }
+        // 没有可读属性的类型只能整体比较
+        return 0 == DIFFER_CACHE.get(type).getters.length ? Kind.VALUE : Kind.BEAN;
+    }
+
+    private static PropertyDescriptor[] readableProperties(Class<?> beanClass) {
+        BeanInfo beanInfo;
+        try {
+            beanInfo = Introspector.getBeanInfo(beanClass, Object.class);
+        } catch (IntrospectionException e) {
+            throw new RuntimeException(e);
+        }
+        List<PropertyDescriptor> descriptors = new ArrayList<>();
+        for (PropertyDescriptor descriptor : beanInfo.getPropertyDescriptors()) {
+            if (null != descriptor.getReadMethod()) {
+                descriptors.add(descriptor);
+            }
+        }
+        return descriptors.toArray(new PropertyDescriptor[0]);
+    }
+
+    private static MethodAccess methodAccess(Class<?> beanClass) {
+        if (!Modifier.isPublic(beanClass.getModifiers())) {
+            return null;
+        }
+        try {
+            return MethodAccess.get(beanClass);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static Function<Object, Object> getter(MethodAccess methodAccess, Method readMethod) {
+        if (null != methodAccess && Modifier.isPublic(readMethod.getDeclaringClass().getModifiers())) {
+            int index = methodAccess.getIndex(readMethod.getName(), readMethod.getParameterTypes());
+            return bean -> methodAccess.invoke(bean, index);
+        }
+        readMethod.setAccessible(true);
+        return bean -> {
+            try {
+                return readMethod.invoke(bean);
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException(e);
+            }
+        };
+    }
+
+    /**
+     * 单次diff的路径与变更收集器
+     */
+    private static final class Collector {
+
+        private final boolean includeOldValues;
+        private final boolean ignoreNullNewValues;
+        private Object[] segments = new Object[8];
+        private boolean[] indexes = new boolean[8];
+        private int depth;
+        private final List<Object> visiting = new ArrayList<>();
+        private String[][] paths = new String[8][];
+        private Object[] newValues = new Object[8];
+        private Object[] oldValues;
+        private int size;
+
+        private Collector(boolean includeOldValues, boolean ignoreNullNewValues) {
+            this.includeOldValues = includeOldValues;
+            this.ignoreNullNewValues = ignoreNullNewValues;
+            if (includeOldValues) {
+                this.oldValues = new Object[8];
+            }
+        }
+
+        private void push(Object segment, boolean index) {
+            if (this.depth == this.segments.length) {
+                this.segments = Arrays.copyOf(this.segments, this.depth << 1);
+                this.indexes = Arrays.copyOf(this.indexes, this.depth << 1);
+            }
+            this.segments[this.depth] = segment;
+            this.indexes[this.depth++] = index;
+        }
+
+        private void pop() {
+            this.segments[--this.depth] = null;
+        }
+
+        /**
+         * 任一侧是否为正在比较的祖先对象，即循环引用
+         */
+        private boolean isVisiting(Object oldBean, Object newBean) {
+            for (Object visited : this.visiting) {
+                if (null != visited && (visited == oldBean || visited == newBean)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 两侧是否引用同一层祖先，visiting中按(旧值, 新值)成对保存
+         */
+        private boolean isSameReference(Object oldBean, Object newBean) {
+            for (int i = 0; i < this.visiting.size(); i += 2) {
+                if (this.visiting.get(i) == oldBean && this.visiting.get(i + 1) == newBean) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void enter(Object oldBean, Object newBean) {
+            this.visiting.add(oldBean);
+            this.visiting.add(newBean);
+        }
+
+        private void exit() {
+            this.visiting.remove(this.visiting.size() - 1);
+            this.visiting.remove(this.visiting.size() - 1);
+        }
+
+        private void record(Object oldValue, Object newValue) {
+            if (this.size == this.paths.length) {
+                this.paths = Arrays.copyOf(this.paths, this.size << 1);
+                this.newValues = Arrays.copyOf(this.newValues, this.size << 1);
+                if (this.includeOldValues) {
+                    this.oldValues = Arrays.copyOf(this.oldValues, this.size << 1);
+                }
+            }
+            String[] path = new String[this.depth];
+            for (int i = 0; i < this.depth; i++) {
+                path[i] = this.indexes[i] ? "[" + this.segments[i] + "]" : (String) this.segments[i];
+            }
+            this.paths[this.size] = path;
+            this.newValues[this.size] = newValue;
+            if (this.includeOldValues) {
+                this.oldValues[this.size] = oldValue;
+            }
+            this.size++;
+        }
+
+        private BeanChangeSet toChangeSet() {
+            if (0 == this.size && !this.includeOldValues) {
+                return BeanChangeSet.EMPTY;
+            }
+            return new BeanChangeSet(this.paths, this.newValues, this.oldValues, this.size);
+        }
+    }
+}
@@ -33,11 +33,19 @@ import net.sf.cglib.beans.BeanCopier;
 import net.sf.cglib.beans.BeanMap;
 import org.openingo.jdkits.collection.ListKit;
 import org.openingo.jdkits.reflect.ClassKit;
+import org.openingo.jdkits.validate.AssertKit;
 import org.openingo.jdkits.validate.ValidateKit;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
 
@@ -59,7 +67,7 @@ public final class BeanKit {
      */
     @SuppressWarnings("unchecked")
     public static Map<String, Object> beanToMap(Object bean) {
-        return null == bean ? null : BeanMap.create(bean);
+        return null == bean ? null : beanMap(bean.getClass()).newInstance(bean);
     }
 
     /**
@@ -70,9 +78,7 @@ public final class BeanKit {
      * @return 返回 bean 对象
      */
     public static <T> T mapToBean(Map<String, Object> map, Class<T> clazz) {
-        T bean = ClassKit.newInstance(clazz);
-        BeanMap.create(bean).putAll(map);
-        return bean;
+        return mapToBean(map, beanMap(clazz), instantiator(clazz));
     }
 
     /**
@@ -99,7 +105,92 @@ public final class BeanKit {
         if (ValidateKit.isEmpty(maps)) {
             return ListKit.emptyList();
         }
-        return maps.stream().map(e -> mapToBean(e, clazz)).collect(toList());
+        final BeanMap beanMap = beanMap(clazz);
+        final Supplier<T> instantiator = instantiator(clazz);
+        return maps.stream().map(e -> mapToBean(e, beanMap, instantiator)).collect(toList());
+    }
+
+    /**
+     * List&lt;T&gt; 按列转换为 属性名 -&gt; 属性值数组，第i个元素的属性值在数组的第i位，不为每个元素创建 Map
+     *
+     * @param beans 转换对象集合
+     * @param clazz 对象 Class
+     * @return 返回属性名与属性值数组
+     */
+    public static <T> Map<String, Object[]> beansToColumns(List<? extends T> beans, Class<T> clazz) {
+        return beansToColumns(beans, clazz, beanProperties(clazz));
+    }
+
+    /**
+     * List&lt;T&gt; 按列转换为 属性名 -&gt; 属性值数组，只转换指定的属性
+     *
+     * @param beans      转换对象集合
+     * @param clazz      对象 Class
+     * @param properties 需要转换的属性
+     * @return 返回属性名与属性值数组，按properties的顺序
+     */
+    public static <T> Map<String, Object[]> beansToColumns(List<? extends T> beans, Class<T> clazz, String... properties) {
+        final BeanMap beanMap = beanMap(clazz);
+        final int size = null == beans ? 0 : beans.size();
+        final Object[][] columns = new Object[properties.length][];
+        Map<String, Object[]> ret = new LinkedHashMap<>(properties.length << 1);
+        for (int i = 0; i < properties.length; i++) {
+            AssertKit.isTrue(beanMap.containsKey(properties[i]), String.format("%s has no property %s", clazz, properties[i]));
+            columns[i] = new Object[size];
+            ret.put(properties[i], columns[i]);
+        }
+        if (0 == size) {
+            return ret;
+        }
+        int row = 0;
+        for (T bean : beans) {
+            for (int i = 0; i < properties.length; i++) {
+                columns[i][row] = beanMap.get(bean, properties[i]);
+            }
+            row++;
+        }
+        return ret;
+    }
+
+    /**
+     * 属性名 -&gt; 属性值数组 按行转换为 List&lt;T&gt;，不存在的属性被忽略，基本类型属性的null值被忽略
+     *
+     * @param columns 属性名与属性值数组，数组长度必须一致
+     * @param clazz   对象 Class
+     * @return 返回转换后的 bean 集合
+     */
+    public static <T> List<T> columnsToBeans(Map<String, Object[]> columns, Class<T> clazz) {
+        if (ValidateKit.isEmpty(columns)) {
+            return ListKit.emptyList();
+        }
+        final BeanMap beanMap = beanMap(clazz);
+        final Supplier<T> instantiator = instantiator(clazz);
+        final List<String> properties = new ArrayList<>(columns.size());
+        final List<Object[]> values = new ArrayList<>(columns.size());
+        final List<Boolean> primitives = new ArrayList<>(columns.size());
+        int size = -1;
+        for (Map.Entry<String, Object[]> column : columns.entrySet()) {
+            Object[] value = column.getValue();
+            AssertKit.isTrue(-1 == size || value.length == size, "the columns have different lengths");
+            size = value.length;
+            if (beanMap.containsKey(column.getKey())) {
+                properties.add(column.getKey());
+                values.add(value);
+                primitives.add(beanMap.getPropertyType(column.getKey()).isPrimitive());
+            }
+        }
+        List<T> beans = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            T bean = instantiator.get();
+            for (int i = 0; i < properties.size(); i++) {
+                Object value = values.get(i)[row];
+                if (null != value || !primitives.get(i)) {
+                    beanMap.put(bean, properties.get(i), value);
+                }
+            }
+            beans.add(bean);
+        }
+        return beans;
     }
 
     public static <A, B> B copy(A a, Class<B> bClass) {
@@ -112,17 +203,136 @@ public final class BeanKit {
         return Lists.newArrayList(converter(aClass, bClass).convertAll(a));
     }
 
+    /**
+     * 在ForkJoinPool.commonPool()中分块并行复制，结果与a的迭代顺序一致
+     */
+    public static <A, B> List<B> copyParallel(Collection<A> a, Class<B> bClass) {
+        return copyParallel(a, bClass, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 在executor中分块并行复制，结果与a的迭代顺序一致
+     */
+    public static <A, B> List<B> copyParallel(Collection<A> a, Class<B> bClass, Executor executor) {
+        return copyParallel(a, bClass, executor, ChunkedMapper.defaultChunkSize(a.size()));
+    }
+
+    /**
+     * 在executor中分块并行复制，结果与a的迭代顺序一致
+     *
+     * @param chunkSize 每块的元素个数，不大于该值的集合在当前线程中复制
+     */
+    @SuppressWarnings("unchecked")
+    public static <A, B> List<B> copyParallel(Collection<A> a, Class<B> bClass, Executor executor, int chunkSize) {
+        if (ValidateKit.isEmpty(a)) {
+            return ListKit.emptyArrayList();
+        }
+        final Class<A> aClass = (Class<A>)a.iterator().next().getClass();
+        final Converter<A, B> converter = converter(aClass, bClass);
+        return ChunkedMapper.map(a, () -> converter::convert, executor, chunkSize);
+    }
+
+    /**
+     * 惰性复制，不生成目标集合
+     */
+    public static <A, B> Stream<B> copy(Stream<A> a, Class<B> bClass) {
+        return a.map(e -> copy(e, bClass));
+    }
+
+    /**
+     * 预先生成aClass与bClasses之间的converter，避免首次请求时生成字节码
+     *
+     * @param aClass   源类型
+     * @param bClasses 目标类型
+     */
+    public static void warmUp(Class<?> aClass, Class<?>... bClasses) {
+        for (Class<?> bClass : bClasses) {
+            converter(aClass, bClass);
+            CgBeanKit.getBeanCopier(bClass, aClass);
+            instantiator(aClass);
+        }
+    }
+
+    /**
+     * class -> 未绑定 bean 的 BeanMap，通过newInstance(bean)或get/put(bean, key, ...)复用生成的类
+     */
+    private static final ClassValue<BeanMap> BEAN_MAP_CACHE = new ClassValue<BeanMap>() {
+        @Override
+        protected BeanMap computeValue(Class<?> clazz) {
+            BeanMap.Generator generator = new BeanMap.Generator();
+            generator.setBeanClass(clazz);
+            return generator.create();
+        }
+    };
+
+    /**
+     * aClass -> (bClass -> converter)，每对类型只创建一次
+     */
+    private static final ClassValue<Map<Class<?>, Converter<?, ?>>> CONVERTER_CACHE = new ClassValue<Map<Class<?>, Converter<?, ?>>>() {
+        @Override
+        protected Map<Class<?>, Converter<?, ?>> computeValue(Class<?> aClass) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * class -> 无参构造，优先使用ConstructorAccess，构造方法不可访问时使用反射
+     */
+    private static final ClassValue<Supplier<?>> INSTANTIATOR_CACHE = new ClassValue<Supplier<?>>() {
+        @Override
+        protected Supplier<?> computeValue(Class<?> clazz) {
+            try {
+                return CgBeanKit.getConstructorAccess(clazz)::newInstance;
+            } catch (RuntimeException e) {
+                return () -> ClassKit.newInstance(clazz);
+            }
+        }
+    };
+
+    @SuppressWarnings("unchecked")
     private static <A, B> Converter<A, B> converter(Class<A> aClass, Class<B> bClass) {
-        BeanCopier a2bCopier = BeanCopier.create(aClass, bClass, false);
-        BeanCopier b2aCopier = BeanCopier.create(bClass, aClass, false);
+        Map<Class<?>, Converter<?, ?>> converters = CONVERTER_CACHE.get(aClass);
+        Converter<?, ?> converter = converters.get(bClass);
+        if (null == converter) {
+            converter = converters.computeIfAbsent(bClass, key -> newConverter(aClass, bClass));
+        }
+        return (Converter<A, B>) converter;
+    }
+
+    private static <A, B> Converter<A, B> newConverter(Class<A> aClass, Class<B> bClass) {
+        BeanCopier a2bCopier = CgBeanKit.getBeanCopier(aClass, bClass);
+        Supplier<B> bInstantiator = instantiator(bClass);
         return Converter.from(a -> {
-            final B b = ClassKit.newInstance(bClass);
+            final B b = bInstantiator.get();
             a2bCopier.copy(a, b, null);
             return b;
         }, b -> {
-            final A a = ClassKit.newInstance(aClass);
-            b2aCopier.copy(b, a, null);
+            // 反向的copier在首次使用时生成
+            final A a = instantiator(aClass).get();
+            CgBeanKit.getBeanCopier(bClass, aClass).copy(b, a, null);
             return a;
         });
     }
-}
\ No newline at end of file
+
+    private static BeanMap beanMap(Class<?> clazz) {
+        return BEAN_MAP_CACHE.get(clazz);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String[] beanProperties(Class<?> clazz) {
+        return (String[]) beanMap(clazz).keySet().toArray(new String[0]);
+    }
+
+    private static <T> T mapToBean(Map<String, Object> map, BeanMap beanMap, Supplier<T> instantiator) {
+        T bean = instantiator.get();
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            beanMap.put(bean, entry.getKey(), entry.getValue());
+        }
+        return bean;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Supplier<T> instantiator(Class<T> clazz) {
+        return (Supplier<T>) INSTANTIATOR_CACHE.get(clazz);
+    }
+}
@@ -33,9 +33,14 @@ import net.sf.cglib.core.Converter;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * CgBeanKit
@@ -48,39 +53,58 @@ public final class CgBeanKit {
         //do nothing
     }
 
-    private static final Map<String, BeanCopier> BEAN_COPIER_CACHE = new ConcurrentHashMap<>();
+    /**
+     * source class -> (target class -> copier)
+     * <p>外层按源类型的ClassValue，内层computeIfAbsent保证每对类型只生成一次BeanCopier，查找时不分配对象<p/>
+     */
+    private static final ClassValue<Map<Class<?>, BeanCopier>> BEAN_COPIER_CACHE = new ClassValue<Map<Class<?>, BeanCopier>>() {
+        @Override
+        protected Map<Class<?>, BeanCopier> computeValue(Class<?> sourceClass) {
+            return new ConcurrentHashMap<>();
+        }
+    };
 
-    private static final Map<String, ConstructorAccess> CONSTRUCTOR_ACCESS_CACHE = new ConcurrentHashMap<>();
+    private static final ClassValue<ConstructorAccess<?>> CONSTRUCTOR_ACCESS_CACHE = new ClassValue<ConstructorAccess<?>>() {
+        @Override
+        protected ConstructorAccess<?> computeValue(Class<?> targetClass) {
+            try {
+                ConstructorAccess<?> constructorAccess = ConstructorAccess.get(targetClass);
+                constructorAccess.newInstance();
+                return constructorAccess;
+            } catch (Exception e) {
+                throw new RuntimeException(String.format("Create new instance of %s failed: %s", targetClass, e.getMessage()));
+            }
+        }
+    };
 
     public static void copyProperties(Object source, Object target) {
         copyProperties(source, target, null);
     }
 
     public static void copyProperties(Object source, Object target, Converter converter) {
+        MapperCopier<Object, Object> mapperCopier = getMapperCopier(source.getClass(), target.getClass(), converter);
+        if (null != mapperCopier) {
+            mapperCopier.copy(source, target);
+            return;
+        }
         BeanCopier copier = getBeanCopier(source.getClass(), target.getClass());
         copier.copy(source, target, converter);
     }
 
-    private static BeanCopier getBeanCopier(Class<?> sourceClass, Class<?> targetClass) {
-        String beanKey = generateKey(sourceClass, targetClass);
-        BeanCopier copier = null;
-        if (!BEAN_COPIER_CACHE.containsKey(beanKey)) {
-            copier = BeanCopier.create(sourceClass, targetClass, false);
-            BEAN_COPIER_CACHE.put(beanKey, copier);
-        } else {
-            copier = BEAN_COPIER_CACHE.get(beanKey);
-        }
-        return copier;
-    }
-
     /**
-     * 两个类的全限定名拼接起来构成Key
-     *
-     * @param sourceClass
-     * @param targetClass
+     * 不使用Converter时优先使用{@link JdkitsMapper}编译期生成的复制方法，不存在时返回null
      */
-    private static String generateKey(Class<?> sourceClass, Class<?> targetClass) {
-        return sourceClass.getName() + targetClass.getName();
+    static MapperCopier<Object, Object> getMapperCopier(Class<?> sourceClass, Class<?> targetClass, Converter converter) {
+        return null == converter ? MapperRegistry.getCopier(sourceClass, targetClass) : null;
+    }
+
+    static BeanCopier getBeanCopier(Class<?> sourceClass, Class<?> targetClass) {
+        Map<Class<?>, BeanCopier> copiers = BEAN_COPIER_CACHE.get(sourceClass);
+        BeanCopier copier = copiers.get(targetClass);
+        if (null == copier) {
+            copier = copiers.computeIfAbsent(targetClass, key -> BeanCopier.create(sourceClass, key, false));
+        }
+        return copier;
     }
 
     public static <T> T copyProperties(Object source, Class<T> targetClass) {
@@ -106,33 +130,120 @@ public final class CgBeanKit {
         if (sourceList == null || sourceList.isEmpty()) {
             return Collections.emptyList();
         }
-        ConstructorAccess<T> constructorAccess = getConstructorAccess(targetClass);
+        ListCopier<T> listCopier = new ListCopier<>(getConstructorAccess(targetClass), targetClass, converter);
         List<T> resultList = new ArrayList<>(sourceList.size());
         for (Object o : sourceList) {
-            T t = null;
-            try {
-                t = constructorAccess.newInstance();
-                copyProperties(o, t, converter);
-                resultList.add(t);
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
+            resultList.add(listCopier.apply(o));
         }
         return resultList;
     }
 
-    private static <T> ConstructorAccess<T> getConstructorAccess(Class<T> targetClass) {
-        ConstructorAccess<T> constructorAccess = CONSTRUCTOR_ACCESS_CACHE.get(targetClass.getName());
-        if (constructorAccess != null) {
-            return constructorAccess;
+    /**
+     * 在ForkJoinPool.commonPool()中分块并行复制，结果与sourceList顺序一致
+     */
+    public static <T> List<T> copyPropertiesOfListParallel(List<?> sourceList, Class<T> targetClass) {
+        return copyPropertiesOfListParallel(sourceList, targetClass, null, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 在executor中分块并行复制，结果与sourceList顺序一致
+     */
+    public static <T> List<T> copyPropertiesOfListParallel(List<?> sourceList, Class<T> targetClass, Converter converter, Executor executor) {
+        return copyPropertiesOfListParallel(sourceList, targetClass, converter, executor, ChunkedMapper.defaultChunkSize(null == sourceList ? 0 : sourceList.size()));
+    }
+
+    /**
+     * 在executor中分块并行复制，结果与sourceList顺序一致
+     *
+     * @param chunkSize 每块的元素个数，不大于该值的sourceList在当前线程中复制
+     */
+    public static <T> List<T> copyPropertiesOfListParallel(List<?> sourceList, Class<T> targetClass, Converter converter, Executor executor, int chunkSize) {
+        if (sourceList == null || sourceList.isEmpty()) {
+            return Collections.emptyList();
+        }
+        ConstructorAccess<T> constructorAccess = getConstructorAccess(targetClass);
+        return ChunkedMapper.map(sourceList, () -> new ListCopier<>(constructorAccess, targetClass, converter), executor, chunkSize);
+    }
+
+    public static <T> Stream<T> copyPropertiesOfStream(Stream<?> sources, Class<T> targetClass) {
+        return copyPropertiesOfStream(sources, targetClass, null);
+    }
+
+    /**
+     * 惰性复制，不生成目标集合
+     */
+    public static <T> Stream<T> copyPropertiesOfStream(Stream<?> sources, Class<T> targetClass, Converter converter) {
+        ConstructorAccess<T> constructorAccess = getConstructorAccess(targetClass);
+        return sources.map(source -> {
+            T t = constructorAccess.newInstance();
+            copyProperties(source, t, converter);
+            return t;
+        });
+    }
+
+    public static <T> Iterator<T> copyPropertiesOfIterator(Iterator<?> sources, Class<T> targetClass) {
+        return copyPropertiesOfIterator(sources, targetClass, null);
+    }
+
+    /**
+     * 惰性复制，不生成目标集合
+     */
+    public static <T> Iterator<T> copyPropertiesOfIterator(Iterator<?> sources, Class<T> targetClass, Converter converter) {
+        ListCopier<T> listCopier = new ListCopier<>(getConstructorAccess(targetClass), targetClass, converter);
+        return new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return sources.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return listCopier.apply(sources.next());
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> ConstructorAccess<T> getConstructorAccess(Class<T> targetClass) {
+        return (ConstructorAccess<T>) CONSTRUCTOR_ACCESS_CACHE.get(targetClass);
+    }
+
+    /**
+     * 逐个复制元素，同一源类型的元素复用上一次的copier，非线程安全
+     */
+    private static final class ListCopier<T> implements Function<Object, T> {
+        private final ConstructorAccess<T> constructorAccess;
+        private final Class<T> targetClass;
+        private final Converter converter;
+        private Class<?> sourceClass;
+        private MapperCopier<Object, Object> mapperCopier;
+        private BeanCopier copier;
+
+        private ListCopier(ConstructorAccess<T> constructorAccess, Class<T> targetClass, Converter converter) {
+            this.constructorAccess = constructorAccess;
+            this.targetClass = targetClass;
+            this.converter = converter;
         }
-        try {
-            constructorAccess = ConstructorAccess.get(targetClass);
-            constructorAccess.newInstance();
-            CONSTRUCTOR_ACCESS_CACHE.put(targetClass.toString(), constructorAccess);
-        } catch (Exception e) {
-            throw new RuntimeException(String.format("Create new instance of %s failed: %s", targetClass, e.getMessage()));
+
+        @Override
+        public T apply(Object o) {
+            T t = null;
+            try {
+                t = this.constructorAccess.newInstance();
+                if (o.getClass() != this.sourceClass) {
+                    this.sourceClass = o.getClass();
+                    this.mapperCopier = getMapperCopier(this.sourceClass, this.targetClass, this.converter);
+                    this.copier = null == this.mapperCopier ? getBeanCopier(this.sourceClass, this.targetClass) : null;
+                }
+                if (null != this.mapperCopier) {
+                    this.mapperCopier.copy(o, t);
+                } else {
+                    this.copier.copy(o, t, this.converter);
+                }
+                return t;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
         }
-        return constructorAccess;
     }
-}
\ No newline at end of file
+}
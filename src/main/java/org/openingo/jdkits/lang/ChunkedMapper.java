@@ -0,0 +1,142 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.jdkits.lang;
+
+import org.openingo.jdkits.validate.AssertKit;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * ChunkedMapper
+ * <p>将集合按spliterator拆分为若干块，在executor中逐块转换，结果保持原顺序<p/>
+ *
+ * @author Qicz
+ */
+final class ChunkedMapper {
+
+    private ChunkedMapper() {
+    }
+
+    /**
+     * 默认每块的最小元素个数
+     */
+    static final int MIN_CHUNK_SIZE = 1024;
+
+    /**
+     * 默认的块大小，约为每个CPU四块
+     *
+     * @param size 元素个数
+     * @return 块大小
+     */
+    static int defaultChunkSize(int size) {
+        return Math.max(MIN_CHUNK_SIZE, size / (Runtime.getRuntime().availableProcessors() << 2));
+    }
+
+    /**
+     * @param sources       源集合
+     * @param mapperFactory 每块创建一个转换函数，转换函数只在一个线程中使用
+     * @param executor      executor
+     * @param chunkSize     每块的元素个数
+     * @return 转换结果，与源集合顺序一致
+     */
+    @SuppressWarnings("unchecked")
+    static <S, T> List<T> map(Collection<? extends S> sources,
+                              Supplier<? extends Function<? super S, ? extends T>> mapperFactory,
+                              Executor executor,
+                              int chunkSize) {
+        AssertKit.notNull(executor, "executor cannot be null.");
+        AssertKit.isTrue(chunkSize > 0, "chunkSize must be positive.");
+        int size = sources.size();
+        List<T> resultList = new ArrayList<>(Collections.<T>nCopies(size, null));
+        if (size <= chunkSize) {
+            mapChunk(sources.spliterator(), 0, mapperFactory.get(), resultList);
+            return resultList;
+        }
+        Spliterator<S> spliterator = (Spliterator<S>) sources.spliterator();
+        if (!spliterator.hasCharacteristics(Spliterator.SUBSIZED)) {
+            // 需要准确的块大小来确定每块在结果中的位置
+            spliterator = new ArrayList<S>(sources).spliterator();
+        }
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        split(spliterator, 0, chunkSize, chunk -> futures.add(CompletableFuture.runAsync(
+                () -> mapChunk(chunk.spliterator, chunk.offset, mapperFactory.get(), resultList), executor)));
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return resultList;
+    }
+
+    /**
+     * 二分拆分到不大于chunkSize的块，前缀的位置在剩余部分之前
+     */
+    private static <S> void split(Spliterator<S> spliterator, int offset, int chunkSize, Consumer<Chunk<S>> chunkConsumer) {
+        if (spliterator.estimateSize() > chunkSize) {
+            Spliterator<S> prefix = spliterator.trySplit();
+            if (null != prefix) {
+                int prefixSize = (int) prefix.estimateSize();
+                split(prefix, offset, chunkSize, chunkConsumer);
+                split(spliterator, offset + prefixSize, chunkSize, chunkConsumer);
+                return;
+            }
+        }
+        chunkConsumer.accept(new Chunk<>(spliterator, offset));
+    }
+
+    private static <S, T> void mapChunk(Spliterator<? extends S> chunk,
+                                        int offset,
+                                        Function<? super S, ? extends T> mapper,
+                                        List<T> resultList) {
+        int[] index = {offset};
+        chunk.forEachRemaining(source -> resultList.set(index[0]++, mapper.apply(source)));
+    }
+
+    private static final class Chunk<S> {
+        private final Spliterator<S> spliterator;
+        private final int offset;
+
+        private Chunk(Spliterator<S> spliterator, int offset) {
+            this.spliterator = spliterator;
+            this.offset = offset;
+        }
+    }
+}
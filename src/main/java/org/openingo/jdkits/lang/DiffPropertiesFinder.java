@@ -27,7 +27,6 @@
 
 package org.openingo.jdkits.lang;
 
-import net.sf.cglib.beans.BeanCopier;
 import org.openingo.jdkits.reflect.ClassKit;
 
 import java.util.Collections;
@@ -61,12 +60,12 @@ public interface DiffPropertiesFinder<T> {
         }
         // add one obj property
         DiffPropertiesHelper.addObjProperty(objPropertyName);
-        BeanCopier.create(objClass, objClass, false)
+        CgBeanKit.getBeanCopier(objClass, objClass)
                 .copy(newValue, oldValue, null);
     }
 
     /**
-     * find data different properties
+     * find data different properties, only the properties putted by {@link #putDiffProperty} in the setters
      * @param clazz data class
      * @param newOne obj new one instance
      * @return the different data that is putted to Map.
@@ -77,7 +76,7 @@ public interface DiffPropertiesFinder<T> {
         }
         try {
             DiffPropertiesHelper.prepare();
-            BeanCopier.create(clazz, clazz, false)
+            CgBeanKit.getBeanCopier(clazz, clazz)
                     .copy(newOne, this, null);
             Map<String, Object> ret = DiffPropertiesHelper.get();
             if (null == ret) {
@@ -89,6 +88,41 @@ public interface DiffPropertiesFinder<T> {
         }
     }
 
+    /**
+     * find all different readable properties by {@link BeanDiffer}, and copy the new one's properties to this,
+     * null properties of the new one are copied too, so they are reported as changed to null
+     * @param clazz data class
+     * @param newOne obj new one instance
+     * @return the different data that is putted to Map, nested properties are putted to nested Map.
+     */
+    @SuppressWarnings("unchecked")
+    default Map<String, Object> findAllDiffProperties(Class<T> clazz, T newOne) {
+        if (null == clazz || null == newOne) {
+            return Collections.emptyMap();
+        }
+        Map<String, Object> ret = BeanDiffer.of(clazz).diff((T) this, newOne).toNestedMap();
+        CgBeanKit.copyProperties(newOne, this);
+        return ret;
+    }
+
+    /**
+     * find data different properties, null properties of the new one are ignored
+     * @param clazz data class
+     * @param newOne obj new one instance
+     * @param options diff options
+     * @return the change set, this is not modified
+     */
+    @SuppressWarnings("unchecked")
+    default BeanChangeSet findChanges(Class<T> clazz, T newOne, BeanDiffer.Option... options) {
+        if (null == clazz || null == newOne) {
+            return BeanChangeSet.empty();
+        }
+        BeanDiffer.Option[] diffOptions = new BeanDiffer.Option[options.length + 1];
+        System.arraycopy(options, 0, diffOptions, 0, options.length);
+        diffOptions[options.length] = BeanDiffer.Option.IGNORE_NULL_NEW_VALUES;
+        return BeanDiffer.of(clazz).diff((T) this, newOne, diffOptions);
+    }
+
     /**
      * put the different property
      * @param propertyName current property name
@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.jdkits.lang;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 编译期生成的属性复制方法注册表，按源类型与目标类型精确匹配
+ *
+ * @author Qicz
+ */
+public final class MapperRegistry {
+
+    private static final ClassValue<Map<Class<?>, MapperCopier<?, ?>>> COPIER_CACHE = new ClassValue<Map<Class<?>, MapperCopier<?, ?>>>() {
+        @Override
+        protected Map<Class<?>, MapperCopier<?, ?>> computeValue(Class<?> sourceClass) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private MapperRegistry() {
+    }
+
+    public static <S, T> void register(Class<S> sourceClass, Class<T> targetClass, MapperCopier<? super S, ? super T> copier) {
+        COPIER_CACHE.get(sourceClass).put(targetClass, copier);
+    }
+
+    /**
+     * 获取sourceClass到targetClass的复制方法，不存在时返回null
+     */
+    @SuppressWarnings("unchecked")
+    public static MapperCopier<Object, Object> getCopier(Class<?> sourceClass, Class<?> targetClass) {
+        Loader.load();
+        return (MapperCopier<Object, Object>) COPIER_CACHE.get(sourceClass).get(targetClass);
+    }
+
+    /**
+     * 首次查找时加载所有MapperRegistrar，单个registrar加载失败不影响其他registrar
+     */
+    private static final class Loader {
+
+        static {
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            if (null == classLoader) {
+                classLoader = MapperRegistry.class.getClassLoader();
+            }
+            Iterator<MapperRegistrar> registrars = ServiceLoader.load(MapperRegistrar.class, classLoader).iterator();
+            while (true) {
+                try {
+                    if (!registrars.hasNext()) {
+                        break;
+                    }
+                    registrars.next().register();
+                } catch (ServiceConfigurationError | LinkageError e) {
+                    // 跳过失效或无法加载的registrar，对应的类型对回退到cglib，迭代器已越过该项
+                }
+            }
+        }
+
+        private static void load() {
+        }
+    }
+}
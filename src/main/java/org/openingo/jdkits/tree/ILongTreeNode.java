@@ -0,0 +1,62 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.jdkits.tree;
+
+import java.util.List;
+
+/**
+ * ILongTreeNode
+ * <p>long类型id的树节点，配合{@link LongTreeBuilder}使用，组装时不装箱、不创建String<p/>
+ *
+ * @author Qicz
+ */
+public interface ILongTreeNode<E> {
+
+    /**
+     * 无父节点时treeRootNodeId()的返回值，对应{@link LongTreeBuilder.RootNode#NULL_ID}
+     */
+    long NULL_ID = Long.MIN_VALUE;
+
+    /**
+     * current node id
+     * @return nodeId
+     */
+    long treeNodeId();
+
+    /**
+     * current node root id
+     * @return rootNodeId, or {@link #NULL_ID} if the node has no parent
+     */
+    long treeRootNodeId();
+
+    /**
+     * put current node's child nodes
+     * @param childNodes put the child nodes
+     */
+    void putChildNodes(List<E> childNodes);
+}
@@ -0,0 +1,127 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.jdkits.tree;
+
+import java.util.Arrays;
+
+/**
+ * LongIntHashMap
+ * <p>long到非负int的开放寻址哈希表，不装箱<p/>
+ *
+ * @author Qicz
+ */
+final class LongIntHashMap {
+
+    /**
+     * returned by {@link #get(long)} when the key is absent
+     */
+    static final int ABSENT = -1;
+
+    private long[] keys;
+
+    private int[] values;
+
+    private int mask;
+
+    private int size;
+
+    LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize) * 2 - 1) << 1;
+        this.allocate(capacity);
+    }
+
+    /**
+     * @param key   key
+     * @return value, or {@link #ABSENT}
+     */
+    int get(long key) {
+        int slot = this.slot(key);
+        while (this.values[slot] != ABSENT) {
+            if (this.keys[slot] == key) {
+                return this.values[slot];
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        return ABSENT;
+    }
+
+    /**
+     * 不存在时放入value
+     *
+     * @param key   key
+     * @param value non-negative value
+     * @return existing value, or {@link #ABSENT} if the value was put
+     */
+    int putIfAbsent(long key, int value) {
+        int slot = this.slot(key);
+        while (this.values[slot] != ABSENT) {
+            if (this.keys[slot] == key) {
+                return this.values[slot];
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        this.keys[slot] = key;
+        this.values[slot] = value;
+        if (++this.size * 2 > this.keys.length) {
+            this.rehash();
+        }
+        return ABSENT;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & this.mask;
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        Arrays.fill(this.values, ABSENT);
+        this.mask = capacity - 1;
+    }
+
+    private void rehash() {
+        long[] oldKeys = this.keys;
+        int[] oldValues = this.values;
+        this.allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != ABSENT) {
+                int slot = this.slot(oldKeys[i]);
+                while (this.values[slot] != ABSENT) {
+                    slot = (slot + 1) & this.mask;
+                }
+                this.keys[slot] = oldKeys[i];
+                this.values[slot] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.jdkits.tree;
+
+import org.openingo.jdkits.collection.ListKit;
+import org.openingo.jdkits.validate.AssertKit;
+import org.openingo.jdkits.validate.ValidateKit;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * LongTreeBuilder
+ * <p>{@link ILongTreeNode}的树构建，与{@link TreeBuilder}的约定一致，
+ * 父节点id按long索引，组装时不装箱、不创建String<p/>
+ *
+ * @author Qicz
+ */
+public final class LongTreeBuilder {
+
+    private LongTreeBuilder(){}
+
+    /**
+     * 解析树形数据
+     * <p>包含root节点，root节点为非0或NULL_ID<p/>
+     *
+     * @param nonZeroRootNodeId 顶层节点id
+     * @param entityList 节点数据集合
+     * @return 树形结构数据
+     */
+    public static <E extends ILongTreeNode<E>> List<E> buildTree(long nonZeroRootNodeId,
+                                                                 List<E> entityList) {
+        return buildTree(nonZeroRootNodeId, entityList, true, null);
+    }
+
+    /**
+     * 解析树形数据
+     * <p>包含root节点，root节点为非0或NULL_ID<p/>
+     *
+     * @param nonZeroRootNodeId 顶层节点id
+     * @param entityList 节点数据集合
+     * @param comparator 自定义比较器
+     * @return 树形结构数据
+     */
+    public static <E extends ILongTreeNode<E>> List<E> buildTree(long nonZeroRootNodeId,
+                                                                 List<E> entityList,
+                                                                 Comparator<? super E> comparator) {
+        return buildTree(nonZeroRootNodeId, entityList, true, comparator);
+    }
+
+    /**
+     * 解析树形数据
+     *
+     * @param nonZeroRootNodeId 顶层节点id，非0或NULL_ID
+     * @param entityList 节点数据集合
+     * @param hasRoot    是否包含root节点
+     * @return 树形结构数据
+     */
+    public static <E extends ILongTreeNode<E>> List<E> buildTree(long nonZeroRootNodeId,
+                                                                 List<E> entityList,
+                                                                 boolean hasRoot) {
+        return buildTree(nonZeroRootNodeId, entityList, hasRoot, null);
+    }
+
+    /**
+     * 解析树形数据
+     *
+     * @param nonZeroRootNodeId 顶层节点id，非0或NULL_ID
+     * @param entityList 节点数据集合
+     * @param hasRoot    是否包含root节点
+     * @param comparator 自定义比较器
+     * @return 树形结构数据
+     */
+    public static <E extends ILongTreeNode<E>> List<E> buildTree(long nonZeroRootNodeId,
+                                                                 List<E> entityList,
+                                                                 boolean hasRoot,
+                                                                 Comparator<? super E> comparator) {
+        AssertKit.isFalse(0L == nonZeroRootNodeId || ILongTreeNode.NULL_ID == nonZeroRootNodeId, "nonZeroRootNodeId cannot be 0 or NULL_ID.");
+        return toTree(nonZeroRootNodeId, entityList, hasRoot, comparator);
+    }
+
+    /**
+     * Root Id Node
+     */
+    public enum RootNode {
+        /**
+         * id is 0
+         */
+        ZERO_ID(0L),
+
+        /**
+         * no parent, id is {@link ILongTreeNode#NULL_ID}
+         */
+        NULL_ID(ILongTreeNode.NULL_ID);
+
+        private long id;
+        RootNode(long id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * 解析树形数据
+     * <p>包含root节点<p/>
+     *
+     * @param entityList 节点数据集合
+     * @return 树形结构数据
+     */
+    public static <E extends ILongTreeNode<E>> List<E> buildTree(RootNode rootNode, List<E> entityList) {
+        return toTree(rootNode.id, entityList, false, null);
+    }
+
+    /**
+     * 解析树形数据
+     * <p>包含root节点<p/>
+     *
+     * @param entityList 节点数据集合
+     * @param comparator 自定义比较器
+     * @return 树形结构数据
+     */
+    public static <E extends ILongTreeNode<E>> List<E> buildTree(RootNode rootNode,
+                                                                 List<E> entityList,
+                                                                 Comparator<? super E> comparator) {
+        return toTree(rootNode.id, entityList, false, comparator);
+    }
+
+    /**
+     * 解析树形数据
+     * <p>按父节点id分组（计数排序），每组子节点是entities中的连续区间，
+     * 节点id到分组的索引为long开放寻址哈希表<p/>
+     *
+     * @param rootNodeId      顶层节点id
+     * @param entities 节点数据集合
+     * @param hasRoot    是否包含root节点，顶层元素为id等于rootNodeId的节点
+     * @param comparator          自定义比较器
+     * @return 树形结构数据
+     */
+    private static <E extends ILongTreeNode<E>> List<E> toTree(long rootNodeId,
+                                                               List<E> entities,
+                                                               boolean hasRoot,
+                                                               Comparator<? super E> comparator) {
+        List<E> retTree = ListKit.emptyArrayList();
+        int size = entities.size();
+        LongIntHashMap groups = new LongIntHashMap(size);
+        int[] groupOf = new int[size];
+        int[] groupStarts = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            E entity = entities.get(i);
+            long parentNodeId = entity.treeRootNodeId();
+            int group = groups.putIfAbsent(parentNodeId, groups.size());
+            if (LongIntHashMap.ABSENT == group) {
+                group = groups.size() - 1;
+            }
+            groupOf[i] = group;
+            groupStarts[group + 1]++;
+            if (hasRoot ? rootNodeId == entity.treeNodeId() : rootNodeId == parentNodeId) {
+                retTree.add(entity);
+            }
+        }
+        if (ValidateKit.isEmpty(retTree)) {
+            return retTree;
+        }
+        if (ValidateKit.isNotNull(comparator)) {
+            retTree.sort(comparator);
+        }
+
+        // 计数排序，组内保持entities中的顺序
+        int groupCount = groups.size();
+        for (int group = 0; group < groupCount; group++) {
+            groupStarts[group + 1] += groupStarts[group];
+        }
+        int[] cursors = Arrays.copyOf(groupStarts, groupCount);
+        Object[] grouped = new Object[size];
+        for (int i = 0; i < size; i++) {
+            grouped[cursors[groupOf[i]]++] = entities.get(i);
+        }
+
+        Assembler<E> assembler = new Assembler<E>(groups, groupStarts, grouped, comparator);
+        retTree.forEach(assembler::wire);
+        return retTree;
+    }
+
+    /**
+     * 组装子树，非递归的后序遍历，子节点先于父节点调用putChildNodes
+     */
+    private static final class Assembler<E extends ILongTreeNode<E>> {
+        private final LongIntHashMap groups;
+        private final int[] groupStarts;
+        private final Object[] grouped;
+        private final boolean[] put;
+        private final Comparator<? super E> comparator;
+
+        private Assembler(LongIntHashMap groups, int[] groupStarts, Object[] grouped, Comparator<? super E> comparator) {
+            this.groups = groups;
+            this.groupStarts = groupStarts;
+            this.grouped = grouped;
+            this.put = new boolean[groups.size()];
+            this.comparator = comparator;
+        }
+
+        private void wire(E node) {
+            Deque<Frame<E>> stack = new ArrayDeque<>();
+            stack.push(this.frame(node));
+            while (!stack.isEmpty()) {
+                Frame<E> frame = stack.peek();
+                if (frame.expand && frame.cursor < frame.childNodes.size()) {
+                    stack.push(this.frame(frame.childNodes.get(frame.cursor++)));
+                    continue;
+                }
+                stack.pop();
+                frame.node.putChildNodes(frame.childNodes);
+            }
+        }
+
+        /**
+         * 取出节点的子数据集合，已组装过的分组（重复id或环）不再展开
+         */
+        @SuppressWarnings("unchecked")
+        private Frame<E> frame(E node) {
+            int group = this.groups.get(node.treeNodeId());
+            if (LongIntHashMap.ABSENT == group) {
+                return new Frame<>(node, ListKit.emptyArrayList(), false);
+            }
+            int from = this.groupStarts[group];
+            int to = this.groupStarts[group + 1];
+            List<E> childNodes = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                childNodes.add((E) this.grouped[i]);
+            }
+            if (ValidateKit.isNotNull(this.comparator)) {
+                childNodes.sort(this.comparator);
+            }
+            boolean expand = !this.put[group];
+            this.put[group] = true;
+            return new Frame<>(node, childNodes, expand);
+        }
+    }
+
+    private static final class Frame<E> {
+        private final E node;
+        private final List<E> childNodes;
+        private final boolean expand;
+        private int cursor;
+
+        private Frame(E node, List<E> childNodes, boolean expand) {
+            this.node = node;
+            this.childNodes = childNodes;
+            this.expand = expand;
+        }
+    }
+}
@@ -33,7 +33,11 @@ import org.openingo.jdkits.validate.AssertKit;
 import org.openingo.jdkits.validate.ValidateKit;
 
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Stream;
 
 /**
  * TreeBuilder
@@ -44,6 +48,11 @@ public final class TreeBuilder {
 
     private TreeBuilder(){}
 
+    /**
+     * 默认并行阈值，节点数小于该值时按顺序解析
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 13;
+
     /**
      * 解析树形数据
      * <p>包含root节点，root节点为非0或null<p/>
@@ -121,6 +130,10 @@ public final class TreeBuilder {
         RootNode(String id) {
             this.id = id;
         }
+
+        String id() {
+            return id;
+        }
     }
 
     /**
@@ -148,6 +161,140 @@ public final class TreeBuilder {
         return toTree(rootNode.id, entityList, true, comparator);
     }
 
+    /**
+     * 流式解析树形数据
+     * <p>包含root节点，逐条读取节点数据，无需先持有全部节点数据<p/>
+     *
+     * @param rootNode   顶层节点id
+     * @param entities   节点数据
+     * @param comparator 自定义比较器
+     * @return 树形结构数据
+     * @see TreeStreamBuilder
+     */
+    public static <E extends ITreeNode<E>> List<E> buildTree(RootNode rootNode,
+                                                             Iterator<? extends E> entities,
+                                                             Comparator<? super E> comparator) {
+        return new TreeStreamBuilder<E>(rootNode, comparator).addAll(entities).build();
+    }
+
+    /**
+     * 流式解析树形数据
+     * <p>包含root节点，按顺序读取节点数据，无需先持有全部节点数据<p/>
+     *
+     * @param rootNode   顶层节点id
+     * @param entities   节点数据
+     * @param comparator 自定义比较器
+     * @return 树形结构数据
+     * @see TreeStreamBuilder
+     */
+    public static <E extends ITreeNode<E>> List<E> buildTree(RootNode rootNode,
+                                                             Stream<? extends E> entities,
+                                                             Comparator<? super E> comparator) {
+        return new TreeStreamBuilder<E>(rootNode, comparator).addAll(entities).build();
+    }
+
+    /**
+     * 流式解析树形数据
+     *
+     * @param nonNullRootNodeId 顶层节点id，非0或null
+     * @param entities   节点数据
+     * @param hasRoot    是否包含root节点
+     * @param comparator 自定义比较器
+     * @return 树形结构数据
+     * @see TreeStreamBuilder
+     */
+    public static <E extends ITreeNode<E>> List<E> buildTree(String nonNullRootNodeId,
+                                                             Iterator<? extends E> entities,
+                                                             boolean hasRoot,
+                                                             Comparator<? super E> comparator) {
+        return new TreeStreamBuilder<E>(nonNullRootNodeId, hasRoot, comparator).addAll(entities).build();
+    }
+
+    /**
+     * 并行解析树形数据
+     * <p>包含root节点，root节点为非0或null，使用commonPool<p/>
+     *
+     * @param nonNullRootNodeId      顶层节点id
+     * @param entityList 节点数据集合
+     * @param comparator 自定义比较器
+     * @return 树形结构数据
+     */
+    public static <E extends ITreeNode<E>> List<E> buildTreeParallel(String nonNullRootNodeId,
+                                                                     List<E> entityList,
+                                                                     Comparator<? super E> comparator) {
+        return buildTreeParallel(nonNullRootNodeId, entityList, true, comparator);
+    }
+
+    /**
+     * 并行解析树形数据
+     * <p>使用commonPool<p/>
+     *
+     * @param nonNullRootNodeId      顶层节点id，非0或null
+     * @param entityList 节点数据集合
+     * @param hasRoot    是否包含root节点
+     * @param comparator 自定义比较器
+     * @return 树形结构数据
+     */
+    public static <E extends ITreeNode<E>> List<E> buildTreeParallel(String nonNullRootNodeId,
+                                                                     List<E> entityList,
+                                                                     boolean hasRoot,
+                                                                     Comparator<? super E> comparator) {
+        return buildTreeParallel(nonNullRootNodeId, entityList, hasRoot, comparator, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * 并行解析树形数据
+     *
+     * @param nonNullRootNodeId      顶层节点id，非0或null
+     * @param entityList 节点数据集合
+     * @param hasRoot    是否包含root节点
+     * @param comparator 自定义比较器
+     * @param pool       执行并行解析的ForkJoinPool
+     * @param parallelThreshold 并行阈值，节点数小于该值时按顺序解析
+     * @return 树形结构数据
+     */
+    public static <E extends ITreeNode<E>> List<E> buildTreeParallel(String nonNullRootNodeId,
+                                                                     List<E> entityList,
+                                                                     boolean hasRoot,
+                                                                     Comparator<? super E> comparator,
+                                                                     ForkJoinPool pool,
+                                                                     int parallelThreshold) {
+        AssertKit.isFalse(ValidateKit.isNull(nonNullRootNodeId) || StrKit.equalsAny(nonNullRootNodeId, "0", "null"), "nonNullRootNodeId cannot be null or 0 or \"null\".");
+        return toTreeParallel(nonNullRootNodeId, entityList, hasRoot, comparator, pool, parallelThreshold);
+    }
+
+    /**
+     * 并行解析树形数据
+     * <p>包含root节点，使用commonPool<p/>
+     *
+     * @param entityList 节点数据集合
+     * @param comparator 自定义比较器
+     * @return 树形结构数据
+     */
+    public static <E extends ITreeNode<E>> List<E> buildTreeParallel(RootNode rootNode,
+                                                                     List<E> entityList,
+                                                                     Comparator<? super E> comparator) {
+        return buildTreeParallel(rootNode, entityList, comparator, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * 并行解析树形数据
+     * <p>包含root节点<p/>
+     *
+     * @param entityList 节点数据集合
+     * @param comparator 自定义比较器
+     * @param pool       执行并行解析的ForkJoinPool
+     * @param parallelThreshold 并行阈值，节点数小于该值时按顺序解析
+     * @return 树形结构数据
+     */
+    public static <E extends ITreeNode<E>> List<E> buildTreeParallel(RootNode rootNode,
+                                                                     List<E> entityList,
+                                                                     Comparator<? super E> comparator,
+                                                                     ForkJoinPool pool,
+                                                                     int parallelThreshold) {
+        return toTreeParallel(rootNode.id, entityList, true, comparator, pool, parallelThreshold);
+    }
+
     /**
      * 解析树形数据
      *
@@ -161,6 +308,64 @@ public final class TreeBuilder {
                                                            List<E> entities,
                                                            boolean hasRoot,
                                                            Comparator<? super E> comparator) {
+        List<E> retTree = topNodes(rootNodeId, entities, hasRoot, comparator);
+        if (ValidateKit.isEmpty(retTree)) {
+            return retTree;
+        }
+        // 获取每个顶层元素的子数据集合
+        TreeNodeIndex<E> index = new TreeNodeIndex<>(entities, comparator);
+        retTree.forEach(index::wire);
+        return retTree;
+    }
+
+    /**
+     * 并行解析树形数据
+     *
+     * @param rootNodeId      顶层节点id
+     * @param entities 节点数据集合
+     * @param hasRoot    是否包含root节点
+     * @param comparator          自定义比较器
+     * @param pool       执行并行解析的ForkJoinPool
+     * @param parallelThreshold 并行阈值
+     * @return 树形结构数据
+     */
+    private static <E extends ITreeNode<E>> List<E> toTreeParallel(String rootNodeId,
+                                                                   List<E> entities,
+                                                                   boolean hasRoot,
+                                                                   Comparator<? super E> comparator,
+                                                                   ForkJoinPool pool,
+                                                                   int parallelThreshold) {
+        AssertKit.notNull(pool, "pool cannot be null.");
+        AssertKit.isTrue(parallelThreshold >= 0, "parallelThreshold cannot be negative.");
+        if (entities.size() < parallelThreshold) {
+            return toTree(rootNodeId, entities, hasRoot, comparator);
+        }
+        List<E> retTree = topNodes(rootNodeId, entities, hasRoot, comparator);
+        if (ValidateKit.isEmpty(retTree)) {
+            return retTree;
+        }
+        // 子数据集合先并行排序，再按顶层元素并行组装
+        TreeNodeIndex<E> index = new TreeNodeIndex<>(entities, null, true);
+        if (ValidateKit.isNotNull(comparator)) {
+            pool.invoke(ForkJoinTask.adapt(() -> index.sortChildNodes(comparator)));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> index.wireParallel(retTree)));
+        return retTree;
+    }
+
+    /**
+     * 获取顶层元素集合
+     *
+     * @param rootNodeId      顶层节点id
+     * @param entities 节点数据集合
+     * @param hasRoot    是否包含root节点
+     * @param comparator          自定义比较器
+     * @return 顶层元素集合
+     */
+    private static <E extends ITreeNode<E>> List<E> topNodes(String rootNodeId,
+                                                             List<E> entities,
+                                                             boolean hasRoot,
+                                                             Comparator<? super E> comparator) {
         List<E> retTree = ListKit.emptyArrayList();
         // 获取顶层元素集合
         if (StrKit.isBlank(rootNodeId)) {
@@ -184,41 +389,9 @@ public final class TreeBuilder {
                         .forEach(retTree::add);
             }
         }
-        if (ValidateKit.isEmpty(retTree)) {
-            return retTree;
-        }
-
-        if (ValidateKit.isNotNull(comparator)) {
+        if (ValidateKit.isNotEmpty(retTree) && ValidateKit.isNotNull(comparator)) {
             retTree.sort(comparator);
         }
-        // 获取每个顶层元素的子数据集合
-        retTree.forEach(entity -> entity.putChildNodes(getChildNodes(entity.treeNodeId(), entities, comparator)));
         return retTree;
     }
-
-    /**
-     * 获取子数据集合
-     *
-     * @param nodeParentId    节点pid
-     * @param entityList 节点数据集合
-     * @param comparator          自定义比较器
-     * @return 子数据集合
-     */
-    private static <E extends ITreeNode<E>> List<E> getChildNodes(String nodeParentId,
-                                                                  List<E> entityList,
-                                                                  Comparator<? super E> comparator) {
-        List<E> childNodes = ListKit.emptyArrayList();
-        // 子集的直接子对象
-        entityList.stream()
-                .filter(entity -> nodeParentId.equals(entity.treeRootNodeId()))
-                .forEach(childNodes::add);
-        // 排序
-        if (ValidateKit.isNotNull(comparator)) {
-            childNodes.sort(comparator);
-        }
-        // 子集的间接子对象,递归调用
-        childNodes.forEach(entity -> entity.putChildNodes(getChildNodes(entity.treeNodeId(), entityList, comparator)));
-        // 递归退出条件
-        return childNodes;
-    }
 }
@@ -0,0 +1,324 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.jdkits.tree;
+
+import org.openingo.jdkits.collection.ListKit;
+import org.openingo.jdkits.validate.AssertKit;
+import org.openingo.jdkits.validate.ValidateKit;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * TreeIndex
+ * <p>可增量维护的树形数据，单个节点的新增、移动、删除和排序只影响相关的子树及兄弟节点，
+ * 每个节点通过putChildNodes持有的子节点集合随之更新<p/>
+ * <p>顶层元素为父节点id等于rootNodeId的节点，父节点不存在的节点暂不挂载，
+ * 父节点新增后自动挂载，与{@link TreeBuilder}一致<p/>
+ * <p>非线程安全<p/>
+ *
+ * @author Qicz
+ */
+public class TreeIndex<E extends ITreeNode<E>> {
+
+    /**
+     * node id -> node entry
+     */
+    private final Map<String, Entry<E>> entries;
+
+    /**
+     * parent node id -> child nodes, the list put to the parent node
+     */
+    private final Map<String, List<E>> childNodesIndex;
+
+    private final String rootNodeId;
+
+    private final Comparator<? super E> comparator;
+
+    /**
+     * @param rootNode   顶层节点id
+     * @param entityList 节点数据集合
+     */
+    public TreeIndex(TreeBuilder.RootNode rootNode, List<E> entityList) {
+        this(rootNode.id(), entityList, null);
+    }
+
+    /**
+     * @param rootNode   顶层节点id
+     * @param entityList 节点数据集合
+     * @param comparator 自定义比较器
+     */
+    public TreeIndex(TreeBuilder.RootNode rootNode, List<E> entityList, Comparator<? super E> comparator) {
+        this(rootNode.id(), entityList, comparator);
+    }
+
+    /**
+     * @param rootNodeId 顶层元素的父节点id
+     * @param entityList 节点数据集合
+     * @param comparator 自定义比较器
+     */
+    public TreeIndex(String rootNodeId, List<E> entityList, Comparator<? super E> comparator) {
+        AssertKit.notNull(rootNodeId, "rootNodeId cannot be null.");
+        this.rootNodeId = rootNodeId;
+        this.comparator = comparator;
+        this.entries = new HashMap<>(Math.max(16, (int) (entityList.size() / .75f) + 1));
+        this.childNodesIndex = new HashMap<>(Math.max(16, (int) (entityList.size() / .75f) + 1));
+        this.childNodesIndex.put(rootNodeId, ListKit.emptyArrayList());
+        for (E entity : entityList) {
+            String nodeId = entity.treeNodeId();
+            AssertKit.isFalse(this.entries.containsKey(nodeId), "duplicate tree node id " + nodeId + ".");
+            this.entries.put(nodeId, new Entry<>(entity));
+            this.childNodes0(entity.treeRootNodeId()).add(entity);
+        }
+        if (ValidateKit.isNotNull(comparator)) {
+            this.childNodesIndex.values().forEach(childNodes -> childNodes.sort(comparator));
+        }
+        entityList.forEach(entity -> entity.putChildNodes(this.childNodes0(entity.treeNodeId())));
+    }
+
+    /**
+     * 顶层元素集合
+     * @return 树形结构数据，只读
+     */
+    public List<E> tree() {
+        return Collections.unmodifiableList(this.childNodesIndex.get(this.rootNodeId));
+    }
+
+    /**
+     * @param nodeId 节点id
+     * @return 节点，不存在时返回null
+     */
+    public E get(String nodeId) {
+        Entry<E> entry = this.entries.get(nodeId);
+        return ValidateKit.isNull(entry) ? null : entry.node;
+    }
+
+    /**
+     * @param nodeId 节点id
+     * @return 节点的子数据集合，只读
+     */
+    public List<E> childNodes(String nodeId) {
+        List<E> childNodes = this.childNodesIndex.get(nodeId);
+        return ValidateKit.isNull(childNodes) ? ListKit.emptyList() : Collections.unmodifiableList(childNodes);
+    }
+
+    /**
+     * @param nodeId 节点id
+     * @return 是否包含该节点
+     */
+    public boolean contains(String nodeId) {
+        return this.entries.containsKey(nodeId);
+    }
+
+    /**
+     * @return 节点个数
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * 新增节点，挂载到treeRootNodeId()对应的父节点下
+     * <p>已存在的子节点（先于父节点新增）一并挂载<p/>
+     *
+     * @param node 节点
+     */
+    public void insert(E node) {
+        String nodeId = node.treeNodeId();
+        AssertKit.isFalse(this.entries.containsKey(nodeId), "duplicate tree node id " + nodeId + ".");
+        this.entries.put(nodeId, new Entry<>(node));
+        node.putChildNodes(this.childNodes0(nodeId));
+        this.attach(node.treeRootNodeId(), node);
+    }
+
+    /**
+     * 更新节点
+     * <p>node可以是新的实例，也可以是已修改的原实例；
+     * 父节点id变化时移动到新的父节点下，并按比较器调整在兄弟节点中的位置<p/>
+     *
+     * @param node 节点
+     */
+    public void update(E node) {
+        String nodeId = node.treeNodeId();
+        Entry<E> entry = this.entries.get(nodeId);
+        AssertKit.notNull(entry, "tree node " + nodeId + " not found.");
+        String parentNodeId = node.treeRootNodeId();
+        if (!Objects.equals(entry.parentNodeId, parentNodeId)) {
+            AssertKit.isFalse(this.isAncestor(nodeId, parentNodeId), "cannot move tree node " + nodeId + " under itself.");
+        }
+        this.detach(entry);
+        entry.node = node;
+        entry.parentNodeId = parentNodeId;
+        node.putChildNodes(this.childNodes0(nodeId));
+        this.attach(parentNodeId, node);
+    }
+
+    /**
+     * 移动节点到新的父节点下
+     * <p>node的treeRootNodeId()应已返回新的父节点id<p/>
+     *
+     * @param node 节点
+     */
+    public void move(E node) {
+        this.update(node);
+    }
+
+    /**
+     * 删除节点及其子树
+     *
+     * @param nodeId 节点id
+     * @return 删除的节点集合，不存在时为空
+     */
+    public List<E> remove(String nodeId) {
+        Entry<E> entry = this.entries.get(nodeId);
+        if (ValidateKit.isNull(entry)) {
+            return ListKit.emptyArrayList();
+        }
+        this.detach(entry);
+        List<E> removed = ListKit.emptyArrayList();
+        Deque<E> stack = new ArrayDeque<>();
+        stack.push(entry.node);
+        while (!stack.isEmpty()) {
+            E node = stack.pop();
+            removed.add(node);
+            String id = node.treeNodeId();
+            this.entries.remove(id);
+            List<E> childNodes = this.childNodesIndex.remove(id);
+            if (ValidateKit.isNotNull(childNodes)) {
+                childNodes.forEach(stack::push);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * 按比较器调整节点在兄弟节点中的位置
+     * <p>用于排序字段变化后<p/>
+     *
+     * @param nodeId 节点id
+     */
+    public void reorder(String nodeId) {
+        AssertKit.notNull(this.comparator, "comparator cannot be null.");
+        Entry<E> entry = this.entries.get(nodeId);
+        AssertKit.notNull(entry, "tree node " + nodeId + " not found.");
+        this.detach(entry);
+        this.attach(entry.parentNodeId, entry.node);
+    }
+
+    /**
+     * 调整节点在兄弟节点中的位置
+     *
+     * @param nodeId   节点id
+     * @param position 新的位置
+     */
+    public void reorder(String nodeId, int position) {
+        Entry<E> entry = this.entries.get(nodeId);
+        AssertKit.notNull(entry, "tree node " + nodeId + " not found.");
+        List<E> siblings = this.childNodesIndex.get(entry.parentNodeId);
+        AssertKit.isTrue(position >= 0 && position < siblings.size(), "position out of range.");
+        siblings.remove(indexOf(siblings, entry.node));
+        siblings.add(position, entry.node);
+    }
+
+    private List<E> childNodes0(String parentNodeId) {
+        return this.childNodesIndex.computeIfAbsent(parentNodeId, key -> ListKit.emptyArrayList());
+    }
+
+    /**
+     * 挂载到父节点下，有比较器时插入到相等元素之后
+     */
+    private void attach(String parentNodeId, E node) {
+        List<E> siblings = this.childNodes0(parentNodeId);
+        if (ValidateKit.isNull(this.comparator)) {
+            siblings.add(node);
+            return;
+        }
+        int low = 0;
+        int high = siblings.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (this.comparator.compare(siblings.get(mid), node) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        siblings.add(low, node);
+    }
+
+    private void detach(Entry<E> entry) {
+        List<E> siblings = this.childNodesIndex.get(entry.parentNodeId);
+        siblings.remove(indexOf(siblings, entry.node));
+        if (siblings.isEmpty() && !this.entries.containsKey(entry.parentNodeId) && !this.rootNodeId.equals(entry.parentNodeId)) {
+            this.childNodesIndex.remove(entry.parentNodeId);
+        }
+    }
+
+    /**
+     * nodeId是否为descendantNodeId自身或其祖先
+     */
+    private boolean isAncestor(String nodeId, String descendantNodeId) {
+        String current = descendantNodeId;
+        for (int depth = 0; ValidateKit.isNotNull(current) && depth <= this.entries.size(); depth++) {
+            if (nodeId.equals(current)) {
+                return true;
+            }
+            Entry<E> entry = this.entries.get(current);
+            if (ValidateKit.isNull(entry)) {
+                return false;
+            }
+            current = entry.parentNodeId;
+        }
+        return false;
+    }
+
+    private static <E> int indexOf(List<E> list, E node) {
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i) == node) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("tree node not found in its parent child nodes.");
+    }
+
+    private static final class Entry<E extends ITreeNode<E>> {
+        private E node;
+        private String parentNodeId;
+
+        private Entry(E node) {
+            this.node = node;
+            this.parentNodeId = node.treeRootNodeId();
+        }
+    }
+}
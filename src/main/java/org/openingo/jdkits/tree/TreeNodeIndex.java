@@ -0,0 +1,242 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.jdkits.tree;
+
+import org.openingo.jdkits.collection.ListKit;
+import org.openingo.jdkits.validate.ValidateKit;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * TreeNodeIndex
+ * <p>父节点id到子节点集合的索引，一次遍历建立，组装树时按id直接取子节点<p/>
+ *
+ * @author Qicz
+ */
+final class TreeNodeIndex<E extends ITreeNode<E>> {
+
+    /**
+     * parent node id -> child nodes, keep the entity list order
+     */
+    private final Map<String, List<E>> childNodesIndex;
+
+    /**
+     * the node ids whose child nodes list has been put
+     */
+    private final Set<String> putNodeIds;
+
+    private final Comparator<? super E> comparator;
+
+    /**
+     * 叶子节点是否共用不可变的空集合
+     */
+    private final boolean sharedEmptyLeaves;
+
+    /**
+     * 并行组装时，队列中富余的任务数不超过该值才继续拆分
+     */
+    private static final int SURPLUS_QUEUED_TASKS = 3;
+
+    TreeNodeIndex(Collection<E> entities, Comparator<? super E> comparator) {
+        this(entities, comparator, false);
+    }
+
+    /**
+     * @param entities   节点数据集合
+     * @param comparator 自定义比较器，为null时不排序
+     * @param concurrent 是否在多个线程中组装
+     */
+    TreeNodeIndex(Collection<E> entities, Comparator<? super E> comparator, boolean concurrent) {
+        this.childNodesIndex = new HashMap<>(Math.max(16, (int) (entities.size() / .75f) + 1));
+        this.putNodeIds = concurrent ? ConcurrentHashMap.newKeySet() : new HashSet<>();
+        this.comparator = comparator;
+        this.sharedEmptyLeaves = false;
+        for (E entity : entities) {
+            this.add(entity);
+        }
+    }
+
+    /**
+     * 空索引，节点由add逐个加入，叶子节点共用不可变的空集合
+     *
+     * @param comparator 自定义比较器，为null时不排序
+     */
+    TreeNodeIndex(Comparator<? super E> comparator) {
+        this.childNodesIndex = new HashMap<>();
+        this.putNodeIds = new HashSet<>();
+        this.comparator = comparator;
+        this.sharedEmptyLeaves = true;
+    }
+
+    /**
+     * 加入一个节点，只为有子节点的父节点id建立集合
+     *
+     * @param entity 节点
+     */
+    void add(E entity) {
+        this.childNodesIndex.computeIfAbsent(entity.treeRootNodeId(), key -> ListKit.emptyArrayList()).add(entity);
+    }
+
+    /**
+     * 父节点id的子节点集合，不排序也不标记为已组装
+     *
+     * @param nodeId 父节点id
+     * @return 没有子节点时为null
+     */
+    List<E> indexedChildNodes(String nodeId) {
+        return this.childNodesIndex.get(nodeId);
+    }
+
+    /**
+     * 获取节点的子数据集合
+     * <p>每个子集合只排序一次，重复的节点id获得一份拷贝<p/>
+     *
+     * @param node 节点
+     * @return 子数据集合
+     */
+    List<E> childNodes(E node) {
+        String nodeId = node.treeNodeId();
+        List<E> childNodes = ValidateKit.isNull(nodeId) ? null : this.childNodesIndex.get(nodeId);
+        if (ValidateKit.isNull(childNodes)) {
+            return this.sharedEmptyLeaves ? ListKit.emptyList() : ListKit.emptyArrayList();
+        }
+        if (!this.putNodeIds.add(nodeId)) {
+            return new ArrayList<>(childNodes);
+        }
+        if (ValidateKit.isNotNull(this.comparator)) {
+            childNodes.sort(this.comparator);
+        }
+        return childNodes;
+    }
+
+    /**
+     * 组装节点的子树
+     * <p>非递归的后序遍历，子节点先于父节点调用putChildNodes，与递归实现调用顺序一致<p/>
+     *
+     * @param node 子树根节点
+     */
+    void wire(E node) {
+        Deque<Frame<E>> stack = new ArrayDeque<>();
+        stack.push(new Frame<>(node, this.childNodes(node)));
+        while (!stack.isEmpty()) {
+            Frame<E> frame = stack.peek();
+            if (frame.cursor < frame.childNodes.size()) {
+                E child = frame.childNodes.get(frame.cursor++);
+                // 已组装过的子集合（重复id或环）不再展开
+                List<E> childNodes = this.childNodes(child);
+                if (childNodes.isEmpty() || this.isCopy(child, childNodes)) {
+                    child.putChildNodes(childNodes);
+                } else {
+                    stack.push(new Frame<>(child, childNodes));
+                }
+                continue;
+            }
+            stack.pop();
+            frame.node.putChildNodes(frame.childNodes);
+        }
+    }
+
+    /**
+     * 并行排序全部子数据集合
+     * <p>需在ForkJoinPool中调用，并行流使用当前的pool<p/>
+     *
+     * @param comparator 自定义比较器
+     */
+    void sortChildNodes(Comparator<? super E> comparator) {
+        this.childNodesIndex.values().parallelStream().forEach(childNodes -> childNodes.sort(comparator));
+    }
+
+    /**
+     * 并行组装顶层元素的子树
+     * <p>需在ForkJoinPool中调用<p/>
+     *
+     * @param nodes 顶层元素集合
+     */
+    void wireParallel(List<E> nodes) {
+        List<WireTask<E>> tasks = new ArrayList<>(nodes.size());
+        for (E node : nodes) {
+            tasks.add(new WireTask<>(this, node));
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    private boolean isCopy(E node, List<E> childNodes) {
+        return childNodes != this.childNodesIndex.get(node.treeNodeId());
+    }
+
+    /**
+     * 组装一个节点的子树，子节点较多且pool空闲时拆分为子任务
+     */
+    private static final class WireTask<E extends ITreeNode<E>> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final TreeNodeIndex<E> index;
+        private final E node;
+
+        private WireTask(TreeNodeIndex<E> index, E node) {
+            this.index = index;
+            this.node = node;
+        }
+
+        @Override
+        protected void compute() {
+            List<E> childNodes = this.index.childNodes(this.node);
+            if (!childNodes.isEmpty() && !this.index.isCopy(this.node, childNodes)) {
+                if (childNodes.size() > 1 && getSurplusQueuedTaskCount() <= SURPLUS_QUEUED_TASKS) {
+                    this.index.wireParallel(childNodes);
+                } else {
+                    childNodes.forEach(this.index::wire);
+                }
+            }
+            this.node.putChildNodes(childNodes);
+        }
+    }
+
+    private static final class Frame<E> {
+        private final E node;
+        private final List<E> childNodes;
+        private int cursor;
+
+        private Frame(E node, List<E> childNodes) {
+            this.node = node;
+            this.childNodes = childNodes;
+        }
+    }
+}
@@ -0,0 +1,362 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.jdkits.tree;
+
+import org.openingo.jdkits.collection.ListKit;
+import org.openingo.jdkits.validate.AssertKit;
+import org.openingo.jdkits.validate.ValidateKit;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TreeQueryIndex
+ * <p>不可变的树形数据查询索引，节点按先序遍历编号（嵌套集合），
+ * 祖先判断O(1)，子孙节点为先序序列中的连续区间，最近公共祖先使用倍增法O(log n)<p/>
+ * <p>顶层元素为父节点id等于rootNodeId的节点，不可达的节点不在索引中，与{@link TreeBuilder}一致；
+ * 构建时不调用putChildNodes，线程安全<p/>
+ *
+ * @author Qicz
+ */
+public final class TreeQueryIndex<E extends ITreeNode<E>> {
+
+    /**
+     * node id -> 先序编号
+     */
+    private final Map<String, Integer> preorders;
+
+    /**
+     * 先序遍历的节点序列
+     */
+    private final List<E> nodes;
+
+    /**
+     * 子树中最后一个节点的先序编号
+     */
+    private final int[] ends;
+
+    private final int[] depths;
+
+    /**
+     * ancestors[k][i] 为节点i的第2^k个祖先，顶层节点为-1
+     */
+    private final int[][] ancestors;
+
+    /**
+     * @param rootNode   顶层节点id
+     * @param entityList 节点数据集合
+     */
+    public TreeQueryIndex(TreeBuilder.RootNode rootNode, List<E> entityList) {
+        this(rootNode.id(), entityList, null);
+    }
+
+    /**
+     * @param rootNode   顶层节点id
+     * @param entityList 节点数据集合
+     * @param comparator 自定义比较器，决定子孙节点的顺序
+     */
+    public TreeQueryIndex(TreeBuilder.RootNode rootNode, List<E> entityList, Comparator<? super E> comparator) {
+        this(rootNode.id(), entityList, comparator);
+    }
+
+    /**
+     * @param rootNodeId 顶层元素的父节点id
+     * @param entityList 节点数据集合
+     * @param comparator 自定义比较器，决定子孙节点的顺序
+     */
+    public TreeQueryIndex(String rootNodeId, List<E> entityList, Comparator<? super E> comparator) {
+        AssertKit.notNull(rootNodeId, "rootNodeId cannot be null.");
+        Map<String, List<E>> childNodesIndex = new HashMap<>(Math.max(16, (int) (entityList.size() / .75f) + 1));
+        for (E entity : entityList) {
+            childNodesIndex.computeIfAbsent(entity.treeRootNodeId(), key -> ListKit.emptyArrayList()).add(entity);
+        }
+        if (ValidateKit.isNotNull(comparator)) {
+            childNodesIndex.values().forEach(childNodes -> childNodes.sort(comparator));
+        }
+
+        // 先序遍历编号
+        List<E> preorderNodes = new ArrayList<>(entityList.size());
+        List<Integer> parentPreorders = new ArrayList<>(entityList.size());
+        Map<String, Integer> preorderIndex = new HashMap<>(Math.max(16, (int) (entityList.size() / .75f) + 1));
+        Deque<E> stack = new ArrayDeque<>();
+        pushReversed(stack, childNodesIndex.get(rootNodeId));
+        while (!stack.isEmpty()) {
+            E node = stack.pop();
+            String nodeId = node.treeNodeId();
+            AssertKit.isFalse(preorderIndex.containsKey(nodeId), "duplicate tree node id " + nodeId + ".");
+            Integer parentPreorder = preorderIndex.get(node.treeRootNodeId());
+            preorderIndex.put(nodeId, preorderNodes.size());
+            preorderNodes.add(node);
+            parentPreorders.add(ValidateKit.isNull(parentPreorder) ? -1 : parentPreorder);
+            pushReversed(stack, childNodesIndex.get(nodeId));
+        }
+
+        int size = preorderNodes.size();
+        int[] parents = new int[size];
+        int[] depths = new int[size];
+        int[] ends = new int[size];
+        int maxDepth = 0;
+        for (int i = 0; i < size; i++) {
+            parents[i] = parentPreorders.get(i);
+            depths[i] = parents[i] < 0 ? 0 : depths[parents[i]] + 1;
+            maxDepth = Math.max(maxDepth, depths[i]);
+            ends[i] = i;
+        }
+        // 子节点的先序编号大于父节点，逆序即可得到子树的结束编号
+        for (int i = size - 1; i >= 0; i--) {
+            if (parents[i] >= 0) {
+                ends[parents[i]] = Math.max(ends[parents[i]], ends[i]);
+            }
+        }
+
+        int levels = 32 - Integer.numberOfLeadingZeros(Math.max(1, maxDepth));
+        int[][] ancestors = new int[levels][];
+        ancestors[0] = parents;
+        for (int k = 1; k < levels; k++) {
+            int[] previous = ancestors[k - 1];
+            int[] current = new int[size];
+            for (int i = 0; i < size; i++) {
+                current[i] = previous[i] < 0 ? -1 : previous[previous[i]];
+            }
+            ancestors[k] = current;
+        }
+
+        this.preorders = preorderIndex;
+        this.nodes = Collections.unmodifiableList(preorderNodes);
+        this.ends = ends;
+        this.depths = depths;
+        this.ancestors = ancestors;
+    }
+
+    /**
+     * @return 索引中的节点个数
+     */
+    public int size() {
+        return this.nodes.size();
+    }
+
+    /**
+     * @param nodeId 节点id
+     * @return 是否包含该节点
+     */
+    public boolean contains(String nodeId) {
+        return this.preorders.containsKey(nodeId);
+    }
+
+    /**
+     * @param nodeId 节点id
+     * @return 节点，不存在时返回null
+     */
+    public E get(String nodeId) {
+        int node = this.preorder(nodeId);
+        return node < 0 ? null : this.nodes.get(node);
+    }
+
+    /**
+     * 顶层元素集合
+     * @return 顶层元素集合
+     */
+    public List<E> tree() {
+        List<E> topNodes = ListKit.emptyArrayList();
+        for (int node = 0; node < this.nodes.size(); node = this.ends[node] + 1) {
+            topNodes.add(this.nodes.get(node));
+        }
+        return topNodes;
+    }
+
+    /**
+     * 子节点集合，O(子节点个数)
+     *
+     * @param nodeId 节点id
+     * @return 子节点集合
+     */
+    public List<E> childNodes(String nodeId) {
+        int node = this.preorder(nodeId);
+        if (node < 0) {
+            return ListKit.emptyArrayList();
+        }
+        List<E> childNodes = ListKit.emptyArrayList();
+        for (int child = node + 1; child <= this.ends[node]; child = this.ends[child] + 1) {
+            childNodes.add(this.nodes.get(child));
+        }
+        return childNodes;
+    }
+
+    /**
+     * @param nodeId 节点id
+     * @return 节点深度，顶层元素为0，不存在时返回-1
+     */
+    public int depth(String nodeId) {
+        int node = this.preorder(nodeId);
+        return node < 0 ? -1 : this.depths[node];
+    }
+
+    /**
+     * @param nodeId 节点id
+     * @return 父节点，顶层元素或不存在时返回null
+     */
+    public E parent(String nodeId) {
+        return this.ancestor(nodeId, 1);
+    }
+
+    /**
+     * 第distance个祖先节点，O(log n)
+     *
+     * @param nodeId   节点id
+     * @param distance 距离，0为节点自身
+     * @return 祖先节点，不存在时返回null
+     */
+    public E ancestor(String nodeId, int distance) {
+        AssertKit.isTrue(distance >= 0, "distance cannot be negative.");
+        int node = this.preorder(nodeId);
+        if (node < 0 || distance > this.depths[node]) {
+            return null;
+        }
+        for (int k = 0; distance > 0; k++, distance >>>= 1) {
+            if ((distance & 1) == 1) {
+                node = this.ancestors[k][node];
+            }
+        }
+        return this.nodes.get(node);
+    }
+
+    /**
+     * 是否为祖先节点，O(1)
+     *
+     * @param ancestorNodeId 祖先节点id
+     * @param nodeId         节点id
+     * @return nodeId是否在ancestorNodeId的子树中（不含自身）
+     */
+    public boolean isAncestor(String ancestorNodeId, String nodeId) {
+        int ancestor = this.preorder(ancestorNodeId);
+        int node = this.preorder(nodeId);
+        return ancestor >= 0 && node >= 0 && ancestor != node && this.inSubtree(ancestor, node);
+    }
+
+    /**
+     * 是否为子孙节点，O(1)
+     *
+     * @param nodeId         节点id
+     * @param ancestorNodeId 祖先节点id
+     * @return nodeId是否在ancestorNodeId的子树中（不含自身）
+     */
+    public boolean isDescendant(String nodeId, String ancestorNodeId) {
+        return this.isAncestor(ancestorNodeId, nodeId);
+    }
+
+    /**
+     * 子孙节点集合，按先序遍历排列，O(1)
+     *
+     * @param nodeId 节点id
+     * @return 子孙节点集合（不含自身），只读
+     */
+    public List<E> descendants(String nodeId) {
+        int node = this.preorder(nodeId);
+        return node < 0 ? ListKit.emptyList() : this.nodes.subList(node + 1, this.ends[node] + 1);
+    }
+
+    /**
+     * @param nodeId 节点id
+     * @return 子孙节点个数，O(1)
+     */
+    public int descendantCount(String nodeId) {
+        int node = this.preorder(nodeId);
+        return node < 0 ? 0 : this.ends[node] - node;
+    }
+
+    /**
+     * 祖先节点集合，由父节点到顶层元素，O(depth)
+     *
+     * @param nodeId 节点id
+     * @return 祖先节点集合
+     */
+    public List<E> ancestors(String nodeId) {
+        int node = this.preorder(nodeId);
+        if (node < 0) {
+            return ListKit.emptyArrayList();
+        }
+        List<E> ancestors = ListKit.emptyArrayList(this.depths[node]);
+        for (int parent = this.ancestors[0][node]; parent >= 0; parent = this.ancestors[0][parent]) {
+            ancestors.add(this.nodes.get(parent));
+        }
+        return ancestors;
+    }
+
+    /**
+     * 最近公共祖先，O(log n)
+     *
+     * @param nodeId      节点id
+     * @param otherNodeId 节点id
+     * @return 最近公共祖先（可以是节点自身），不在同一棵树或不存在时返回null
+     */
+    public E lowestCommonAncestor(String nodeId, String otherNodeId) {
+        int node = this.preorder(nodeId);
+        int other = this.preorder(otherNodeId);
+        if (node < 0 || other < 0) {
+            return null;
+        }
+        if (this.inSubtree(node, other)) {
+            return this.nodes.get(node);
+        }
+        if (this.inSubtree(other, node)) {
+            return this.nodes.get(other);
+        }
+        for (int k = this.ancestors.length - 1; k >= 0; k--) {
+            int ancestor = this.ancestors[k][node];
+            if (ancestor >= 0 && !this.inSubtree(ancestor, other)) {
+                node = ancestor;
+            }
+        }
+        int ancestor = this.ancestors[0][node];
+        return ancestor < 0 ? null : this.nodes.get(ancestor);
+    }
+
+    private int preorder(String nodeId) {
+        Integer preorder = this.preorders.get(nodeId);
+        return ValidateKit.isNull(preorder) ? -1 : preorder;
+    }
+
+    private boolean inSubtree(int ancestor, int node) {
+        return ancestor <= node && node <= this.ends[ancestor];
+    }
+
+    private static <E> void pushReversed(Deque<E> stack, List<E> nodes) {
+        if (ValidateKit.isNull(nodes)) {
+            return;
+        }
+        for (int i = nodes.size() - 1; i >= 0; i--) {
+            stack.push(nodes.get(i));
+        }
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.jdkits.tree;
+
+import org.openingo.jdkits.collection.ListKit;
+import org.openingo.jdkits.lang.StrKit;
+import org.openingo.jdkits.validate.AssertKit;
+import org.openingo.jdkits.validate.ValidateKit;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * TreeStreamBuilder
+ * <p>逐条接收节点数据，无需先持有全部节点数据的List，适用于数据库游标等数据源，顶层元素、排序与{@link TreeBuilder}一致<p/>
+ * <p>默认模式下输入顺序任意，只为有子节点的父节点id建立子数据集合，build时从顶层元素组装<p/>
+ * <p>指定parentIdOrder时输入须按父节点id有序（如 ORDER BY parent_id），每个父节点的分组结束即挂载到父节点，
+ * 只保留id不早于当前分组、子节点可能尚未到达的节点，以及父节点尚未到达的分组，其余节点不再被索引；该模式下节点id须唯一<p/>
+ * <p>叶子节点的子数据集合为不可变的空集合；非线程安全，只能build一次<p/>
+ *
+ * @author Qicz
+ */
+public final class TreeStreamBuilder<E extends ITreeNode<E>> implements Consumer<E> {
+
+    /**
+     * 包含顶层节点自身时的顶层元素
+     */
+    private final List<E> rootNodes = ListKit.emptyArrayList();
+
+    private final String rootNodeId;
+
+    private final boolean hasRoot;
+
+    private final Comparator<? super E> comparator;
+
+    /**
+     * 输入数据的父节点id顺序，为null时为默认模式
+     */
+    private final Comparator<String> parentIdOrder;
+
+    /**
+     * 默认模式：parent node id -> child nodes
+     */
+    private TreeNodeIndex<E> index;
+
+    /**
+     * 有序模式：id不早于当前分组、子节点可能尚未到达的节点
+     */
+    private final NavigableMap<String, E> waitingNodes;
+
+    /**
+     * 有序模式：已结束、父节点尚未到达的分组
+     */
+    private final Map<String, List<E>> pendingGroups;
+
+    /**
+     * 有序模式：当前分组及其父节点id
+     */
+    private List<E> currentGroup;
+    private String currentParentId;
+
+    /**
+     * 有序模式：不包含root节点时的顶层元素
+     */
+    private List<E> topNodes;
+
+    private boolean built;
+
+    /**
+     * @param rootNode   顶层节点id
+     * @param comparator 自定义比较器
+     */
+    public TreeStreamBuilder(TreeBuilder.RootNode rootNode,
+                             Comparator<? super E> comparator) {
+        this(rootNode, comparator, null);
+    }
+
+    /**
+     * @param rootNode      顶层节点id
+     * @param comparator    自定义比较器
+     * @param parentIdOrder 输入数据的父节点id顺序，为null时输入顺序任意
+     */
+    public TreeStreamBuilder(TreeBuilder.RootNode rootNode,
+                             Comparator<? super E> comparator,
+                             Comparator<String> parentIdOrder) {
+        this(parentIdOrder, rootNode.id(), false, comparator);
+    }
+
+    /**
+     * @param nonNullRootNodeId 顶层节点id，非0或null
+     * @param hasRoot           是否包含root节点
+     * @param comparator        自定义比较器
+     */
+    public TreeStreamBuilder(String nonNullRootNodeId,
+                             boolean hasRoot,
+                             Comparator<? super E> comparator) {
+        this(nonNullRootNodeId, hasRoot, comparator, null);
+    }
+
+    /**
+     * @param nonNullRootNodeId 顶层节点id，非0或null
+     * @param hasRoot           是否包含root节点
+     * @param comparator        自定义比较器
+     * @param parentIdOrder     输入数据的父节点id顺序，为null时输入顺序任意
+     */
+    public TreeStreamBuilder(String nonNullRootNodeId,
+                             boolean hasRoot,
+                             Comparator<? super E> comparator,
+                             Comparator<String> parentIdOrder) {
+        this(parentIdOrder, checkRootNodeId(nonNullRootNodeId), hasRoot, comparator);
+    }
+
+    private TreeStreamBuilder(Comparator<String> parentIdOrder,
+                              String rootNodeId,
+                              boolean hasRoot,
+                              Comparator<? super E> comparator) {
+        this.rootNodeId = rootNodeId;
+        this.hasRoot = hasRoot;
+        this.comparator = comparator;
+        if (ValidateKit.isNull(parentIdOrder)) {
+            this.parentIdOrder = null;
+            this.index = new TreeNodeIndex<E>(comparator);
+            this.waitingNodes = null;
+            this.pendingGroups = null;
+        } else {
+            this.parentIdOrder = Comparator.nullsFirst(parentIdOrder);
+            this.waitingNodes = new TreeMap<>(this.parentIdOrder);
+            this.pendingGroups = new HashMap<>();
+        }
+    }
+
+    private static String checkRootNodeId(String nonNullRootNodeId) {
+        AssertKit.isFalse(ValidateKit.isNull(nonNullRootNodeId) || StrKit.equalsAny(nonNullRootNodeId, "0", "null"), "nonNullRootNodeId cannot be null or 0 or \"null\".");
+        return nonNullRootNodeId;
+    }
+
+    /**
+     * 接收一个节点
+     * @param entity 节点
+     */
+    @Override
+    public void accept(E entity) {
+        AssertKit.isFalse(this.built, "tree already built.");
+        if (this.hasRoot && this.rootNodeId.equals(entity.treeNodeId())) {
+            this.rootNodes.add(entity);
+        }
+        if (ValidateKit.isNull(this.parentIdOrder)) {
+            this.index.add(entity);
+        } else {
+            this.acceptOrdered(entity);
+        }
+    }
+
+    /**
+     * @param entities 节点数据
+     * @return this
+     */
+    public TreeStreamBuilder<E> addAll(Iterator<? extends E> entities) {
+        entities.forEachRemaining(this);
+        return this;
+    }
+
+    /**
+     * @param entities 节点数据，按顺序接收
+     * @return this
+     */
+    public TreeStreamBuilder<E> addAll(Stream<? extends E> entities) {
+        entities.forEachOrdered(this);
+        return this;
+    }
+
+    /**
+     * 完成构建
+     * @return 树形结构数据
+     */
+    public List<E> build() {
+        AssertKit.isFalse(this.built, "tree already built.");
+        this.built = true;
+        List<E> retTree;
+        if (ValidateKit.isNull(this.parentIdOrder)) {
+            retTree = this.hasRoot ? this.rootNodes : new ArrayList<>(ListKit.emptyIfNull(this.index.indexedChildNodes(this.rootNodeId)));
+            if (ValidateKit.isNotNull(this.comparator)) {
+                retTree.sort(this.comparator);
+            }
+            retTree.forEach(this.index::wire);
+            this.index = null;
+        } else {
+            if (ValidateKit.isNotNull(this.currentGroup)) {
+                this.closeGroup();
+            }
+            this.putLeaves(this.waitingNodes);
+            // 父节点始终未到达的分组不在树中
+            this.pendingGroups.clear();
+            retTree = this.hasRoot ? this.rootNodes : (ValidateKit.isNull(this.topNodes) ? ListKit.emptyArrayList() : this.topNodes);
+            if (ValidateKit.isNotNull(this.comparator)) {
+                retTree.sort(this.comparator);
+            }
+        }
+        return retTree;
+    }
+
+    private void acceptOrdered(E entity) {
+        String parentId = entity.treeRootNodeId();
+        if (ValidateKit.isNull(this.currentGroup) || !Objects.equals(parentId, this.currentParentId)) {
+            if (ValidateKit.isNotNull(this.currentGroup)) {
+                AssertKit.isTrue(this.parentIdOrder.compare(parentId, this.currentParentId) > 0, "entities are not sorted by parent node id.");
+                this.closeGroup();
+            }
+            this.currentGroup = ListKit.emptyArrayList();
+            this.currentParentId = parentId;
+            // id早于当前分组的节点不会再有子节点
+            this.putLeaves(this.waitingNodes.headMap(parentId, false));
+        }
+        this.currentGroup.add(entity);
+        String nodeId = entity.treeNodeId();
+        List<E> childNodes = this.pendingGroups.remove(nodeId);
+        if (ValidateKit.isNotNull(childNodes)) {
+            entity.putChildNodes(childNodes);
+        } else if (this.parentIdOrder.compare(nodeId, parentId) < 0) {
+            entity.putChildNodes(ListKit.emptyList());
+        } else {
+            AssertKit.isNull(this.waitingNodes.put(nodeId, entity), "duplicate node id " + nodeId + ".");
+        }
+    }
+
+    /**
+     * 当前分组结束，挂载到父节点，父节点尚未到达时等待
+     */
+    private void closeGroup() {
+        List<E> group = this.currentGroup;
+        String parentId = this.currentParentId;
+        this.currentGroup = null;
+        if (ValidateKit.isNotNull(this.comparator)) {
+            group.sort(this.comparator);
+        }
+        if (!this.hasRoot && this.rootNodeId.equals(parentId)) {
+            this.topNodes = new ArrayList<>(group);
+        }
+        E parent = this.waitingNodes.remove(parentId);
+        if (ValidateKit.isNotNull(parent)) {
+            parent.putChildNodes(group);
+        } else {
+            this.pendingGroups.put(parentId, group);
+        }
+    }
+
+    private void putLeaves(Map<String, E> leaves) {
+        for (E leaf : leaves.values()) {
+            leaf.putChildNodes(ListKit.emptyList());
+        }
+        leaves.clear();
+    }
+}
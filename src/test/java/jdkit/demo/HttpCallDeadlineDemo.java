@@ -0,0 +1,129 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package jdkit.demo;
+
+import com.sun.net.httpserver.HttpServer;
+import org.openingo.jdkits.http.HttpKitClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HttpCallDeadlineDemo
+ * <p>异步请求读完响应体后连接已归还连接池，之后到达的deadline不能关闭被其他请求复用的连接<p/>
+ *
+ * @author Qicz
+ */
+public class HttpCallDeadlineDemo {
+
+    public static void main(String[] args) throws Exception {
+        ExecutorService serverExecutor = Executors.newCachedThreadPool();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/hello", exchange -> {
+            byte[] body = "hello".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            // 先发出响应头，连接被关闭时请求已开始接收响应，不会被重试掩盖
+            byte[] body = "slow".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().flush();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.setExecutor(serverExecutor);
+        server.start();
+        String base = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        int rounds = 5;
+        int failures = 0;
+        try (HttpKitClient client = new HttpKitClient()) {
+            // 预热，之后的请求复用同一个连接
+            client.get(base + "/hello");
+            for (int i = 0; i < rounds; i++) {
+                CountDownLatch released = new CountDownLatch(1);
+                // 读完响应体（连接归还连接池）后继续处理，处理期间到达150ms的deadline
+                CompletableFuture<String> async = client.getAsync(base + "/hello", null, null, 150, (status, headers, body) -> {
+                    String text = read(body);
+                    released.countDown();
+                    try {
+                        Thread.sleep(300);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return text;
+                });
+                if (!released.await(1, TimeUnit.SECONDS)) {
+                    System.out.println("round " + i + ": async call ended before reading the body -> " + async);
+                    continue;
+                }
+                // 复用刚归还的连接，请求进行中deadline到达
+                try {
+                    System.out.println("round " + i + ": sync get -> " + client.get(base + "/slow"));
+                } catch (RuntimeException e) {
+                    failures++;
+                    System.out.println("round " + i + ": sync get failed -> " + e.getCause());
+                }
+                try {
+                    async.join();
+                } catch (CompletionException e) {
+                    System.out.println("round " + i + ": async -> " + e.getCause());
+                }
+            }
+        }
+        System.out.println(failures == 0 ? "OK" : "FAILED: " + failures + "/" + rounds);
+
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    private static String read(InputStream body) throws IOException {
+        StringBuilder text = new StringBuilder();
+        byte[] buffer = new byte[1024];
+        int n;
+        while ((n = body.read(buffer)) != -1) {
+            text.append(new String(buffer, 0, n, StandardCharsets.UTF_8));
+        }
+        return text.toString();
+    }
+}
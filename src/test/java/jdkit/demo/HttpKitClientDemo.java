@@ -0,0 +1,164 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package jdkit.demo;
+
+import com.sun.net.httpserver.HttpServer;
+import org.openingo.jdkits.http.HttpKit;
+import org.openingo.jdkits.http.HttpKitClient;
+import org.openingo.jdkits.http.HttpMetrics;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * HttpKitClientDemo
+ * <p>在本地启动HttpServer，演示连接复用、chunked及gzip响应体、重定向和超时<p/>
+ *
+ * @author Qicz
+ */
+public class HttpKitClientDemo {
+
+    public static void main(String[] args) throws Exception {
+        ExecutorService serverExecutor = Executors.newCachedThreadPool();
+        HttpServer server = startServer(serverExecutor);
+        String base = "http://127.0.0.1:" + server.getAddress().getPort();
+        String route = base;
+
+        HttpMetrics metrics = new HttpMetrics();
+        HttpKit.HttpConfig config = new HttpKit.HttpConfig();
+        config.metricsListener = metrics;
+        try (HttpKitClient client = new HttpKitClient(config)) {
+            // 连接复用：读完的响应体归还连接，后续请求不再建连
+            for (int i = 0; i < 5; i++) {
+                client.get(base + "/hello");
+            }
+            HttpMetrics.HostMetrics host = metrics.host(route);
+            System.out.println("pool: calls=" + host.getCalls() + ", opened=" + host.getConnectionsOpened()
+                    + ", reused=" + host.getReusedConnections() + ", idle=" + host.getIdleConnections());
+
+            // chunked响应体
+            String chunked = client.get(base + "/chunked");
+            System.out.println("chunked: " + chunked.length() + " chars, " + chunked.substring(0, 12) + "...");
+
+            // gzip响应体按Content-Encoding自动解压
+            System.out.println("gzip: " + client.get(base + "/gzip"));
+
+            // 重定向：/redirect?n=3 -> /redirect?n=2 -> ... -> /hello
+            System.out.println("redirect: " + client.get(base + "/redirect?n=3"));
+            System.out.println("pool: calls=" + host.getCalls() + ", opened=" + host.getConnectionsOpened()
+                    + ", reused=" + host.getReusedConnections());
+
+            // 异步请求的deadline，到达时以TimeoutException完成并中止请求
+            long start = System.nanoTime();
+            try {
+                client.getAsync(base + "/slow", null, null, 200).join();
+            } catch (CompletionException e) {
+                System.out.println("async deadline: " + e.getCause() + " after " + (System.nanoTime() - start) / 1000000 + "ms");
+            }
+            System.out.println("pool after: opened=" + host.getConnectionsOpened() + ", open=" + host.getOpenConnections()
+                    + ", failures=" + host.getFailures());
+        }
+
+        // 同步请求的读超时
+        HttpKit.HttpConfig timeoutConfig = new HttpKit.HttpConfig();
+        timeoutConfig.readTimeout = 200;
+        try (HttpKitClient client = new HttpKitClient(timeoutConfig)) {
+            long start = System.nanoTime();
+            try {
+                client.get(base + "/slow");
+            } catch (RuntimeException e) {
+                System.out.println("read timeout: " + e.getCause() + " after " + (System.nanoTime() - start) / 1000000 + "ms");
+            }
+        }
+
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    private static HttpServer startServer(ExecutorService executor) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/hello", exchange -> {
+            byte[] body = "hello".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/chunked", exchange -> {
+            // 长度为0时以chunked发送
+            exchange.sendResponseHeaders(200, 0);
+            OutputStream out = exchange.getResponseBody();
+            for (int i = 0; i < 1000; i++) {
+                out.write(("row" + i + ",").getBytes(StandardCharsets.UTF_8));
+                if (i % 100 == 0) {
+                    out.flush();
+                }
+            }
+            exchange.close();
+        });
+        server.createContext("/gzip", exchange -> {
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+            try (GZIPOutputStream out = new GZIPOutputStream(gzipped)) {
+                out.write(("gzipped body, Accept-Encoding: " + acceptEncoding).getBytes(StandardCharsets.UTF_8));
+            }
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, gzipped.size());
+            gzipped.writeTo(exchange.getResponseBody());
+            exchange.close();
+        });
+        server.createContext("/redirect", exchange -> {
+            int n = Integer.parseInt(exchange.getRequestURI().getQuery().substring("n=".length()));
+            String location = n > 1 ? "/redirect?n=" + (n - 1) : "/hello";
+            // 带上响应体，没有响应体时HttpServer会关闭连接
+            byte[] body = ("redirect to " + location).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Location", location);
+            exchange.sendResponseHeaders(302, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.setExecutor(executor);
+        server.start();
+        return server;
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package jdkit.demo;
+
+import org.openingo.jdkits.lang.CgBeanKit;
+import org.openingo.jdkits.lang.JdkitsMapper;
+import org.openingo.jdkits.lang.MapperRegistry;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JdkitsMapperDemo
+ * <p>需要以jdkits-processor作为注解处理器编译，如 javac -processorpath jdkits-processor.jar<p/>
+ *
+ * @author Qicz
+ */
+public class JdkitsMapperDemo {
+
+    @JdkitsMapper
+    interface UserMapper {
+        UserDto toDto(User user);
+        void copy(User user, UserDto dto);
+    }
+
+    public static void main(String[] args) throws Exception {
+        // 生成的实现类为JdkitsMapperDemo_UserMapperImpl，未经注解处理器编译时CgBeanKit回退到BeanCopier
+        System.out.println("generated copier registered: " + (MapperRegistry.getCopier(User.class, UserDto.class) != null));
+
+        User user = new User();
+        user.setId(1L);
+        user.setName("Qicz");
+        user.setAge(18);
+        user.setScore(99);
+        user.setTags(Arrays.asList("a", "b"));
+
+        // 与BeanCopier一致：age为Integer -> Number可赋值，复制；score为int -> Integer类型不同，不复制
+        UserDto dto = CgBeanKit.copyProperties(user, UserDto.class);
+        System.out.println(dto);
+
+        Class<?> implClass;
+        try {
+            implClass = Class.forName(JdkitsMapperDemo.class.getName() + "_UserMapperImpl");
+        } catch (ClassNotFoundException e) {
+            System.out.println("UserMapperImpl not generated");
+            return;
+        }
+        UserMapper mapper = (UserMapper) implClass.getDeclaredConstructor().newInstance();
+        System.out.println(mapper.toDto(user));
+        UserDto target = new UserDto();
+        target.setScore(60);
+        mapper.copy(user, target);
+        System.out.println(target);
+    }
+
+    public static class User {
+        private Long id;
+        private String name;
+        private Integer age;
+        private int score;
+        private List<String> tags;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+
+        public void setAge(Integer age) {
+            this.age = age;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        public void setScore(int score) {
+            this.score = score;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+    }
+
+    public static class UserDto {
+        private Long id;
+        private String name;
+        private Number age;
+        private Integer score;
+        private Collection<String> tags;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Number getAge() {
+            return age;
+        }
+
+        public void setAge(Number age) {
+            this.age = age;
+        }
+
+        public Integer getScore() {
+            return score;
+        }
+
+        public void setScore(Integer score) {
+            this.score = score;
+        }
+
+        public Collection<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(Collection<String> tags) {
+            this.tags = tags;
+        }
+
+        @Override
+        public String toString() {
+            return "UserDto{" +
+                    "id=" + id +
+                    ", name='" + name + '\'' +
+                    ", age=" + age +
+                    ", score=" + score +
+                    ", tags=" + tags +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package jdkit.demo;
+
+import org.openingo.jdkits.json.FastJsonKit;
+import org.openingo.jdkits.json.JacksonKit;
+import org.openingo.jdkits.json.JsonArrayReader;
+import org.openingo.jdkits.json.JsonArrayWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * JsonArrayStreamDemo
+ * <p>JacksonKit/FastJsonKit的readArray、writeArray逐个读写元素，与toJson、toList整体读写的结果对比<p/>
+ *
+ * @author Qicz
+ */
+public class JsonArrayStreamDemo {
+
+    public static class Item {
+        private long id;
+        private String name;
+        private Double score;
+        private List<String> tags;
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Double getScore() {
+            return score;
+        }
+
+        public void setScore(Double score) {
+            this.score = score;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Item)) {
+                return false;
+            }
+            Item item = (Item) o;
+            return id == item.id && Objects.equals(name, item.name) && Objects.equals(score, item.score) && Objects.equals(tags, item.tags);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, name, score, tags);
+        }
+    }
+
+    private static final String[] TEXTS = {"", "a", "中文", "emoji 😀", "quote \" and \\ slash", "tab\tline\nbreak", "ctrl \u0001", "[1,2]", "{\"k\":null}"};
+
+    private static List<Item> items(Random random, int size) {
+        List<Item> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Item item = new Item();
+            item.setId(random.nextBoolean() ? random.nextLong() : i);
+            item.setName(random.nextInt(5) == 0 ? null : TEXTS[random.nextInt(TEXTS.length)] + i);
+            item.setScore(random.nextInt(5) == 0 ? null : random.nextInt(1000) / 8.0);
+            if (random.nextBoolean()) {
+                List<String> tags = new ArrayList<>();
+                for (int t = random.nextInt(4); t > 0; t--) {
+                    tags.add(TEXTS[random.nextInt(TEXTS.length)]);
+                }
+                item.setTags(tags);
+            }
+            items.add(item);
+        }
+        return items;
+    }
+
+    /**
+     * 每次只返回少量字节，覆盖缓冲区边界
+     */
+    private static InputStream trickle(byte[] bytes, Random random) {
+        return new ByteArrayInputStream(bytes) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 1 + random.nextInt(7)));
+            }
+        };
+    }
+
+    private static List<Item> readJackson(InputStream json) throws Exception {
+        List<Item> ret = new ArrayList<>();
+        try (JsonArrayReader<Item> reader = JacksonKit.readArray(json, Item.class)) {
+            reader.forEachRemaining(ret::add);
+        }
+        return ret;
+    }
+
+    private static List<Item> readFastJson(InputStream json) throws Exception {
+        List<Item> ret = new ArrayList<>();
+        try (JsonArrayReader<Item> reader = FastJsonKit.readArray(json, Item.class)) {
+            reader.forEachRemaining(ret::add);
+        }
+        return ret;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Random random = new Random(16);
+        for (int round = 0; round < 100; round++) {
+            List<Item> items = items(random, round == 99 ? 100000 : random.nextInt(200));
+
+            ByteArrayOutputStream jackson = new ByteArrayOutputStream();
+            try (JsonArrayWriter writer = JacksonKit.writeArray(jackson)) {
+                if (round % 2 == 0) {
+                    writer.writeAll(items.iterator());
+                } else {
+                    for (Item item : items) {
+                        writer.write(item);
+                    }
+                }
+                check(writer.count() == items.size(), "jackson count", round);
+            }
+            byte[] jacksonBytes = jackson.toByteArray();
+            // UTF-8输出与toJsonBytes一致（jackson的UTF-8输出将四字节字符写为转义的代理对，toJson的String保留原字符）
+            check(Arrays.equals(JacksonKit.toJsonBytes(items), jacksonBytes), "jackson writeArray == toJsonBytes", round);
+            check(items.equals(JacksonKit.toList(JacksonKit.toJson(items), Item.class)), "jackson toJson -> toList", round);
+
+            ByteArrayOutputStream fastJson = new ByteArrayOutputStream();
+            try (JsonArrayWriter writer = FastJsonKit.writeArray(fastJson)) {
+                writer.writeAll(items.iterator());
+                check(writer.count() == items.size(), "fastjson count", round);
+            }
+            byte[] fastJsonBytes = fastJson.toByteArray();
+            check(items.equals(FastJsonKit.toList(new String(fastJsonBytes, StandardCharsets.UTF_8), Item.class)), "fastjson writeArray -> toList", round);
+
+            check(items.equals(JacksonKit.toList(jacksonBytes, Item.class)), "jackson toList", round);
+            check(items.equals(readJackson(trickle(jacksonBytes, random))), "jackson readArray", round);
+            check(items.equals(readJackson(trickle(fastJsonBytes, random))), "jackson readArray fastjson output", round);
+            check(items.equals(readFastJson(trickle(fastJsonBytes, random))), "fastjson readArray", round);
+            check(items.equals(readFastJson(trickle(jacksonBytes, random))), "fastjson readArray jackson output", round);
+        }
+
+        // null和空内容没有元素
+        for (String json : new String[]{"null", "", " \n ", "[]", " [ ] "}) {
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            check(readJackson(new ByteArrayInputStream(bytes)).isEmpty(), "jackson empty [" + json + "]", -1);
+            check(readFastJson(new ByteArrayInputStream(bytes)).isEmpty(), "fastjson empty [" + json + "]", -1);
+        }
+        // 没有元素时写出[]
+        ByteArrayOutputStream empty = new ByteArrayOutputStream();
+        JacksonKit.writeArray(empty).close();
+        check("[]".equals(empty.toString("UTF-8")), "jackson writes []", -1);
+        empty.reset();
+        FastJsonKit.writeArray(empty).close();
+        check("[]".equals(empty.toString("UTF-8")), "fastjson writes []", -1);
+        System.out.println("OK");
+    }
+
+    private static void check(boolean expected, String step, int round) {
+        if (!expected) {
+            throw new IllegalStateException("round " + round + " " + step);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package jdkit.demo;
+
+import org.openingo.jdkits.json.JacksonKit;
+import org.openingo.jdkits.json.JsonPathKit;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * JsonPathKitDemo
+ * <p>JsonPathKit流式跳过不需要的子树、读完即停止，与JacksonKit解析整个文档后逐级查找的结果对比<p/>
+ *
+ * @author Qicz
+ */
+public class JsonPathKitDemo {
+
+    private static final String[] KEYS = {"a", "b", "data", "items", "中文", "a.b", "sp ace", "0"};
+    private static final Object MISSING = new Object();
+
+    private static Object value(Random random, int depth) {
+        int kind = random.nextInt(depth > 3 ? 5 : 8);
+        switch (kind) {
+            case 0:
+                return null;
+            case 1:
+                return random.nextBoolean();
+            case 2:
+                return random.nextInt(1000) - 500;
+            case 3:
+                return random.nextLong();
+            case 4:
+                return "s" + random.nextInt(100) + (random.nextBoolean() ? "😀\"" : "");
+            case 5:
+            case 6: {
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (int i = random.nextInt(5); i > 0; i--) {
+                    map.put(KEYS[random.nextInt(KEYS.length)], value(random, depth + 1));
+                }
+                return map;
+            }
+            default: {
+                List<Object> list = new ArrayList<>();
+                for (int i = random.nextInt(5); i > 0; i--) {
+                    list.add(value(random, depth + 1));
+                }
+                return list;
+            }
+        }
+    }
+
+    /**
+     * 在文档中随机向下走，偶尔走到不存在的字段或下标
+     */
+    private static List<Object> segments(Random random, Object doc) {
+        List<Object> segments = new ArrayList<>();
+        Object current = doc;
+        while (random.nextInt(4) != 0) {
+            if (current instanceof Map && !((Map<?, ?>) current).isEmpty() && random.nextInt(6) != 0) {
+                List<?> keys = new ArrayList<>(((Map<?, ?>) current).keySet());
+                Object key = keys.get(random.nextInt(keys.size()));
+                segments.add(key);
+                current = ((Map<?, ?>) current).get(key);
+            } else if (current instanceof List && !((List<?>) current).isEmpty() && random.nextInt(6) != 0) {
+                int index = random.nextInt(((List<?>) current).size());
+                segments.add(index);
+                current = ((List<?>) current).get(index);
+            } else {
+                segments.add(random.nextBoolean() ? (Object) KEYS[random.nextInt(KEYS.length)] : (Object) random.nextInt(6));
+                current = null;
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * $.a.b[3].c 与 $['a']["b"][3] 两种写法混用
+     */
+    private static String path(Random random, List<Object> segments) {
+        StringBuilder path = new StringBuilder(random.nextInt(5) == 0 && !segments.isEmpty() && segments.get(0) instanceof String ? "" : "$");
+        for (Object segment : segments) {
+            if (segment instanceof Integer) {
+                path.append('[').append(segment).append(']');
+            } else {
+                String key = (String) segment;
+                boolean plain = key.indexOf('.') < 0 && key.indexOf('[') < 0;
+                if (plain && random.nextBoolean()) {
+                    if (path.length() > 0) {
+                        path.append('.');
+                    }
+                    path.append(key);
+                } else {
+                    char quote = random.nextBoolean() ? '\'' : '"';
+                    path.append('[').append(quote).append(key).append(quote).append(']');
+                }
+            }
+        }
+        return path.toString();
+    }
+
+    /**
+     * 朴素实现：在整个文档中逐级查找
+     */
+    private static Object navigate(Object doc, List<Object> segments) {
+        Object current = doc;
+        for (Object segment : segments) {
+            if (segment instanceof String && current instanceof Map && ((Map<?, ?>) current).containsKey(segment)) {
+                current = ((Map<?, ?>) current).get(segment);
+            } else if (segment instanceof Integer && current instanceof List && (Integer) segment < ((List<?>) current).size()) {
+                current = ((List<?>) current).get((Integer) segment);
+            } else {
+                return MISSING;
+            }
+        }
+        return current;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Random random = new Random(18);
+        for (int round = 0; round < 3000; round++) {
+            Object generated = value(random, 0);
+            String json = JacksonKit.toJson(generated);
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            Object doc = JacksonKit.toObj(json, Object.class);
+
+            Map<String, Object> expected = new LinkedHashMap<>();
+            List<String> paths = new ArrayList<>();
+            Map<String, Class<?>> pathTypes = new LinkedHashMap<>();
+            for (int i = random.nextInt(6); i >= 0; i--) {
+                List<Object> segments = segments(random, doc);
+                String path = path(random, segments);
+                Object value = navigate(doc, segments);
+                paths.add(path);
+                pathTypes.put(path, Object.class);
+                if (MISSING != value) {
+                    expected.put(path, value);
+                }
+
+                Object single = MISSING == value ? null : value;
+                check(Objects.equals(single, JsonPathKit.read(json, path, Object.class)), "read String " + path + " in " + json);
+                check(Objects.equals(single, JsonPathKit.read(bytes, path, Object.class)), "read byte[] " + path + " in " + json);
+                check(Objects.equals(single, JsonPathKit.read(new ByteArrayInputStream(bytes), path, Object.class)), "read InputStream " + path + " in " + json);
+                if (value instanceof Number) {
+                    check(((Number) value).longValue() == JsonPathKit.read(bytes, path, long.class), "read long " + path + " in " + json);
+                } else if (value instanceof String) {
+                    check(value.equals(JsonPathKit.read(bytes, path, String.class)), "read String value " + path + " in " + json);
+                }
+            }
+
+            // 多个路径（含前缀重叠、重复路径）一次读取，按传入顺序返回
+            String[] pathArray = paths.toArray(new String[0]);
+            check(orderedEquals(expected, JsonPathKit.readAll(json, pathArray)), "readAll String " + paths + " in " + json);
+            check(orderedEquals(expected, JsonPathKit.readAll(bytes, pathArray)), "readAll byte[] " + paths + " in " + json);
+            check(orderedEquals(expected, JsonPathKit.readAll(new ByteArrayInputStream(bytes), pathTypes)), "readAll InputStream " + paths + " in " + json);
+        }
+
+        // 读到值后停止解析，不读取后面的内容
+        StringBuilder tail = new StringBuilder("{\"head\":{\"id\":7},\"tail\":[");
+        for (int i = 0; i < 200000; i++) {
+            tail.append(i).append(',');
+        }
+        tail.append("0]}");
+        CountingInputStream in = new CountingInputStream(tail.toString().getBytes(StandardCharsets.UTF_8));
+        check(Integer.valueOf(7).equals(JsonPathKit.read(in, "$.head.id", Integer.class)), "read head");
+        check(in.consumed < 64 << 10, "stopped after the value, consumed " + in.consumed);
+        check(!in.closed, "the input stream is not closed");
+        System.out.println("OK");
+    }
+
+    private static boolean orderedEquals(Map<String, Object> expected, Map<String, Object> actual) {
+        return expected.equals(actual) && new ArrayList<>(expected.keySet()).equals(new ArrayList<>(actual.keySet()));
+    }
+
+    private static final class CountingInputStream extends InputStream {
+        private final ByteArrayInputStream in;
+        private long consumed;
+        private boolean closed;
+
+        private CountingInputStream(byte[] bytes) {
+            this.in = new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public int read() {
+            int read = this.in.read();
+            this.consumed += read < 0 ? 0 : 1;
+            return read;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            int read = this.in.read(b, off, len);
+            this.consumed += Math.max(0, read);
+            return read;
+        }
+
+        @Override
+        public void close() {
+            this.closed = true;
+        }
+    }
+
+    private static void check(boolean expected, String step) {
+        if (!expected) {
+            throw new IllegalStateException(step);
+        }
+    }
+}
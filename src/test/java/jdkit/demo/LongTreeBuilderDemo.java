@@ -0,0 +1,213 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package jdkit.demo;
+
+import org.openingo.jdkits.tree.ILongTreeNode;
+import org.openingo.jdkits.tree.ITreeNode;
+import org.openingo.jdkits.tree.LongTreeBuilder;
+import org.openingo.jdkits.tree.TreeBuilder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * LongTreeBuilderDemo
+ * <p>LongTreeBuilder（long开放寻址索引）与TreeBuilder（String id、HashMap索引）的构建结果对比，
+ * id取低位相同的值（高位倍数、负数、极值）使开放寻址冲突<p/>
+ *
+ * @author Qicz
+ */
+public class LongTreeBuilderDemo implements ILongTreeNode<LongTreeBuilderDemo> {
+
+    private final long id;
+    private final long pid;
+    private final int order;
+    private List<LongTreeBuilderDemo> children;
+
+    public LongTreeBuilderDemo(long id, long pid, int order) {
+        this.id = id;
+        this.pid = pid;
+        this.order = order;
+    }
+
+    @Override
+    public long treeNodeId() {
+        return this.id;
+    }
+
+    @Override
+    public long treeRootNodeId() {
+        return this.pid;
+    }
+
+    @Override
+    public void putChildNodes(List<LongTreeBuilderDemo> childNodes) {
+        this.children = childNodes;
+    }
+
+    /**
+     * 同样数据的String id节点
+     */
+    static class StringNode implements ITreeNode<StringNode> {
+        private final String id;
+        private final String pid;
+        private final int order;
+        private List<StringNode> children;
+
+        StringNode(LongTreeBuilderDemo node) {
+            this.id = toString(node.id);
+            this.pid = toString(node.pid);
+            this.order = node.order;
+        }
+
+        /**
+         * NULL_ID对应TreeBuilder.RootNode.NULL_ID的"null"
+         */
+        private static String toString(long id) {
+            return ILongTreeNode.NULL_ID == id ? "null" : String.valueOf(id);
+        }
+
+        @Override
+        public String treeNodeId() {
+            return this.id;
+        }
+
+        @Override
+        public String treeRootNodeId() {
+            return this.pid;
+        }
+
+        @Override
+        public void putChildNodes(List<StringNode> childNodes) {
+            this.children = childNodes;
+        }
+    }
+
+    private static String render(List<LongTreeBuilderDemo> nodes) {
+        StringBuilder ret = new StringBuilder("[");
+        for (LongTreeBuilderDemo node : nodes) {
+            ret.append(StringNode.toString(node.id));
+            if (null != node.children && !node.children.isEmpty()) {
+                ret.append(render(node.children));
+            }
+            ret.append(',');
+        }
+        return ret.append(']').toString();
+    }
+
+    private static String renderString(List<StringNode> nodes) {
+        StringBuilder ret = new StringBuilder("[");
+        for (StringNode node : nodes) {
+            ret.append(node.id);
+            if (null != node.children && !node.children.isEmpty()) {
+                ret.append(renderString(node.children));
+            }
+            ret.append(',');
+        }
+        return ret.append(']').toString();
+    }
+
+    /**
+     * 低位相同的id
+     */
+    private static long collidingId(Random random) {
+        switch (random.nextInt(5)) {
+            case 0:
+                return (1L + random.nextInt(1 << 12)) << 32;
+            case 1:
+                return -((1L + random.nextInt(1 << 12)) << 40);
+            case 2:
+                return Long.MAX_VALUE - random.nextInt(64);
+            case 3:
+                return Long.MIN_VALUE + 1 + random.nextInt(64);
+            default:
+                return random.nextLong();
+        }
+    }
+
+    public static void main(String[] args) {
+        Random random = new Random(6);
+        Comparator<LongTreeBuilderDemo> longComparator = Comparator.<LongTreeBuilderDemo>comparingInt(node -> node.order).thenComparingLong(node -> node.id);
+        Comparator<StringNode> stringComparator = Comparator.<StringNode>comparingInt(node -> node.order).thenComparingLong(node -> Long.parseLong(node.id));
+        for (int round = 0; round < 200; round++) {
+            int size = random.nextInt(2000);
+            Set<Long> idSet = new LinkedHashSet<>();
+            while (idSet.size() < size) {
+                long id = collidingId(random);
+                if (0L != id && ILongTreeNode.NULL_ID != id) {
+                    idSet.add(id);
+                }
+            }
+            List<Long> ids = new ArrayList<>(idSet);
+            LongTreeBuilder.RootNode rootNode = round % 2 == 0 ? LongTreeBuilder.RootNode.ZERO_ID : LongTreeBuilder.RootNode.NULL_ID;
+            long rootId = round % 2 == 0 ? 0L : ILongTreeNode.NULL_ID;
+            // 父节点只取先出现的节点，不成环
+            List<LongTreeBuilderDemo> longNodes = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                int kind = random.nextInt(10);
+                long pid = 0 == kind || 0 == i ? rootId : 1 == kind ? collidingId(random) : ids.get(random.nextInt(i));
+                if (1 == kind && idSet.contains(pid)) {
+                    pid = rootId;
+                }
+                longNodes.add(new LongTreeBuilderDemo(ids.get(i), pid, random.nextInt(3)));
+            }
+            List<StringNode> stringNodes = new ArrayList<>(size);
+            longNodes.forEach(node -> stringNodes.add(new StringNode(node)));
+
+            TreeBuilder.RootNode stringRootNode = round % 2 == 0 ? TreeBuilder.RootNode.ZERO_ID : TreeBuilder.RootNode.NULL_ID;
+            String expected = renderString(TreeBuilder.buildTree(stringRootNode, stringNodes, stringComparator));
+            String actual = render(LongTreeBuilder.buildTree(rootNode, longNodes, longComparator));
+            check(expected, actual, round, "comparator");
+
+            // 无比较器时子节点保持原有顺序
+            List<LongTreeBuilderDemo> longCopies = new ArrayList<>(size);
+            longNodes.forEach(node -> longCopies.add(new LongTreeBuilderDemo(node.id, node.pid, node.order)));
+            List<StringNode> stringCopies = new ArrayList<>(size);
+            longCopies.forEach(node -> stringCopies.add(new StringNode(node)));
+            check(renderString(TreeBuilder.buildTree(stringRootNode, stringCopies)), render(LongTreeBuilder.buildTree(rootNode, longCopies)), round, "no comparator");
+
+            // 包含root节点
+            if (size > 0) {
+                long topId = ids.get(random.nextInt(size));
+                check(renderString(TreeBuilder.buildTree(StringNode.toString(topId), stringCopies, stringComparator)),
+                        render(LongTreeBuilder.buildTree(topId, longCopies, longComparator)), round, "root " + topId);
+            }
+        }
+        System.out.println("OK");
+    }
+
+    private static void check(String expected, String actual, int round, String step) {
+        if (!expected.equals(actual)) {
+            throw new IllegalStateException("round " + round + " " + step + "\nTreeBuilder:     " + expected + "\nLongTreeBuilder: " + actual);
+        }
+    }
+}
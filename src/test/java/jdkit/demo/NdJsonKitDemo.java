@@ -0,0 +1,187 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package jdkit.demo;
+
+import org.openingo.jdkits.json.JacksonKit;
+import org.openingo.jdkits.json.NdJsonKit;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * NdJsonKitDemo
+ * <p>NdJsonKit按换行符对齐分区间并行读取、按批并行写出，与逐行JacksonKit.toObj、toJsonBytes的结果对比<p/>
+ *
+ * @author Qicz
+ */
+public class NdJsonKitDemo {
+
+    public static class Line {
+        private long id;
+        private String text;
+        private List<Integer> values;
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public void setText(String text) {
+            this.text = text;
+        }
+
+        public List<Integer> getValues() {
+            return values;
+        }
+
+        public void setValues(List<Integer> values) {
+            this.values = values;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Line)) {
+                return false;
+            }
+            Line line = (Line) o;
+            return id == line.id && Objects.equals(text, line.text) && Objects.equals(values, line.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, text, values);
+        }
+    }
+
+    private static final String[] TEXTS = {"", "ascii", "中文字符", "emoji 😀😀", "escaped \n\r line", "quote \" \\"};
+    private static final String[] BLANKS = {"", " ", "\r", " \t "};
+
+    private static Line line(Random random, long id) {
+        Line line = new Line();
+        line.setId(id);
+        line.setText(random.nextInt(6) == 0 ? null : TEXTS[random.nextInt(TEXTS.length)]);
+        List<Integer> values = new ArrayList<>();
+        for (int i = random.nextInt(5); i > 0; i--) {
+            values.add(random.nextInt());
+        }
+        line.setValues(values);
+        return line;
+    }
+
+    /**
+     * 朴素实现：按'\n'切分后逐行JacksonKit.toObj，跳过空白行
+     */
+    private static List<Line> naiveRead(String content) throws Exception {
+        List<Line> ret = new ArrayList<>();
+        for (String text : content.split("\n", -1)) {
+            if (!text.trim().isEmpty()) {
+                ret.add(JacksonKit.toObj(text, Line.class));
+            }
+        }
+        return ret;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Random random = new Random(17);
+        Path file = Files.createTempFile("ndjson", ".json");
+        try {
+            for (int round = 0; round < 30; round++) {
+                int size = random.nextInt(round == 29 ? 3000 : 300);
+                StringBuilder content = new StringBuilder();
+                for (int i = 0; i < size; i++) {
+                    if (random.nextInt(8) == 0) {
+                        content.append(BLANKS[random.nextInt(BLANKS.length)]).append('\n');
+                    }
+                    // CRLF与行首行尾空白
+                    content.append(random.nextInt(8) == 0 ? " " : "").append(JacksonKit.toJson(line(random, i)));
+                    if (i < size - 1 || random.nextBoolean()) {
+                        content.append(random.nextBoolean() ? "\r\n" : "\n");
+                    }
+                }
+                Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+                List<Line> expected = naiveRead(content.toString());
+                check(expected.size() == size, "naive size", round);
+
+                // 很小的区间使边界落在多字节字符、CRLF中间
+                for (int chunkSize : new int[]{1, 2, 3, 7, 64, 1000, 8 << 20}) {
+                    for (boolean mmap : new boolean[]{false, true}) {
+                        NdJsonKit.NdJsonConfig config = new NdJsonKit.NdJsonConfig();
+                        config.chunkSize = chunkSize;
+                        config.mmap = mmap;
+                        check(expected.equals(NdJsonKit.read(file, Line.class, config)), "read chunkSize " + chunkSize + " mmap " + mmap, round);
+                    }
+                }
+
+                // 写出与逐个toJsonBytes拼接一致
+                ByteArrayOutputStream naive = new ByteArrayOutputStream();
+                for (Line line : expected) {
+                    naive.write(JacksonKit.toJsonBytes(line));
+                    naive.write('\n');
+                }
+                NdJsonKit.NdJsonConfig config = new NdJsonKit.NdJsonConfig();
+                config.batchSize = 1 + random.nextInt(50);
+                config.maxPendingBatches = 1 + random.nextInt(4);
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                if (round % 2 == 0) {
+                    NdJsonKit.write(expected, out, config);
+                } else {
+                    NdJsonKit.write(expected.iterator(), out, config);
+                }
+                check(Arrays.equals(naive.toByteArray(), out.toByteArray()), "write", round);
+                Files.write(file, out.toByteArray());
+                check(expected.equals(NdJsonKit.read(file, Line.class)), "write then read", round);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        System.out.println("OK");
+    }
+
+    private static void check(boolean expected, String step, int round) {
+        if (!expected) {
+            throw new IllegalStateException("round " + round + " " + step);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package jdkit.demo;
+
+import org.openingo.jdkits.tree.ITreeNode;
+import org.openingo.jdkits.tree.TreeBuilder;
+import org.openingo.jdkits.tree.TreeIndex;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * TreeIndexDemo
+ * <p>TreeIndex增量维护（新增、移动、调整顺序、删除）后的树与按当前数据重新TreeBuilder.buildTree的结果对比<p/>
+ *
+ * @author Qicz
+ */
+public class TreeIndexDemo implements ITreeNode<TreeIndexDemo> {
+
+    private final int id;
+    private int pid;
+    private int order;
+    private List<TreeIndexDemo> children;
+
+    public TreeIndexDemo(int id, int pid, int order) {
+        this.id = id;
+        this.pid = pid;
+        this.order = order;
+    }
+
+    @Override
+    public String treeNodeId() {
+        return String.valueOf(this.id);
+    }
+
+    @Override
+    public String treeRootNodeId() {
+        return String.valueOf(this.pid);
+    }
+
+    @Override
+    public void putChildNodes(List<TreeIndexDemo> childNodes) {
+        this.children = childNodes;
+    }
+
+    private static final Comparator<TreeIndexDemo> COMPARATOR = Comparator.<TreeIndexDemo>comparingInt(node -> node.order).thenComparingInt(node -> node.id);
+
+    private static String render(List<TreeIndexDemo> nodes) {
+        StringBuilder ret = new StringBuilder();
+        render(nodes, ret);
+        return ret.toString();
+    }
+
+    private static void render(List<TreeIndexDemo> nodes, StringBuilder ret) {
+        ret.append('[');
+        for (TreeIndexDemo node : nodes) {
+            ret.append(node.id).append(':').append(node.order);
+            if (null != node.children && !node.children.isEmpty()) {
+                render(node.children, ret);
+            }
+            ret.append(',');
+        }
+        ret.append(']');
+    }
+
+    /**
+     * 朴素的全量重建：复制当前数据后TreeBuilder.buildTree
+     */
+    private static String rebuild(Map<Integer, TreeIndexDemo> entities) {
+        List<TreeIndexDemo> copies = new ArrayList<>();
+        for (TreeIndexDemo node : entities.values()) {
+            copies.add(new TreeIndexDemo(node.id, node.pid, node.order));
+        }
+        return render(TreeBuilder.buildTree(TreeBuilder.RootNode.ZERO_ID, copies, COMPARATOR));
+    }
+
+    /**
+     * 从顶层可达的节点id
+     */
+    private static List<Integer> reachable(Map<Integer, TreeIndexDemo> entities) {
+        Map<Integer, List<Integer>> childIds = new HashMap<>();
+        for (TreeIndexDemo node : entities.values()) {
+            childIds.computeIfAbsent(node.pid, key -> new ArrayList<>()).add(node.id);
+        }
+        List<Integer> ret = new ArrayList<>();
+        List<Integer> stack = new ArrayList<>(childIds.getOrDefault(0, new ArrayList<>()));
+        while (!stack.isEmpty()) {
+            int id = stack.remove(stack.size() - 1);
+            ret.add(id);
+            stack.addAll(childIds.getOrDefault(id, new ArrayList<>()));
+        }
+        return ret;
+    }
+
+    /**
+     * 节点及其子孙的id
+     */
+    private static Set<Integer> subtree(Map<Integer, TreeIndexDemo> entities, int id) {
+        Set<Integer> ret = new HashSet<>();
+        ret.add(id);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (TreeIndexDemo node : entities.values()) {
+                if (ret.contains(node.pid) && ret.add(node.id)) {
+                    changed = true;
+                }
+            }
+        }
+        return ret;
+    }
+
+    public static void main(String[] args) {
+        Random random = new Random(3);
+        for (int round = 0; round < 50; round++) {
+            Map<Integer, TreeIndexDemo> entities = new LinkedHashMap<>();
+            int nextId = 1;
+            for (; nextId <= 30; nextId++) {
+                int pid = random.nextInt(nextId);
+                entities.put(nextId, new TreeIndexDemo(nextId, pid, random.nextInt(5)));
+            }
+            TreeIndex<TreeIndexDemo> index = new TreeIndex<>(TreeBuilder.RootNode.ZERO_ID, new ArrayList<>(entities.values()), COMPARATOR);
+            check(rebuild(entities), render(index.tree()), round, "build");
+            // 先挂在尚不存在的父节点下，父节点新增后一并挂载
+            int futureId = 10000 + round;
+            for (int step = 0; step < 200; step++) {
+                List<Integer> ids = new ArrayList<>(entities.keySet());
+                List<Integer> parents = reachable(entities);
+                parents.add(0);
+                int op = random.nextInt(6);
+                String name;
+                if (0 == op || ids.isEmpty()) {
+                    int pid = random.nextInt(8) == 0 ? futureId : parents.get(random.nextInt(parents.size()));
+                    TreeIndexDemo node = new TreeIndexDemo(nextId++, pid, random.nextInt(5));
+                    entities.put(node.id, node);
+                    index.insert(node);
+                    name = "insert " + node.id + " under " + pid;
+                } else if (1 == op && !entities.containsKey(futureId)) {
+                    TreeIndexDemo node = new TreeIndexDemo(futureId, parents.get(random.nextInt(parents.size())), random.nextInt(5));
+                    entities.put(node.id, node);
+                    index.insert(node);
+                    name = "insert future " + futureId;
+                } else if (2 == op || 1 == op) {
+                    TreeIndexDemo node = entities.get(ids.get(random.nextInt(ids.size())));
+                    Set<Integer> subtree = subtree(entities, node.id);
+                    int pid = parents.get(random.nextInt(parents.size()));
+                    if (subtree.contains(pid)) {
+                        continue;
+                    }
+                    if (random.nextBoolean()) {
+                        // 新的实例
+                        TreeIndexDemo moved = new TreeIndexDemo(node.id, pid, random.nextInt(5));
+                        entities.put(moved.id, moved);
+                        index.update(moved);
+                    } else {
+                        // 修改原实例
+                        node.pid = pid;
+                        index.move(node);
+                    }
+                    name = "move " + node.id + " under " + pid;
+                } else if (3 == op || 4 == op) {
+                    TreeIndexDemo node = entities.get(ids.get(random.nextInt(ids.size())));
+                    node.order = random.nextInt(5);
+                    index.reorder(node.treeNodeId());
+                    name = "reorder " + node.id;
+                } else {
+                    int id = ids.get(random.nextInt(ids.size()));
+                    Set<Integer> subtree = subtree(entities, id);
+                    List<TreeIndexDemo> removed = index.remove(String.valueOf(id));
+                    if (removed.size() != subtree.size()) {
+                        throw new IllegalStateException("round " + round + " remove " + id + ": " + removed.size() + " != " + subtree.size());
+                    }
+                    entities.keySet().removeAll(subtree);
+                    name = "remove " + id;
+                }
+                check(rebuild(entities), render(index.tree()), round, name);
+                if (index.size() != entities.size()) {
+                    throw new IllegalStateException("round " + round + " " + name + ": size " + index.size() + " != " + entities.size());
+                }
+            }
+        }
+        System.out.println("OK");
+    }
+
+    private static void check(String expected, String actual, int round, String step) {
+        if (!expected.equals(actual)) {
+            throw new IllegalStateException("round " + round + " " + step + "\nrebuild: " + expected + "\nindex:   " + actual);
+        }
+    }
+}
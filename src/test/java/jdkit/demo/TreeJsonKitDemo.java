@@ -0,0 +1,175 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package jdkit.demo;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import org.openingo.jdkits.json.JacksonKit;
+import org.openingo.jdkits.json.TreeJsonKit;
+import org.openingo.jdkits.tree.ITreeNode;
+import org.openingo.jdkits.tree.TreeBuilder;
+import org.openingo.jdkits.tree.TreeQueryIndex;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TreeJsonKitDemo
+ * <p>TreeJsonKit.writeTree与JacksonKit.toJson的结果逐字节对比<p/>
+ *
+ * @author Qicz
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "@type")
+public class TreeJsonKitDemo implements ITreeNode<TreeJsonKitDemo> {
+
+    public static class Extra {
+        public String source;
+    }
+
+    public Integer id;
+    public Integer pid;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd", timezone = "GMT+8")
+    public Date created;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String remark;
+    @JsonSerialize(using = ToStringSerializer.class)
+    public Long weight;
+    @JsonUnwrapped
+    public Extra extra = new Extra();
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public List<TreeJsonKitDemo> children;
+    private final Map<String, Object> attributes = new LinkedHashMap<>();
+
+    public TreeJsonKitDemo(Integer id, Integer pid) {
+        this.id = id;
+        this.pid = pid;
+        this.created = new Date(1600000000000L + id * 86400000L);
+        this.remark = 0 == id % 2 ? null : "node" + id;
+        this.weight = id * 1000000007L;
+        this.extra.source = "s" + pid;
+        this.attributes.put("level", pid);
+    }
+
+    @JsonAnyGetter
+    public Map<String, Object> getAttributes() {
+        return this.attributes;
+    }
+
+    @Override
+    public String treeNodeId() {
+        return this.id.toString();
+    }
+
+    @Override
+    public String treeRootNodeId() {
+        return this.pid.toString();
+    }
+
+    @Override
+    public void putChildNodes(List<TreeJsonKitDemo> childNodes) {
+        this.children = childNodes;
+    }
+
+    private static List<TreeJsonKitDemo> getInit() {
+        return new ArrayList<>(Arrays.asList(
+                new TreeJsonKitDemo(1, 0),
+                new TreeJsonKitDemo(2, 0),
+                new TreeJsonKitDemo(3, 1),
+                new TreeJsonKitDemo(4, 1),
+                new TreeJsonKitDemo(5, 3),
+                new TreeJsonKitDemo(6, 5),
+                new TreeJsonKitDemo(7, 2)));
+    }
+
+    private static void check(boolean expression, String message) {
+        if (!expression) {
+            throw new IllegalStateException(message);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Comparator<TreeJsonKitDemo> comparator = Comparator.comparingInt(node -> node.id);
+        List<TreeJsonKitDemo> tree = TreeBuilder.buildTree(TreeBuilder.RootNode.ZERO_ID, getInit(), comparator);
+        String expected = JacksonKit.toJson(tree);
+
+        // 节点自身的children属性
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        TreeJsonKit.writeTree(tree, node -> node.children, outputStream, null);
+        check(Arrays.equals(expected.getBytes(StandardCharsets.UTF_8), outputStream.toByteArray()), "children property\n" + expected + "\n" + outputStream);
+
+        // TreeQueryIndex不调用putChildNodes，子节点在同名的children属性处写出
+        TreeQueryIndex<TreeJsonKitDemo> index = new TreeQueryIndex<>(TreeBuilder.RootNode.ZERO_ID, getInit(), comparator);
+        outputStream.reset();
+        TreeJsonKit.writeTree(index, outputStream, null);
+        check(expected.equals(outputStream.toString("UTF-8")), "query index\n" + expected + "\n" + outputStream);
+
+        // 子节点属性名不是children，按同一集合实例识别
+        List<ITreeDemo> treeDemo = TreeBuilder.buildTree(TreeBuilder.RootNode.ZERO_ID, ITreeDemo.getInit(), Comparator.comparingInt(ITreeDemo::getOrder));
+        StringWriter writer = new StringWriter();
+        TreeJsonKit.writeTree(treeDemo, ITreeDemo::getList, writer, null);
+        check(JacksonKit.toJson(treeDemo).equals(writer.toString()), "list property\n" + writer);
+
+        // 深度限制
+        TreeJsonKit.TreeJsonConfig config = new TreeJsonKit.TreeJsonConfig();
+        config.maxDepth = 2;
+        writer = new StringWriter();
+        TreeJsonKit.writeTree(tree, node -> node.children, writer, config);
+        for (TreeJsonKitDemo node : tree) {
+            for (TreeJsonKitDemo child : node.children) {
+                child.children = Collections.emptyList();
+            }
+        }
+        check(JacksonKit.toJson(tree).equals(writer.toString()), "maxDepth\n" + writer);
+
+        // 字段投影，子节点属性与any getter总是写出
+        config = new TreeJsonKit.TreeJsonConfig();
+        config.includeFields = new HashSet<>(Arrays.asList("id", "remark"));
+        outputStream.reset();
+        TreeJsonKit.writeTree(index, outputStream, config);
+        String projected = outputStream.toString("UTF-8");
+        check(projected.startsWith("[{\"id\":1,\"remark\":\"node1\",\"source\":\"s0\",\"children\":[{\"@type\":\"TreeJsonKitDemo\",\"id\":3,"), "includeFields\n" + projected);
+        check(!projected.contains("weight") && !projected.contains("created") && projected.contains("\"level\":0}"), "includeFields\n" + projected);
+        System.out.println(expected);
+        System.out.println("OK");
+    }
+}
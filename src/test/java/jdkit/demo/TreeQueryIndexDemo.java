@@ -0,0 +1,196 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package jdkit.demo;
+
+import org.openingo.jdkits.tree.ITreeNode;
+import org.openingo.jdkits.tree.TreeBuilder;
+import org.openingo.jdkits.tree.TreeQueryIndex;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * TreeQueryIndexDemo
+ * <p>TreeQueryIndex（先序编号、倍增求祖先）与沿父节点逐级向上查找的朴素实现对比<p/>
+ *
+ * @author Qicz
+ */
+public class TreeQueryIndexDemo implements ITreeNode<TreeQueryIndexDemo> {
+
+    private final String id;
+    private final String pid;
+
+    public TreeQueryIndexDemo(String id, String pid) {
+        this.id = id;
+        this.pid = pid;
+    }
+
+    @Override
+    public String treeNodeId() {
+        return this.id;
+    }
+
+    @Override
+    public String treeRootNodeId() {
+        return this.pid;
+    }
+
+    @Override
+    public void putChildNodes(List<TreeQueryIndexDemo> childNodes) {
+    }
+
+    /**
+     * 朴素实现：从顶层可达的节点的父节点id，顶层元素为null
+     */
+    private static Map<String, String> parents(List<TreeQueryIndexDemo> nodes) {
+        Map<String, String> parents = new HashMap<>();
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (TreeQueryIndexDemo node : nodes) {
+                if (parents.containsKey(node.id)) {
+                    continue;
+                }
+                if ("0".equals(node.pid)) {
+                    parents.put(node.id, null);
+                    changed = true;
+                } else if (parents.containsKey(node.pid)) {
+                    parents.put(node.id, node.pid);
+                    changed = true;
+                }
+            }
+        }
+        return parents;
+    }
+
+    private static List<String> pathToTop(Map<String, String> parents, String id) {
+        List<String> path = new ArrayList<>();
+        if (!parents.containsKey(id)) {
+            return path;
+        }
+        for (String current = id; null != current; current = parents.get(current)) {
+            path.add(current);
+        }
+        return path;
+    }
+
+    private static String naiveLca(Map<String, String> parents, String id, String other) {
+        Set<String> path = new HashSet<>(pathToTop(parents, id));
+        for (String current : pathToTop(parents, other)) {
+            if (path.contains(current)) {
+                return current;
+            }
+        }
+        return null;
+    }
+
+    private static Set<String> ids(List<TreeQueryIndexDemo> nodes) {
+        Set<String> ids = new TreeSet<>();
+        nodes.forEach(node -> ids.add(node.id));
+        return ids;
+    }
+
+    private static String idOf(TreeQueryIndexDemo node) {
+        return null == node ? null : node.id;
+    }
+
+    public static void main(String[] args) {
+        Random random = new Random(4);
+        for (int round = 0; round < 60; round++) {
+            int size = 1 + random.nextInt(300);
+            List<TreeQueryIndexDemo> nodes = new ArrayList<>(size);
+            for (int i = 1; i <= size; i++) {
+                String pid;
+                int kind = random.nextInt(10);
+                if (0 == kind) {
+                    pid = "0";
+                } else if (1 == kind) {
+                    // 父节点不存在，不挂载
+                    pid = "missing" + i;
+                } else if (kind < 6) {
+                    // 长链，覆盖多层倍增
+                    pid = i == 1 ? "0" : String.valueOf(i - 1);
+                } else {
+                    pid = String.valueOf(random.nextInt(i));
+                }
+                nodes.add(new TreeQueryIndexDemo(String.valueOf(i), pid));
+            }
+            TreeQueryIndex<TreeQueryIndexDemo> index = new TreeQueryIndex<>(TreeBuilder.RootNode.ZERO_ID, nodes);
+            Map<String, String> parents = parents(nodes);
+            check(index.size() == parents.size(), "size", round);
+
+            Map<String, Set<String>> descendants = new HashMap<>();
+            for (String id : parents.keySet()) {
+                List<String> path = pathToTop(parents, id);
+                for (String ancestor : path.subList(1, path.size())) {
+                    descendants.computeIfAbsent(ancestor, key -> new TreeSet<>()).add(id);
+                }
+            }
+
+            for (int i = 1; i <= size + 1; i++) {
+                String id = String.valueOf(i);
+                List<String> path = pathToTop(parents, id);
+                check(index.contains(id) == parents.containsKey(id), "contains " + id, round);
+                check(index.depth(id) == path.size() - 1, "depth " + id, round);
+                check(String.valueOf(parents.get(id)).equals(String.valueOf(idOf(index.parent(id)))), "parent " + id, round);
+                List<String> ancestors = new ArrayList<>();
+                index.ancestors(id).forEach(node -> ancestors.add(node.id));
+                check(ancestors.equals(path.isEmpty() ? path : path.subList(1, path.size())), "ancestors " + id, round);
+                for (int distance = 0; distance <= path.size(); distance++) {
+                    String expected = distance < path.size() ? path.get(distance) : null;
+                    check(String.valueOf(expected).equals(String.valueOf(idOf(index.ancestor(id, distance)))), "ancestor " + id + " " + distance, round);
+                }
+                Set<String> expected = descendants.getOrDefault(id, new TreeSet<>());
+                check(ids(index.descendants(id)).equals(expected), "descendants " + id, round);
+                check(index.descendantCount(id) == expected.size(), "descendantCount " + id, round);
+            }
+
+            for (int q = 0; q < 2000; q++) {
+                String id = String.valueOf(1 + random.nextInt(size + 1));
+                String other = String.valueOf(1 + random.nextInt(size + 1));
+                check(String.valueOf(naiveLca(parents, id, other)).equals(String.valueOf(idOf(index.lowestCommonAncestor(id, other)))), "lca " + id + " " + other, round);
+                boolean ancestor = !id.equals(other) && pathToTop(parents, other).contains(id);
+                check(index.isAncestor(id, other) == ancestor, "isAncestor " + id + " " + other, round);
+                check(index.isDescendant(other, id) == ancestor, "isDescendant " + other + " " + id, round);
+            }
+        }
+        System.out.println("OK");
+    }
+
+    private static void check(boolean expected, String step, int round) {
+        if (!expected) {
+            throw new IllegalStateException("round " + round + " " + step);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package jdkit.demo;
+
+import org.openingo.jdkits.tree.ITreeNode;
+import org.openingo.jdkits.tree.TreeBuilder;
+import org.openingo.jdkits.tree.TreeStreamBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * TreeStreamBuilderDemo
+ * <p>TreeStreamBuilder的两种模式与TreeBuilder.buildTree的结果对比<p/>
+ *
+ * @author Qicz
+ */
+public class TreeStreamBuilderDemo implements ITreeNode<TreeStreamBuilderDemo> {
+
+    private final long id;
+    private final long pid;
+    private final int order;
+    private List<TreeStreamBuilderDemo> children;
+
+    public TreeStreamBuilderDemo(long id, long pid, int order) {
+        this.id = id;
+        this.pid = pid;
+        this.order = order;
+    }
+
+    @Override
+    public String treeNodeId() {
+        return String.valueOf(this.id);
+    }
+
+    @Override
+    public String treeRootNodeId() {
+        return String.valueOf(this.pid);
+    }
+
+    @Override
+    public void putChildNodes(List<TreeStreamBuilderDemo> childNodes) {
+        this.children = childNodes;
+    }
+
+    public static void main(String[] args) {
+        // 全序比较器，结果与输入顺序无关
+        Comparator<TreeStreamBuilderDemo> comparator = Comparator.<TreeStreamBuilderDemo>comparingInt(node -> node.order).thenComparingLong(node -> node.id);
+        // 数据库按数值排序的parent_id
+        Comparator<String> parentIdOrder = Comparator.comparingLong(Long::parseLong);
+        Random random = new Random(5);
+        for (int round = 0; round < 200; round++) {
+            List<long[]> rows = rows(random, 1 + random.nextInt(500));
+
+            String expected = render(TreeBuilder.buildTree(TreeBuilder.RootNode.ZERO_ID, nodes(rows), comparator));
+
+            List<TreeStreamBuilderDemo> shuffled = nodes(rows);
+            Collections.shuffle(shuffled, random);
+            String unordered = render(TreeBuilder.buildTree(TreeBuilder.RootNode.ZERO_ID, shuffled.iterator(), comparator));
+            check("unordered", expected, unordered);
+
+            List<TreeStreamBuilderDemo> sortedByParent = nodes(rows);
+            Collections.shuffle(sortedByParent, random);
+            sortedByParent.sort(Comparator.comparingLong(node -> node.pid));
+            String ordered = render(new TreeStreamBuilder<TreeStreamBuilderDemo>(TreeBuilder.RootNode.ZERO_ID, comparator, parentIdOrder)
+                    .addAll(sortedByParent.iterator()).build());
+            check("ordered", expected, ordered);
+
+            // 包含root节点
+            String rootId = String.valueOf(1 + random.nextInt(rows.size()));
+            String expectedRoot = render(TreeBuilder.buildTree(rootId, nodes(rows), true, comparator));
+            List<TreeStreamBuilderDemo> sortedRoot = nodes(rows);
+            sortedRoot.sort(Comparator.comparingLong(node -> node.pid));
+            check("hasRoot", expectedRoot, render(new TreeStreamBuilder<TreeStreamBuilderDemo>(rootId, true, comparator, parentIdOrder)
+                    .addAll(sortedRoot.stream()).build()));
+            check("hasRoot unordered", expectedRoot, render(new TreeStreamBuilder<TreeStreamBuilderDemo>(rootId, true, comparator)
+                    .addAll(nodes(rows).stream()).build()));
+        }
+
+        // 输入未按父节点id排序时拒绝
+        try {
+            new TreeStreamBuilder<TreeStreamBuilderDemo>(TreeBuilder.RootNode.ZERO_ID, comparator, parentIdOrder)
+                    .addAll(nodes(rows(random, 50)).iterator()).build();
+            System.out.println("unsorted input accepted");
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            System.out.println("unsorted input rejected: " + e.getMessage());
+        }
+        System.out.println("OK");
+    }
+
+    /**
+     * id为1..n，父节点为更小的id或0，另有少量父节点不存在的孤儿节点
+     */
+    private static List<long[]> rows(Random random, int n) {
+        List<long[]> rows = new ArrayList<>(n);
+        for (int id = 1; id <= n; id++) {
+            long pid = random.nextInt(10) == 0 ? 0 : random.nextInt(id);
+            if (random.nextInt(50) == 0) {
+                pid = n + 1 + random.nextInt(10);
+            }
+            rows.add(new long[]{id, pid, random.nextInt(5)});
+        }
+        return rows;
+    }
+
+    private static List<TreeStreamBuilderDemo> nodes(List<long[]> rows) {
+        List<TreeStreamBuilderDemo> nodes = new ArrayList<>(rows.size());
+        for (long[] row : rows) {
+            nodes.add(new TreeStreamBuilderDemo(row[0], row[1], (int) row[2]));
+        }
+        return nodes;
+    }
+
+    private static String render(List<TreeStreamBuilderDemo> tree) {
+        StringBuilder text = new StringBuilder();
+        render(tree, text);
+        return text.toString();
+    }
+
+    private static void render(List<TreeStreamBuilderDemo> nodes, StringBuilder text) {
+        text.append('[');
+        for (TreeStreamBuilderDemo node : nodes) {
+            text.append(node.id).append(':').append(node.order);
+            if (node.children == null) {
+                text.append("?");
+            } else if (!node.children.isEmpty()) {
+                render(node.children, text);
+            }
+            text.append(',');
+        }
+        text.append(']');
+    }
+
+    private static void check(String mode, String expected, String actual) {
+        if (!expected.equals(actual)) {
+            throw new IllegalStateException(mode + " differs from TreeBuilder:\n" + expected + "\n" + actual);
+        }
+    }
+}